@@ -0,0 +1,31 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the Address factory (trimming, upper-casing, validation).
+ * 
+ * Kept apart from ValueObjectBenchmark: it takes no itemCount or currency,
+ * so it runs once instead of once per parameter combination.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddressBenchmark {
+    
+    @Benchmark
+    public Address addressOf() {
+        return Address.of(" 123 Main St ", "Springfield", "il", "62701", "us");
+    }
+}
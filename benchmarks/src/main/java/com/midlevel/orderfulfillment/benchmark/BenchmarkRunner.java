@@ -0,0 +1,39 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar.
+ * 
+ * Same command line as the standard JMH main (any JMH option works), plus defaults:
+ * - GC profiler enabled, so every result shows allocation rate
+ *   (gc.alloc.rate.norm = bytes allocated per operation)
+ * - JSON results written to jmh-result.json for comparing runs
+ * 
+ * Examples:
+ *   java -jar target/benchmarks.jar                      # everything
+ *   java -jar target/benchmarks.jar OrderBenchmark       # one suite
+ *   java -jar target/benchmarks.jar Money -p currency=USD -p itemCount=100
+ */
+public class BenchmarkRunner {
+    
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLine.getResult().orElse("jmh-result.json"))
+                .build();
+        
+        new Runner(options).run();
+    }
+}
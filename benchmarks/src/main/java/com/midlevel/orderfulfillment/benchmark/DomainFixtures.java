@@ -0,0 +1,47 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ * Same inputs on every run, so results are comparable between runs.
+ */
+final class DomainFixtures {
+    
+    private DomainFixtures() {
+    }
+    
+    /**
+     * Unit prices with two decimals, e.g. 1.99, 2.49, ...
+     * (rounded by Money.of for currencies with fewer decimals, like JPY)
+     */
+    static BigDecimal price(int index) {
+        return BigDecimal.valueOf(199 + (index * 50L) % 99_800, 2);
+    }
+    
+    static List<Money> prices(int count, String currency) {
+        List<Money> prices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            prices.add(Money.of(price(i), currency));
+        }
+        return prices;
+    }
+    
+    static List<OrderItem> items(int count, String currency) {
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(OrderItem.of("PROD-" + i, "Product " + i, Money.of(price(i), currency), 1 + i % 5));
+        }
+        return items;
+    }
+    
+    static Address address() {
+        return Address.of("123 Main St", "Springfield", "IL", "62701", "US");
+    }
+}
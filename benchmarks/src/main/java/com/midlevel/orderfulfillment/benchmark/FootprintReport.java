@@ -0,0 +1,132 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.CompactOrder;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.StringTable;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Heap footprint of Order vs CompactOrder, as a function of item count.
+ *
+ * For each item count it builds a working set of orders the way the read path
+ * does (every string a fresh copy, as if just read from JDBC), converts the
+ * same orders to CompactOrders sharing one StringTable, and walks both object
+ * graphs with JOL (object layout, not GC estimates). Objects shared by the
+ * whole working set (currencies, the string table) are counted once and
+ * spread over all orders, so the numbers are bytes per order in a large set.
+ *
+ * Output: bytes per order for both representations, the saving, and the
+ * marginal bytes per extra item. With --detail, the class histogram of the
+ * largest working set is printed too (where the bytes go).
+ *
+ * Run (after mvn package):
+ *   java -cp target/benchmarks.jar com.midlevel.orderfulfillment.benchmark.FootprintReport
+ *   java -cp target/benchmarks.jar com.midlevel.orderfulfillment.benchmark.FootprintReport \
+ *       --items 1,5,20,100 --orders 2000 --detail
+ * Add -Djdk.attach.allowAttachSelf=true on JDKs that warn about JOL attaching.
+ */
+public class FootprintReport {
+
+    // Catalog sizes (product strings as in InterningFootprintBenchmark in the application tests)
+    private static final int CUSTOMERS = 1_000;
+    private static final int PRODUCTS = 5_000;
+
+    public static void main(String[] args) {
+        int[] itemCounts = {1, 2, 5, 10, 20, 50};
+        int orderCount = 1_000;
+        boolean detail = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--items" -> itemCounts = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--orders" -> orderCount = Integer.parseInt(args[++i]);
+                case "--detail" -> detail = true;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.println(VM.current().details());
+        System.out.printf("Working sets of %,d orders%n%n", orderCount);
+        System.out.printf("%6s %16s %16s %9s%n", "items", "Order B/order", "Compact B/order", "saved");
+
+        long[] orderBytes = new long[itemCounts.length];
+        long[] compactBytes = new long[itemCounts.length];
+        GraphLayout lastOrders = null;
+        GraphLayout lastCompact = null;
+
+        for (int i = 0; i < itemCounts.length; i++) {
+            Order[] orders = buildOrders(orderCount, itemCounts[i]);
+            StringTable strings = new StringTable();
+            CompactOrder[] compact = Arrays.stream(orders)
+                    .map(order -> CompactOrder.of(order, strings))
+                    .toArray(CompactOrder[]::new);
+
+            lastOrders = GraphLayout.parseInstance((Object) orders);
+            lastCompact = GraphLayout.parseInstance(compact, strings);
+            orderBytes[i] = lastOrders.totalSize() / orderCount;
+            compactBytes[i] = lastCompact.totalSize() / orderCount;
+
+            System.out.printf("%6d %,16d %,16d %8.1f%%%n", itemCounts[i], orderBytes[i], compactBytes[i],
+                    100.0 * (orderBytes[i] - compactBytes[i]) / orderBytes[i]);
+        }
+
+        if (itemCounts.length > 1) {
+            int last = itemCounts.length - 1;
+            int extraItems = itemCounts[last] - itemCounts[0];
+            System.out.printf("%nPer extra item: Order %,d B, CompactOrder %,d B%n",
+                    (orderBytes[last] - orderBytes[0]) / extraItems,
+                    (compactBytes[last] - compactBytes[0]) / extraItems);
+        }
+
+        if (detail) {
+            System.out.println("\nOrder working set (" + itemCounts[itemCounts.length - 1] + " items per order):");
+            System.out.println(lastOrders.toFootprint());
+            System.out.println("CompactOrder working set:");
+            System.out.println(lastCompact.toFootprint());
+        }
+    }
+
+    /**
+     * Orders as the read path builds them: every string a fresh copy.
+     * The same seed is used for every item count, so only the item count varies.
+     */
+    private static Order[] buildOrders(int orderCount, int itemCount) {
+        Random random = new Random(42);
+        Order[] orders = new Order[orderCount];
+        for (int i = 0; i < orderCount; i++) {
+            List<OrderItem> items = new ArrayList<>(itemCount);
+            Set<Integer> products = new HashSet<>();
+            for (int j = 0; j < itemCount; j++) {
+                // Redraw repeats: Order.create rejects a product on two lines
+                int product;
+                do {
+                    product = random.nextInt(PRODUCTS);
+                } while (!products.add(product));
+                items.add(OrderItem.of(fresh("PROD-" + product), fresh("Product number " + product),
+                        Money.of(DomainFixtures.price(product), "USD"), 1 + random.nextInt(3)));
+            }
+            int customer = random.nextInt(CUSTOMERS);
+            Address address = Address.of(fresh(customer + " Main St"), fresh("Springfield"), fresh("IL"),
+                    fresh("62701"), fresh("US"));
+            orders[i] = Order.create(fresh("CUST-" + customer), items, address);
+        }
+        return orders;
+    }
+
+    // Forces a new String instance, like a value read from a JDBC ResultSet
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+}
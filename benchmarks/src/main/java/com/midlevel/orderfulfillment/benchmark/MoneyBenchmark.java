@@ -0,0 +1,77 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Money arithmetic at order-sized batch sizes.
+ * 
+ * Each operation processes itemCount amounts, the way Order.calculateTotal does:
+ * - add: sum of itemCount amounts
+ * - multiply: itemCount line totals (price * quantity)
+ * - of: itemCount Money.of calls from BigDecimal (the persistence read path)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+    
+    @Param({"1", "10", "100", "1000"})
+    public int itemCount;
+    
+    @Param({"USD", "EUR", "JPY"})
+    public String currency;
+    
+    private List<Money> prices;
+    private BigDecimal[] rawAmounts;
+    
+    @Setup
+    public void setUp() {
+        prices = DomainFixtures.prices(itemCount, currency);
+        rawAmounts = new BigDecimal[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            rawAmounts[i] = DomainFixtures.price(i);
+        }
+    }
+    
+    @Benchmark
+    public Money add() {
+        Money total = prices.get(0);
+        for (int i = 1; i < itemCount; i++) {
+            total = total.add(prices.get(i));
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public void multiply(Blackhole blackhole) {
+        for (int i = 0; i < itemCount; i++) {
+            blackhole.consume(prices.get(i).multiply(1 + i % 5));
+        }
+    }
+    
+    @Benchmark
+    public void of(Blackhole blackhole) {
+        for (int i = 0; i < itemCount; i++) {
+            blackhole.consume(Money.of(rawAmounts[i], currency));
+        }
+    }
+}
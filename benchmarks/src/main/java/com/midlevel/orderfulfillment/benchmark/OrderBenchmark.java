@@ -0,0 +1,65 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Order aggregate.
+ * 
+ * - create: Order.create (validation, defensive copy, ID generation, total check)
+ * - calculateTotal: summing line totals of an existing order
+ * 
+ * Run with the GC profiler (the default in BenchmarkRunner) to see
+ * gc.alloc.rate.norm, the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderBenchmark {
+    
+    @Param({"1", "10", "100", "1000"})
+    public int itemCount;
+    
+    @Param({"USD", "EUR", "JPY"})
+    public String currency;
+    
+    private List<OrderItem> items;
+    private Address address;
+    private Order order;
+    
+    @Setup
+    public void setUp() {
+        items = DomainFixtures.items(itemCount, currency);
+        address = DomainFixtures.address();
+        order = Order.create("CUST-1", items, address);
+    }
+    
+    @Benchmark
+    public Order create() {
+        return Order.create("CUST-1", items, address);
+    }
+    
+    @Benchmark
+    public Money calculateTotal() {
+        return order.calculateTotal();
+    }
+}
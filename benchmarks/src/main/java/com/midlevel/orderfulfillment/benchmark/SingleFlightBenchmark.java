@@ -0,0 +1,103 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.adapter.out.persistence.SingleFlight;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark for findById single flight under a hot-key skewed workload
+ * (a flash sale: many concurrent requests for a few orders).
+ *
+ * 32 threads look up order IDs. A share of the lookups (hotKeyShare) goes
+ * to 10 hot orders, the rest spreads over 100,000 orders. A "database load"
+ * parks the thread for loadMicros, like a round trip to PostgreSQL.
+ *
+ * - direct:       every lookup loads (OrderRepositoryAdapter without single flight)
+ * - singleFlight: concurrent lookups of one ID share a load (SingleFlight)
+ *
+ * Besides throughput, each run reports the auxiliary counter databaseLoads
+ * (loads per second); with single flight it drops well below the lookup rate
+ * as the workload gets more skewed, while direct stays at one load per lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class SingleFlightBenchmark {
+
+    private static final int HOT_KEYS = 10;
+    private static final int KEYS = 100_000;
+
+    @Param({"0.5", "0.9", "0.99"})
+    public double hotKeyShare;
+
+    @Param({"500"})
+    public long loadMicros;
+
+    private SingleFlight<Integer, Object> flights;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        flights = new SingleFlight<>();
+    }
+
+    /**
+     * Per-thread key stream and load counter.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Lookups {
+
+        private final SplittableRandom random = new SplittableRandom();
+        public long databaseLoads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            databaseLoads = 0;
+        }
+
+        int nextKey(double hotKeyShare) {
+            return random.nextDouble() < hotKeyShare ? random.nextInt(HOT_KEYS) : random.nextInt(KEYS);
+        }
+    }
+
+    @Benchmark
+    public Object direct(Lookups lookups) {
+        int key = lookups.nextKey(hotKeyShare);
+        lookups.databaseLoads++;
+        return load(key);
+    }
+
+    @Benchmark
+    public Object singleFlight(Lookups lookups) {
+        int key = lookups.nextKey(hotKeyShare);
+        return flights.load(key, () -> {
+            lookups.databaseLoads++;
+            return load(key);
+        });
+    }
+
+    private Object load(int key) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(loadMicros));
+        return Integer.valueOf(key);
+    }
+}
@@ -0,0 +1,63 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for value object factories (validation + construction).
+ * 
+ * - orderItemOf: itemCount OrderItem.of calls, as when building or loading an order
+ * 
+ * Address.of takes neither parameter - see AddressBenchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueObjectBenchmark {
+    
+    @Param({"1", "10", "100", "1000"})
+    public int itemCount;
+    
+    @Param({"USD", "EUR", "JPY"})
+    public String currency;
+    
+    private String[] productIds;
+    private String[] productNames;
+    private List<Money> prices;
+    
+    @Setup
+    public void setUp() {
+        productIds = new String[itemCount];
+        productNames = new String[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            productIds[i] = "PROD-" + i;
+            productNames[i] = "Product " + i;
+        }
+        prices = DomainFixtures.prices(itemCount, currency);
+    }
+    
+    @Benchmark
+    public void orderItemOf(Blackhole blackhole) {
+        for (int i = 0; i < itemCount; i++) {
+            blackhole.consume(OrderItem.of(productIds[i], productNames[i], prices.get(i), 1 + i % 5));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.midlevel.orderfulfillment.adapter.out.fx;
+
+import com.midlevel.orderfulfillment.domain.port.ExchangeRateProvider;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caching decorator for any ExchangeRateProvider.
+ *
+ * DECORATOR PATTERN:
+ * - Implements the same port as the provider it wraps
+ * - Answers from an in-memory rate table while entries are fresh
+ * - Only asks the underlying provider on a miss or after the TTL expires
+ *
+ * Reports that convert millions of orders need only a handful of distinct
+ * currency pairs, so after warm-up every lookup is two map reads.
+ *
+ * Thread-safe: the rate table is a ConcurrentHashMap. Two threads missing
+ * the same pair at the same time may both call the delegate; the last
+ * answer wins, which is harmless for rates.
+ */
+public class CachingExchangeRateProvider implements ExchangeRateProvider {
+
+    private final ExchangeRateProvider delegate;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    // Rate table: from-currency -> (to-currency -> cached rate)
+    // Nested maps avoid building a "EUR/USD" key string on every lookup
+    private final ConcurrentMap<String, ConcurrentMap<String, CachedRate>> rates = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache whose entries expire after the given time-to-live.
+     *
+     * @param delegate the provider to load rates from
+     * @param timeToLive how long a rate stays valid
+     */
+    public CachingExchangeRateProvider(ExchangeRateProvider delegate, Duration timeToLive) {
+        this(delegate, timeToLive, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor with explicit clock (useful for tests).
+     */
+    public CachingExchangeRateProvider(ExchangeRateProvider delegate, Duration timeToLive, Clock clock) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate provider cannot be null");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+        }
+        this.delegate = delegate;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    public BigDecimal getRate(String fromCurrency, String toCurrency) {
+        // Same currency never needs a lookup
+        if (fromCurrency.equals(toCurrency)) {
+            return BigDecimal.ONE;
+        }
+
+        ConcurrentMap<String, CachedRate> byTarget =
+                rates.computeIfAbsent(fromCurrency, code -> new ConcurrentHashMap<>());
+
+        long now = clock.millis();
+        CachedRate cached = byTarget.get(toCurrency);
+        if (cached != null && cached.expiresAtMillis > now) {
+            return cached.rate;
+        }
+
+        // Miss or stale entry - load from the underlying provider
+        BigDecimal rate = delegate.getRate(fromCurrency, toCurrency);
+        if (rate == null) {
+            throw new IllegalArgumentException("No exchange rate from " + fromCurrency + " to " + toCurrency);
+        }
+        byTarget.put(toCurrency, new CachedRate(rate, now + timeToLive.toMillis()));
+        return rate;
+    }
+
+    /**
+     * Drops all cached rates (e.g. after a known rate update).
+     */
+    public void invalidateAll() {
+        rates.clear();
+    }
+
+    /**
+     * One entry of the rate table.
+     */
+    private static final class CachedRate {
+        private final BigDecimal rate;
+        private final long expiresAtMillis;
+
+        private CachedRate(BigDecimal rate, long expiresAtMillis) {
+            this.rate = rate;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.midlevel.orderfulfillment.adapter.out.observability;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Metrics decorator for any OrderRepository implementation.
+ *
+ * DECORATOR PATTERN:
+ * - Implements the same port as the repository it wraps
+ * - Times every call and records how many orders it returned
+ * - Counts failures by exception type, then rethrows them unchanged
+ *
+ * Published meters (all tagged with method=<port method>):
+ * - orders.repository.calls    timer, also tagged status=success|error,
+ *                              with a percentile histogram (p50/p95/p99 on /actuator/metrics,
+ *                              histogram buckets for Prometheus-style backends)
+ * - orders.repository.results  distribution summary of orders returned (or counted) per call
+ * - orders.repository.errors   counter, also tagged exception=<simple class name>
+ *
+ * Entity-to-domain mapping time is published separately by OrderRepositoryAdapter
+ * (orders.repository.mapping), so SQL time and mapping time can be told apart.
+ *
+ * All timers and summaries are registered up front, so a call costs two
+ * clock reads and a few atomic updates - no meter lookup per call.
+ */
+public class InstrumentedOrderRepository implements OrderRepository {
+
+    static final String CALLS = "orders.repository.calls";
+    static final String RESULTS = "orders.repository.results";
+    static final String ERRORS = "orders.repository.errors";
+
+    private final OrderRepository delegate;
+    private final MeterRegistry registry;
+    private final Clock clock;
+
+    private final MethodMeters save;
+    private final MethodMeters saveAll;
+    private final MethodMeters findById;
+    private final MethodMeters findAllById;
+    private final MethodMeters findByCustomerId;
+    private final MethodMeters findByStatus;
+    private final MethodMeters findByStatusIn;
+    private final MethodMeters countByStatusIn;
+    private final MethodMeters findByProductId;
+    private final MethodMeters search;
+    private final MethodMeters findAll;
+    private final MethodMeters deleteById;
+    private final MethodMeters existsById;
+
+    /**
+     * @param delegate the repository to instrument
+     * @param registry where meters are published
+     */
+    public InstrumentedOrderRepository(OrderRepository delegate, MeterRegistry registry) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate repository cannot be null");
+        }
+        if (registry == null) {
+            throw new IllegalArgumentException("Meter registry cannot be null");
+        }
+        this.delegate = delegate;
+        this.registry = registry;
+        this.clock = registry.config().clock();
+
+        this.save = new MethodMeters("save");
+        this.saveAll = new MethodMeters("saveAll");
+        this.findById = new MethodMeters("findById");
+        this.findAllById = new MethodMeters("findAllById");
+        this.findByCustomerId = new MethodMeters("findByCustomerId");
+        this.findByStatus = new MethodMeters("findByStatus");
+        this.findByStatusIn = new MethodMeters("findByStatusIn");
+        this.countByStatusIn = new MethodMeters("countByStatusIn");
+        this.findByProductId = new MethodMeters("findByProductId");
+        this.search = new MethodMeters("search");
+        this.findAll = new MethodMeters("findAll");
+        this.deleteById = new MethodMeters("deleteById");
+        this.existsById = new MethodMeters("existsById");
+    }
+
+    @Override
+    public Order save(Order order) {
+        return record(save, () -> delegate.save(order), saved -> 1);
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return record(saveAll, () -> delegate.saveAll(orders), List::size);
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        return record(findById, () -> delegate.findById(orderId), found -> found.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<String> orderIds) {
+        return record(findAllById, () -> delegate.findAllById(orderIds), List::size);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return record(findByCustomerId, () -> delegate.findByCustomerId(customerId), List::size);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return record(findByStatus, () -> delegate.findByStatus(status), List::size);
+    }
+
+    @Override
+    public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+        return record(findByStatusIn, () -> delegate.findByStatusIn(statuses), List::size);
+    }
+
+    @Override
+    public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+        return record(countByStatusIn, () -> delegate.countByStatusIn(statuses), Long::longValue);
+    }
+
+    @Override
+    public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                              EnumSet<OrderStatus> statuses) {
+        return record(findByProductId, () -> delegate.findByProductId(productId, from, to, statuses), List::size);
+    }
+
+    @Override
+    public OrderSearchResult search(OrderSearchCriteria criteria) {
+        return record(search, () -> delegate.search(criteria), result -> result.getOrders().size());
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return record(findAll, delegate::findAll, List::size);
+    }
+
+    @Override
+    public void deleteById(String orderId) {
+        record(deleteById, () -> {
+            delegate.deleteById(orderId);
+            return null;
+        }, none -> 0);
+    }
+
+    @Override
+    public boolean existsById(String orderId) {
+        return record(existsById, () -> delegate.existsById(orderId), exists -> exists ? 1 : 0);
+    }
+
+    /**
+     * Runs one delegate call, timing it and recording its result size.
+     * Failures are counted and rethrown as-is.
+     */
+    private <T> T record(MethodMeters meters, Supplier<T> call, ToLongFunction<T> resultSize) {
+        long start = clock.monotonicTime();
+        try {
+            T result = call.get();
+            meters.success.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            meters.results.record(resultSize.applyAsLong(result));
+            return result;
+        } catch (RuntimeException e) {
+            meters.error.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            registry.counter(ERRORS, "method", meters.method, "exception", e.getClass().getSimpleName())
+                    .increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Pre-registered meters for one port method.
+     */
+    private final class MethodMeters {
+        private final String method;
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary results;
+
+        private MethodMeters(String method) {
+            this.method = method;
+            this.success = timer(method, "success");
+            this.error = timer(method, "error");
+            this.results = DistributionSummary.builder(RESULTS)
+                    .description("Orders returned (or counted) per OrderRepository call")
+                    .baseUnit("orders")
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private Timer timer(String method, String status) {
+            return Timer.builder(CALLS)
+                    .description("Latency of OrderRepository port calls")
+                    .tag("method", method)
+                    .tag("status", status)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.midlevel.orderfulfillment.adapter.out.observability;
+
+import com.midlevel.orderfulfillment.adapter.out.persistence.JpaOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.persistence.LifecycleLatencyRow;
+import com.midlevel.orderfulfillment.adapter.out.persistence.OrderShards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Actuator endpoint that backfills the lifecycle distributions from the database.
+ *
+ * OrderLifecycleMetrics only sees transitions that happen while the process
+ * is running. This endpoint computes the same distributions (time-to-pay and
+ * time-to-ship per shipping country) from persisted orders, on demand, with
+ * a single aggregate query (see JpaOrderRepository.summarizeLifecycleLatencies).
+ *
+ * GET /actuator/orderlifecycle          orders created in the last 30 days
+ * GET /actuator/orderlifecycle?days=7   orders created in the last 7 days
+ *
+ * Durations are reported in seconds.
+ *
+ * With sharding (see ShardedOrderRepository) every shard database is queried,
+ * and each entry names its shard: percentiles of different databases can't
+ * be merged, so a country has one entry per shard it has orders in.
+ */
+@Component
+@Endpoint(id = "orderlifecycle")
+public class OrderLifecycleEndpoint {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    // Repository per shard, the primary database first
+    private final Map<String, JpaOrderRepository> shards = new LinkedHashMap<>();
+    private final Clock clock;
+
+    public OrderLifecycleEndpoint(JpaOrderRepository jpaOrderRepository, Optional<OrderShards> orderShards,
+                                  @Value("${orders.sharding.primary-name:shard-0}") String primaryName) {
+        this.shards.put(primaryName, jpaOrderRepository);
+        orderShards.ifPresent(additional -> this.shards.putAll(additional.jpaRepositories()));
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * @param days how far back to look (by order creation time), default 30
+     * @return one entry per shard and shipping country
+     */
+    @ReadOperation
+    public List<CountryLifecycle> lifecycle(@Nullable Integer days) {
+        int window = days == null ? DEFAULT_DAYS : days;
+        if (window <= 0) {
+            throw new IllegalArgumentException("days must be positive: " + window);
+        }
+        Instant since = clock.instant().minus(Duration.ofDays(window));
+
+        List<CountryLifecycle> lifecycle = new ArrayList<>();
+        shards.forEach((shard, jpaOrderRepository) -> jpaOrderRepository.summarizeLifecycleLatencies(since)
+                .forEach(row -> lifecycle.add(toCountryLifecycle(shard, row))));
+        return lifecycle;
+    }
+
+    private static CountryLifecycle toCountryLifecycle(String shard, LifecycleLatencyRow row) {
+        return new CountryLifecycle(
+                shard,
+                row.getCountry(),
+                new PhaseLatency(row.getPaidCount(), row.getPayP50(), row.getPayP90(), row.getPayP99(), row.getPayMax()),
+                new PhaseLatency(row.getShippedCount(), row.getShipP50(), row.getShipP90(), row.getShipP99(), row.getShipMax())
+        );
+    }
+
+    /**
+     * Lifecycle distributions for one shipping country, in one shard's database.
+     */
+    public record CountryLifecycle(String shard, String country, PhaseLatency timeToPay, PhaseLatency timeToShip) {
+    }
+
+    /**
+     * Distribution of one lifecycle phase, in seconds (null when count is 0).
+     */
+    public record PhaseLatency(long count, Double p50Seconds, Double p90Seconds, Double p99Seconds, Double maxSeconds) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.midlevel.orderfulfillment.adapter.out.observability;
+
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the fulfillment SLA: how long orders take to get paid and shipped.
+ *
+ * Listens to the domain events an Order raises on pay() and ship() (published
+ * by the repository after the transition is saved) and records:
+ * - orders.lifecycle.time_to_pay   created -> paid
+ * - orders.lifecycle.time_to_ship  paid -> shipped
+ * both tagged country=<shipping country>, with percentile histograms.
+ *
+ * Micrometer's default histogram stops at 30 seconds; fulfillment takes
+ * minutes to days, so the buckets are stretched to cover 1 second - 30 days.
+ *
+ * For orders that transitioned before this was deployed (or while the
+ * process was down) see OrderLifecycleEndpoint, which computes the same
+ * distributions from the database.
+ */
+@Component
+public class OrderLifecycleMetrics {
+
+    static final String TIME_TO_PAY = "orders.lifecycle.time_to_pay";
+    static final String TIME_TO_SHIP = "orders.lifecycle.time_to_ship";
+
+    private static final Duration MIN_EXPECTED = Duration.ofSeconds(1);
+    private static final Duration MAX_EXPECTED = Duration.ofDays(30);
+
+    private final MeterRegistry registry;
+
+    // One timer per country, built on first use (a couple of hundred at most)
+    private final ConcurrentMap<String, Timer> timeToPay = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timeToShip = new ConcurrentHashMap<>();
+
+    public OrderLifecycleMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @EventListener
+    public void onOrderPaid(OrderPaidEvent event) {
+        timeToPay.computeIfAbsent(event.getShippingCountry(),
+                        country -> timer(TIME_TO_PAY, "Time from order creation to payment", country))
+                .record(event.getTimeToPay());
+    }
+
+    @EventListener
+    public void onOrderShipped(OrderShippedEvent event) {
+        timeToShip.computeIfAbsent(event.getShippingCountry(),
+                        country -> timer(TIME_TO_SHIP, "Time from payment to shipping", country))
+                .record(event.getTimeToShip());
+    }
+
+    private Timer timer(String name, String description, String country) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("country", country)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry);
+    }
+}
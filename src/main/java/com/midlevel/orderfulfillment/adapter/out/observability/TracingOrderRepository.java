@@ -0,0 +1,172 @@
+package com.midlevel.orderfulfillment.adapter.out.observability;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static com.midlevel.orderfulfillment.tracing.Spans.inSpan;
+import static com.midlevel.orderfulfillment.tracing.Spans.runInSpan;
+
+/**
+ * Tracing decorator for any OrderRepository implementation.
+ *
+ * DECORATOR PATTERN:
+ * - Implements the same port as the repository it wraps
+ * - Opens one span per call, named "OrderRepository.<method>"
+ * - Everything the delegate does (mapping, Hibernate flush, JDBC) shows up
+ *   as child spans, so a slow call can be broken down
+ *
+ * Span tags:
+ * - order.id       for calls about one order (save, findById, deleteById, existsById)
+ * - order.ids      number of IDs asked for, for findAllById
+ * - customer.id    for findByCustomerId
+ * - product.id     for findByProductId
+ * - search.criteria for search (the criteria, without the page position)
+ * - order.status   for status queries
+ * - db.rows        number of orders returned (or counted, or saved by saveAll)
+ */
+public class TracingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final Tracer tracer;
+
+    /**
+     * @param delegate the repository to trace
+     * @param tracer creates the spans (Tracer.NOOP disables tracing)
+     */
+    public TracingOrderRepository(OrderRepository delegate, Tracer tracer) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate repository cannot be null");
+        }
+        if (tracer == null) {
+            throw new IllegalArgumentException("Tracer cannot be null");
+        }
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return inSpan(tracer, "OrderRepository.save", span -> {
+            span.tag("order.id", order.getOrderId());
+            span.tag("order.status", order.getStatus().name());
+            return delegate.save(order);
+        });
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return inSpan(tracer, "OrderRepository.saveAll", span -> withRowCount(span, delegate.saveAll(orders)));
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        return inSpan(tracer, "OrderRepository.findById", span -> {
+            span.tag("order.id", String.valueOf(orderId));
+            Optional<Order> found = delegate.findById(orderId);
+            span.tag("db.rows", found.isPresent() ? 1 : 0);
+            return found;
+        });
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<String> orderIds) {
+        return inSpan(tracer, "OrderRepository.findAllById", span -> {
+            span.tag("order.ids", orderIds.size());
+            return withRowCount(span, delegate.findAllById(orderIds));
+        });
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return inSpan(tracer, "OrderRepository.findByCustomerId", span -> {
+            span.tag("customer.id", String.valueOf(customerId));
+            return withRowCount(span, delegate.findByCustomerId(customerId));
+        });
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return inSpan(tracer, "OrderRepository.findByStatus", span -> {
+            span.tag("order.status", String.valueOf(status));
+            return withRowCount(span, delegate.findByStatus(status));
+        });
+    }
+
+    @Override
+    public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+        return inSpan(tracer, "OrderRepository.findByStatusIn", span -> {
+            span.tag("order.status", String.valueOf(statuses));
+            return withRowCount(span, delegate.findByStatusIn(statuses));
+        });
+    }
+
+    @Override
+    public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+        return inSpan(tracer, "OrderRepository.countByStatusIn", span -> {
+            span.tag("order.status", String.valueOf(statuses));
+            long count = delegate.countByStatusIn(statuses);
+            span.tag("db.rows", count);
+            return count;
+        });
+    }
+
+    @Override
+    public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                              EnumSet<OrderStatus> statuses) {
+        return inSpan(tracer, "OrderRepository.findByProductId", span -> {
+            span.tag("product.id", String.valueOf(productId));
+            span.tag("order.status", String.valueOf(statuses));
+            List<OrderSummary> summaries = delegate.findByProductId(productId, from, to, statuses);
+            span.tag("db.rows", summaries.size());
+            return summaries;
+        });
+    }
+
+    @Override
+    public OrderSearchResult search(OrderSearchCriteria criteria) {
+        return inSpan(tracer, "OrderRepository.search", span -> {
+            span.tag("search.criteria", String.valueOf(criteria));
+            OrderSearchResult result = delegate.search(criteria);
+            span.tag("db.rows", result.getOrders().size());
+            return result;
+        });
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return inSpan(tracer, "OrderRepository.findAll", span -> withRowCount(span, delegate.findAll()));
+    }
+
+    @Override
+    public void deleteById(String orderId) {
+        runInSpan(tracer, "OrderRepository.deleteById", span -> {
+            span.tag("order.id", String.valueOf(orderId));
+            delegate.deleteById(orderId);
+        });
+    }
+
+    @Override
+    public boolean existsById(String orderId) {
+        return inSpan(tracer, "OrderRepository.existsById", span -> {
+            span.tag("order.id", String.valueOf(orderId));
+            return delegate.existsById(orderId);
+        });
+    }
+
+    private static List<Order> withRowCount(Span span, List<Order> orders) {
+        span.tag("db.rows", orders.size());
+        return orders;
+    }
+}
@@ -0,0 +1,238 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batching decorator for any OrderRepository: coalesces concurrent
+ * findById() calls into one findAllById() (data-loader style).
+ *
+ * DECORATOR PATTERN:
+ * - Implements the same port as the repository it wraps
+ * - findById() joins the open batch; every other method is passed through
+ *
+ * How a batch forms:
+ * - The first findById() opens a batch, waits one window (e.g. 2 ms), then
+ *   closes it and loads every ID that joined in the meantime - one orders
+ *   query and one items query, however many callers joined
+ * - Callers that join an open batch wait for its result
+ * - A batch that reaches maxBatchSize is loaded at once by the caller that
+ *   filled it (the opener then finds it gone and just waits)
+ *
+ * The load runs on a caller's thread - no executor, and the batch's query
+ * shows up in the trace of the request that opened (or filled) the batch.
+ *
+ * Trade-off: a lone findById() is up to one window slower. Worth it when
+ * many requests look up orders at the same time (200 concurrent lookups
+ * become one round trip instead of 200); not worth it for a quiet system,
+ * so OrderRepositoryConfiguration only adds it when a window is configured.
+ *
+ * Every caller gets its own Order instance, even when two callers ask for
+ * the same ID (findAllById() returns an ID given twice twice), so callers
+ * never share a mutable aggregate.
+ */
+public class BatchingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+
+    // The batch new lookups join (null when none is open), guarded by lock
+    private Batch openBatch;
+
+    /**
+     * @param delegate the repository to load batches from
+     * @param window how long a batch stays open for more lookups
+     * @param maxBatchSize lookups after which a batch is loaded without waiting
+     */
+    public BatchingOrderRepository(OrderRepository delegate, Duration window, int maxBatchSize) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate repository cannot be null");
+        }
+        if (window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Batch window must be positive: " + window);
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        Lookup lookup = new Lookup(orderId);
+        Batch batch;
+        boolean opened = false;
+        boolean filled = false;
+        synchronized (lock) {
+            if (openBatch == null) {
+                openBatch = new Batch();
+                opened = true;
+            }
+            batch = openBatch;
+            batch.lookups.add(lookup);
+            if (batch.lookups.size() >= maxBatchSize) {
+                openBatch = null;
+                filled = true;
+            }
+        }
+
+        if (filled) {
+            load(batch);
+        } else if (opened) {
+            awaitWindow();
+            if (close(batch)) {
+                load(batch);
+            }
+        }
+        return lookup.await();
+    }
+
+    /**
+     * Closes the batch unless it was already closed (by filling up).
+     *
+     * @return true if this call closed it (and must load it)
+     */
+    private boolean close(Batch batch) {
+        synchronized (lock) {
+            if (openBatch != batch) {
+                return false;
+            }
+            openBatch = null;
+            return true;
+        }
+    }
+
+    private void awaitWindow() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(windowNanos);
+        } catch (InterruptedException e) {
+            // Load right away - the batch's other callers are waiting for it
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Loads a closed batch with one findAllById() and hands every lookup its
+     * order (or empty); on failure every lookup gets the exception.
+     */
+    private void load(Batch batch) {
+        List<Lookup> lookups = batch.lookups;
+        try {
+            List<Order> orders = delegate.findAllById(lookups.stream().map(lookup -> lookup.orderId).toList());
+
+            // ID given twice -> two instances; hand them out one per lookup
+            RepositorySupport.OrdersById byId = new RepositorySupport.OrdersById(orders);
+            for (Lookup lookup : lookups) {
+                lookup.result.complete(byId.take(lookup.orderId));
+            }
+        } catch (RuntimeException | Error e) {
+            lookups.forEach(lookup -> lookup.result.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<String> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+
+    @Override
+    public Order save(Order order) {
+        return delegate.save(order);
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return delegate.saveAll(orders);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+        return delegate.findByStatusIn(statuses);
+    }
+
+    @Override
+    public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+        return delegate.countByStatusIn(statuses);
+    }
+
+    @Override
+    public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                              EnumSet<OrderStatus> statuses) {
+        return delegate.findByProductId(productId, from, to, statuses);
+    }
+
+    @Override
+    public OrderSearchResult search(OrderSearchCriteria criteria) {
+        return delegate.search(criteria);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void deleteById(String orderId) {
+        delegate.deleteById(orderId);
+    }
+
+    @Override
+    public boolean existsById(String orderId) {
+        return delegate.existsById(orderId);
+    }
+
+    /**
+     * Lookups that are loaded together.
+     */
+    private static final class Batch {
+        private final List<Lookup> lookups = new ArrayList<>();
+    }
+
+    /**
+     * One findById() call waiting for its batch.
+     */
+    private static final class Lookup {
+        private final String orderId;
+        private final CompletableFuture<Optional<Order>> result = new CompletableFuture<>();
+
+        private Lookup(String orderId) {
+            this.orderId = orderId;
+        }
+
+        /**
+         * @return the order, once the batch is loaded; rethrows the batch's failure unchanged
+         */
+        private Optional<Order> await() {
+            return RepositorySupport.await(result);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.AsyncOrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * AsyncOrderRepository that runs the synchronous OrderRepository's lookups
+ * on a dedicated, bounded executor.
+ *
+ * Why a dedicated executor: every running lookup holds a JDBC connection.
+ * With at most N lookup threads (boundedExecutor, N below the Hikari pool
+ * size), parallel lookups can never take all connections - synchronous
+ * callers still get theirs. Surplus lookups wait in a bounded queue; beyond
+ * that they are rejected at once instead of piling up. The common
+ * ForkJoinPool (CompletableFuture.supplyAsync's default) would share threads
+ * with unrelated work and block them on I/O.
+ *
+ * Timeout and cancellation: every future times out after the configured
+ * timeout. A lookup whose future is already done when its turn comes (timed
+ * out or cancelled while queued) is skipped and never touches the database.
+ * A running lookup isn't interrupted (interrupting JDBC I/O can break the
+ * connection); it finishes and its result is dropped.
+ *
+ * close() shuts the executor down (lookups already queued still run).
+ */
+public class ExecutorAsyncOrderRepository implements AsyncOrderRepository, AutoCloseable {
+
+    private final OrderRepository delegate;
+    private final ExecutorService executor;
+    private final long timeoutNanos;
+
+    /**
+     * @param delegate the repository whose lookups run asynchronously
+     * @param executor runs the lookups (see boundedExecutor); owned by this repository
+     * @param timeout how long a lookup may take, queueing included
+     */
+    public ExecutorAsyncOrderRepository(OrderRepository delegate, ExecutorService executor, Duration timeout) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate repository cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Creates the executor for the lookups: a fixed number of daemon threads
+     * named order-repository-async-N, and a bounded queue (a full queue
+     * rejects new lookups).
+     *
+     * @param threads lookup threads (= connections used at most)
+     * @param queueCapacity lookups that may wait for a thread
+     */
+    public static ThreadPoolExecutor boundedExecutor(int threads, int queueCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                RepositorySupport.daemonThreads("order-repository-async-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public CompletableFuture<Optional<Order>> findById(String orderId) {
+        return submit(() -> delegate.findById(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> findAllById(Collection<String> orderIds) {
+        return submit(() -> delegate.findAllById(orderIds));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> findByCustomerId(String customerId) {
+        return submit(() -> delegate.findByCustomerId(customerId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> findByStatusIn(EnumSet<OrderStatus> statuses) {
+        return submit(() -> delegate.findByStatusIn(statuses));
+    }
+
+    @Override
+    public CompletableFuture<Long> countByStatusIn(EnumSet<OrderStatus> statuses) {
+        return submit(() -> delegate.countByStatusIn(statuses));
+    }
+
+    @Override
+    public CompletableFuture<OrderSearchResult> search(OrderSearchCriteria criteria) {
+        return submit(() -> delegate.search(criteria));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsById(String orderId) {
+        return submit(() -> delegate.existsById(orderId));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> lookup) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                // Timed out or cancelled while queued - don't take a connection for nothing
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(lookup.get());
+                } catch (RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        return future.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,12 +1,18 @@
 package com.midlevel.orderfulfillment.adapter.out.persistence;
 
 import com.midlevel.orderfulfillment.adapter.out.persistence.entity.OrderEntity;
+import com.midlevel.orderfulfillment.adapter.out.persistence.entity.OrderItemEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Spring Data JPA Repository for OrderEntity.
@@ -14,9 +20,9 @@ import java.util.List;
  * Spring Data JPA auto-implements this interface at runtime.
  * No need to write implementation code!
  * 
- * JpaRepository<OrderEntity, String> means:
+ * JpaRepository<OrderEntity, UUID> means:
  * - Entity type: OrderEntity
- * - ID type: String
+ * - ID type: UUID (native PostgreSQL uuid column)
  * 
  * Provides built-in methods:
  * - save(), findById(), findAll(), deleteById(), etc.
@@ -26,7 +32,7 @@ import java.util.List;
  * - @Query annotation for complex queries
  */
 @Repository
-public interface JpaOrderRepository extends JpaRepository<OrderEntity, String> {
+public interface JpaOrderRepository extends JpaRepository<OrderEntity, UUID> {
     
     /**
      * Find orders by customer ID.
@@ -41,6 +47,12 @@ public interface JpaOrderRepository extends JpaRepository<OrderEntity, String> {
      */
     List<OrderEntity> findByStatus(OrderStatus status);
     
+    /**
+     * Find orders matching any of several statuses.
+     * Spring Data auto-generates: SELECT * FROM orders WHERE status IN (?, ?, ...)
+     */
+    List<OrderEntity> findByStatusIn(Collection<OrderStatus> statuses);
+    
     /**
      * Find orders by customer and status.
      * Demonstrates combining multiple conditions.
@@ -63,9 +75,86 @@ public interface JpaOrderRepository extends JpaRepository<OrderEntity, String> {
      */
     long countByStatus(OrderStatus status);
     
+    /**
+     * Count orders matching any of several statuses.
+     * Spring Data auto-generates: SELECT COUNT(*) FROM orders WHERE status IN (?, ?, ...)
+     */
+    long countByStatusIn(Collection<OrderStatus> statuses);
+    
     /**
      * Check if orders exist for a customer.
      * Returns true if at least one order exists.
      */
     boolean existsByCustomerId(String customerId);
+    
+    /**
+     * Summaries of the orders that contain a product, created in [from, to)
+     * with one of the given statuses, newest first.
+     * 
+     * A semi-join (EXISTS): each order is returned once however many lines of
+     * the product it has, and no item rows are read beyond the index probe.
+     * idx_order_items_product_order finds the product's orders without
+     * touching items of other products.
+     * JPQL rather than native SQL, so status goes through the entity mapping
+     * (text or smallint code, see OrderStatusCodeConverter).
+     */
+    @Query("SELECT o.orderId AS orderId, o.customerId AS customerId, o.status AS status, " +
+           "o.createdAt AS createdAt, o.shippedAt AS shippedAt, o.shippingAddress.country AS country " +
+           "FROM OrderEntity o " +
+           "WHERE o.createdAt >= :from AND o.createdAt < :to AND o.status IN :statuses " +
+           "AND EXISTS (SELECT 1 FROM OrderItemEntity i WHERE i.productId = :productId AND i.orderId = o.orderId) " +
+           "ORDER BY o.createdAt DESC")
+    List<OrderSummaryRow> findSummariesByProductId(@Param("productId") String productId,
+                                                   @Param("from") Instant from, @Param("to") Instant to,
+                                                   @Param("statuses") Collection<OrderStatus> statuses);
+    
+    /**
+     * Items of the given orders, each order's items in the order they were saved.
+     * Loads the items of lazily loaded orders - one query for a whole result list
+     * (uses idx_order_items_order_id).
+     */
+    @Query("SELECT i FROM OrderItemEntity i WHERE i.orderId IN :orderIds ORDER BY i.orderId, i.id")
+    List<OrderItemEntity> findItemsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+    
+    /**
+     * Writes the columns a state transition changes: status and its timestamps.
+     * A single-row UPDATE by primary key - the order's items are not read or written.
+     * 
+     * @return number of rows updated (0 if the order no longer exists)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderEntity o SET o.status = :status, o.paidAt = :paidAt, o.shippedAt = :shippedAt " +
+           "WHERE o.orderId = :orderId")
+    int updateState(@Param("orderId") UUID orderId, @Param("status") OrderStatus status,
+                    @Param("paidAt") Instant paidAt, @Param("shippedAt") Instant shippedAt);
+    
+    /**
+     * Time-to-pay and time-to-ship distributions per shipping country,
+     * for orders created since the given instant.
+     * 
+     * Native SQL: one pass over orders, grouped by country, using PostgreSQL's
+     * ordered-set aggregates (percentile_cont). Aggregates skip NULLs, so orders
+     * that were never paid (or shipped) simply don't count for that phase.
+     * Aliases are quoted so PostgreSQL keeps the camelCase the projection expects.
+     * PostgreSQL computes the percentiles of one phase from a single shared sort.
+     */
+    @Query(value = """
+            SELECT o.country AS "country",
+                   count(o.paid_at) AS "paidCount",
+                   percentile_cont(0.5) WITHIN GROUP (ORDER BY CAST(extract(epoch FROM o.paid_at - o.created_at) AS float8)) AS "payP50",
+                   percentile_cont(0.9) WITHIN GROUP (ORDER BY CAST(extract(epoch FROM o.paid_at - o.created_at) AS float8)) AS "payP90",
+                   percentile_cont(0.99) WITHIN GROUP (ORDER BY CAST(extract(epoch FROM o.paid_at - o.created_at) AS float8)) AS "payP99",
+                   max(CAST(extract(epoch FROM o.paid_at - o.created_at) AS float8)) AS "payMax",
+                   count(o.shipped_at) AS "shippedCount",
+                   percentile_cont(0.5) WITHIN GROUP (ORDER BY CAST(extract(epoch FROM o.shipped_at - o.paid_at) AS float8)) AS "shipP50",
+                   percentile_cont(0.9) WITHIN GROUP (ORDER BY CAST(extract(epoch FROM o.shipped_at - o.paid_at) AS float8)) AS "shipP90",
+                   percentile_cont(0.99) WITHIN GROUP (ORDER BY CAST(extract(epoch FROM o.shipped_at - o.paid_at) AS float8)) AS "shipP99",
+                   max(CAST(extract(epoch FROM o.shipped_at - o.paid_at) AS float8)) AS "shipMax"
+            FROM orders o
+            WHERE o.created_at >= :since
+            GROUP BY o.country
+            ORDER BY o.country
+            """, nativeQuery = true)
+    List<LifecycleLatencyRow> summarizeLifecycleLatencies(@Param("since") Instant since);
 }
@@ -0,0 +1,35 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+/**
+ * One row of JpaOrderRepository.summarizeLifecycleLatencies():
+ * time-to-pay and time-to-ship distributions for one shipping country.
+ *
+ * Spring Data projection - the getters map to the query's column aliases.
+ * Durations are in seconds; percentiles are null when no order reached that state.
+ */
+public interface LifecycleLatencyRow {
+
+    String getCountry();
+
+    // created -> paid
+    long getPaidCount();
+
+    Double getPayP50();
+
+    Double getPayP90();
+
+    Double getPayP99();
+
+    Double getPayMax();
+
+    // paid -> shipped
+    long getShippedCount();
+
+    Double getShipP50();
+
+    Double getShipP90();
+
+    Double getShipP99();
+
+    Double getShipMax();
+}
@@ -0,0 +1,88 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.ItemChange;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the item changes of an amended order as JDBC batches.
+ *
+ * One batch per kind of change: deletes, then updates, then inserts - at
+ * most three round trips however many lines changed, and lines that didn't
+ * change are not touched. (Inserting through JPA can't be batched: order_items
+ * uses IDENTITY keys, so Hibernate inserts one row at a time to read each key.)
+ *
+ * Lines are addressed by (order_id, product_id) - an amended order has one
+ * line per product - using idx_order_items_order_id.
+ *
+ * Runs in the caller's transaction (see OrderRepositoryAdapter).
+ */
+@Component
+class OrderItemChangeWriter {
+
+    private static final String DELETE_SQL =
+            "DELETE FROM order_items WHERE order_id = ? AND product_id = ?";
+
+    private static final String UPDATE_SQL =
+            "UPDATE order_items SET product_name = ?, unit_price = ?, currency = ?, quantity = ? " +
+            "WHERE order_id = ? AND product_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_items (order_id, product_id, product_name, unit_price, currency, quantity) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderItemChangeWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param orderId the stored order
+     * @param changes its pending item changes (net, at most one per product)
+     */
+    void write(UUID orderId, List<ItemChange> changes) {
+        List<String> removed = new ArrayList<>();
+        List<OrderItem> changed = new ArrayList<>();
+        List<OrderItem> added = new ArrayList<>();
+        for (ItemChange change : changes) {
+            switch (change.getKind()) {
+                case REMOVED -> removed.add(change.getProductId());
+                case CHANGED -> changed.add(change.getItem());
+                case ADDED -> added.add(change.getItem());
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, removed, removed.size(), (statement, productId) -> {
+                statement.setObject(1, orderId);
+                statement.setString(2, productId);
+            });
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, changed, changed.size(), (statement, item) -> {
+                statement.setString(1, item.getProductName());
+                statement.setBigDecimal(2, item.getUnitPrice().getAmount());
+                statement.setString(3, item.getUnitPrice().getCurrencyCode());
+                statement.setInt(4, item.getQuantity());
+                statement.setObject(5, orderId);
+                statement.setString(6, item.getProductId());
+            });
+        }
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, added, added.size(), (statement, item) -> {
+                statement.setObject(1, orderId);
+                statement.setString(2, item.getProductId());
+                statement.setString(3, item.getProductName());
+                statement.setBigDecimal(4, item.getUnitPrice().getAmount());
+                statement.setString(5, item.getUnitPrice().getCurrencyCode());
+                statement.setInt(6, item.getQuantity());
+            });
+        }
+    }
+}
@@ -1,14 +1,42 @@
 package com.midlevel.orderfulfillment.adapter.out.persistence;
 
 import com.midlevel.orderfulfillment.adapter.out.persistence.entity.OrderEntity;
+import com.midlevel.orderfulfillment.adapter.out.persistence.entity.OrderItemEntity;
+import com.midlevel.orderfulfillment.domain.model.ItemChange;
 import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
 import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
 import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import com.midlevel.orderfulfillment.logging.DomainLogArguments;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static com.midlevel.orderfulfillment.tracing.Spans.inSpan;
+
 /**
  * Adapter implementation that bridges domain OrderRepository port
  * to Spring Data JPA repository.
@@ -20,71 +48,425 @@ import java.util.stream.Collectors;
  * - Translate between domain objects and JPA entities
  * - Delegate persistence operations to Spring Data repository
  * - Handle entity/domain conversions
+ * - Translate String order IDs (domain) to UUID keys (database)
+ * - Publish the order's domain events once it has been saved
+ * 
+ * Mapping time is published as orders.repository.mapping (tagged
+ * direction=to_domain|from_domain), so it can be compared with the
+ * total call time recorded by InstrumentedOrderRepository.
+ * 
+ * Tracing: save() runs mapping and persisting in separate child spans
+ * (OrderEntity.fromDomain, JpaOrderRepository.save - Hibernate flush and SQL -
+ * and OrderEntity.toDomain); queries trace their entity-to-domain mapping.
+ * 
+ * Lazy items: queries read only the orders rows and return orders that load
+ * their items on first access - for a query result, the items of the window
+ * of up to ITEM_BATCH_SIZE orders around the accessed one, in one query
+ * (ItemBatch). findAllById() is a query result too: the orders rows in one
+ * query, their items in one more per window. Orders just saved keep the
+ * items they were saved with - nothing is read back.
+ * 
+ * Single flight: concurrent findById() calls for the same ID share one
+ * database load (SingleFlight) - one orders query, and one items query if
+ * any of them needs the items. Each caller still gets its own Order, mapped
+ * from the shared entity. Coalesced calls are counted as
+ * orders.repository.coalesced (tagged method=findById and with the adapter's
+ * shard - see ShardedOrderRepository; shard-0 when not sharded). save() and
+ * deleteById() let later lookups of the order start a fresh load.
+ * 
+ * Saving: a new order is inserted with all its items (JPA persist, with no
+ * SELECT first - see OrderEntity.isNew). A stored order only has its state
+ * written - one UPDATE of its row - plus its pending item changes from
+ * amendments, as JDBC batches (OrderItemChangeWriter), in one transaction. Unchanged items are never rewritten or even loaded.
+ * saveAll() does the same for several orders in a single transaction.
  * 
  * @Component makes this a Spring bean that can be injected
  */
 @Component
 public class OrderRepositoryAdapter implements OrderRepository {
     
+    private static final Logger log = LoggerFactory.getLogger(OrderRepositoryAdapter.class);
+    
+    // Order IDs per orders/items query (keeps the IN list and its bind parameters bounded)
+    private static final int ITEM_BATCH_SIZE = 500;
+    
     private final JpaOrderRepository jpaOrderRepository;
+    private final OrderItemChangeWriter itemChangeWriter;
+    private final OrderSearchQuery searchQuery;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Tracer tracer;
+    private final Timer toDomainTimer;
+    private final Timer fromDomainTimer;
+    
+    // findById loads in flight, by order ID
+    private final SingleFlight<UUID, Optional<LoadedOrder>> findByIdFlights = new SingleFlight<>();
     
     /**
      * Constructor injection (preferred over field injection)
-     * Spring automatically injects JpaOrderRepository implementation
+     * Spring automatically injects the JpaOrderRepository implementation,
+     * the item change writer, the search query, Spring Boot's transaction template,
+     * the Micrometer registry provided by Actuator, the application
+     * context as event publisher, the tracer (a no-op one when tracing is off),
+     * and the name of the shard whose database this adapter uses
      */
-    public OrderRepositoryAdapter(JpaOrderRepository jpaOrderRepository) {
+    public OrderRepositoryAdapter(JpaOrderRepository jpaOrderRepository, OrderItemChangeWriter itemChangeWriter,
+                                  OrderSearchQuery searchQuery,
+                                  TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                  ApplicationEventPublisher eventPublisher, Tracer tracer,
+                                  @Value("${orders.sharding.primary-name:shard-0}") String shardName) {
         this.jpaOrderRepository = jpaOrderRepository;
+        this.itemChangeWriter = itemChangeWriter;
+        this.searchQuery = searchQuery;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.tracer = tracer;
+        this.toDomainTimer = mappingTimer(meterRegistry, "to_domain");
+        this.fromDomainTimer = mappingTimer(meterRegistry, "from_domain");
+        FunctionCounter.builder("orders.repository.coalesced", findByIdFlights, SingleFlight::coalesced)
+                .description("Repository calls that shared another call's database load")
+                .tag("method", "findById")
+                .tag("shard", shardName)
+                .register(meterRegistry);
     }
     
     @Override
     public Order save(Order order) {
+        // Stored order: write only what can have changed
+        if (!order.isNew()) {
+            return saveChanges(order);
+        }
+        
         // Convert domain Order to JPA entity
-        OrderEntity entity = OrderEntity.fromDomain(order);
+        OrderEntity entity = inSpan(tracer, "OrderEntity.fromDomain",
+                span -> fromDomainTimer.record(() -> OrderEntity.fromDomain(order)));
         
-        // Save using Spring Data JPA
-        OrderEntity savedEntity = jpaOrderRepository.save(entity);
+        // Save using Spring Data JPA (the span covers Hibernate's flush and the SQL)
+        OrderEntity savedEntity = inSpan(tracer, "JpaOrderRepository.save",
+                span -> jpaOrderRepository.save(entity));
+        findByIdFlights.forget(savedEntity.getOrderId());
         
-        // Convert back to domain and return
-        return savedEntity.toDomain();
+        // The transitions are persisted - now tell the rest of the application
+        order.pullDomainEvents().forEach(eventPublisher::publishEvent);
+        
+        // Supplier form: the log argument is only built when DEBUG is enabled
+        log.atDebug().setMessage("Saved {}").addArgument(() -> DomainLogArguments.order(order)).log();
+        
+        // Convert back to domain and return - with the items just saved, not re-read
+        List<OrderItem> items = order.getItems();
+        return inSpan(tracer, "OrderEntity.toDomain", span -> toDomainTimer.record(
+                () -> savedEntity.toDomain(() -> items)));
+    }
+    
+    /**
+     * Saves a stored order: one UPDATE of its row (status and timestamps), plus
+     * its pending item changes, in one transaction. Lines that didn't change
+     * are not written - and not loaded, if the order never needed them.
+     * 
+     * @return the order itself (nothing is re-read)
+     * @throws IllegalStateException if the order was deleted in the meantime
+     */
+    private Order saveChanges(Order order) {
+        UUID orderId = UUID.fromString(order.getOrderId());
+        List<ItemChange> itemChanges = order.getPendingItemChanges();
+        
+        inSpan(tracer, "JpaOrderRepository.updateState", span -> {
+            span.tag("order.item_changes", itemChanges.size());
+            return transactionTemplate.execute(transaction -> writeChanges(orderId, order, itemChanges));
+        });
+        findByIdFlights.forget(orderId);
+        order.markItemChangesSaved(itemChanges);
+        
+        order.pullDomainEvents().forEach(eventPublisher::publishEvent);
+        log.atDebug().setMessage("Saved changes of {}").addArgument(() -> DomainLogArguments.order(order)).log();
+        return order;
+    }
+    
+    /**
+     * Writes a stored order's state and item changes (in the caller's transaction).
+     */
+    private int writeChanges(UUID orderId, Order order, List<ItemChange> itemChanges) {
+        int updated = jpaOrderRepository.updateState(
+                orderId, order.getStatus(), order.getPaidAt(), order.getShippedAt());
+        if (updated == 0) {
+            throw new IllegalStateException("Order no longer exists: " + order.getOrderId());
+        }
+        if (!itemChanges.isEmpty()) {
+            itemChangeWriter.write(orderId, itemChanges);
+        }
+        return updated;
+    }
+    
+    /**
+     * Saves the orders like save() does, but all in one transaction: one
+     * commit (one WAL flush in PostgreSQL) for the lot. Domain events are
+     * published once that transaction has committed; if it fails, no order
+     * is saved and none of them is changed (they can be saved again).
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        // Captured up front: these are the changes the transaction writes
+        List<List<ItemChange>> itemChanges = orders.stream()
+                .map(order -> order.isNew() ? List.<ItemChange>of() : order.getPendingItemChanges())
+                .toList();
+        
+        // Saved entity per new order, null for stored ones
+        List<OrderEntity> savedEntities = inSpan(tracer, "JpaOrderRepository.saveAll", span -> {
+            span.tag("db.orders", orders.size());
+            return transactionTemplate.execute(transaction -> {
+                List<OrderEntity> saved = new ArrayList<>(orders.size());
+                for (int i = 0; i < orders.size(); i++) {
+                    Order order = orders.get(i);
+                    if (order.isNew()) {
+                        saved.add(jpaOrderRepository.save(fromDomainTimer.record(() -> OrderEntity.fromDomain(order))));
+                    } else {
+                        writeChanges(UUID.fromString(order.getOrderId()), order, itemChanges.get(i));
+                        saved.add(null);
+                    }
+                }
+                return saved;
+            });
+        });
+        
+        List<Order> results = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            OrderEntity savedEntity = savedEntities.get(i);
+            findByIdFlights.forget(UUID.fromString(order.getOrderId()));
+            if (savedEntity == null) {
+                order.markItemChangesSaved(itemChanges.get(i));
+            }
+            order.pullDomainEvents().forEach(eventPublisher::publishEvent);
+            if (savedEntity == null) {
+                results.add(order);
+            } else {
+                List<OrderItem> items = order.getItems();
+                results.add(toDomainTimer.record(() -> savedEntity.toDomain(() -> items)));
+            }
+        }
+        log.atDebug().setMessage("Saved {} orders in one transaction").addArgument(orders::size).log();
+        return results;
     }
     
     @Override
     public Optional<Order> findById(String orderId) {
-        // Find entity using Spring Data JPA
-        return jpaOrderRepository.findById(orderId)
-                // Convert entity to domain if found
-                .map(OrderEntity::toDomain);
+        // Find entity using Spring Data JPA (an ID that isn't a UUID can't exist),
+        // sharing the load with concurrent lookups of the same ID
+        return toUuid(orderId)
+                .flatMap(id -> findByIdFlights.load(id, () -> jpaOrderRepository.findById(id).map(LoadedOrder::new)))
+                // Convert entity to domain if found - a new Order per caller (items load on first access)
+                .map(loaded -> toDomainTimer.record(() -> loaded.entity.toDomain(loaded.items.loaderFor(loaded.id))));
+    }
+    
+    @Override
+    public List<Order> findAllById(Collection<String> orderIds) {
+        // Each distinct ID is queried once (IDs that aren't UUIDs can't exist)
+        List<UUID> ids = new ArrayList<>(orderIds.stream()
+                .map(OrderRepositoryAdapter::toUuid)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<UUID, OrderEntity> entities = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ITEM_BATCH_SIZE) {
+            jpaOrderRepository.findAllById(ids.subList(from, Math.min(from + ITEM_BATCH_SIZE, ids.size())))
+                    .forEach(entity -> entities.put(entity.getOrderId(), entity));
+        }
+        
+        // Back in the caller's order - one Order per requested ID, all sharing one item batch
+        List<UUID> found = ids.stream().filter(entities::containsKey).toList();
+        return inSpan(tracer, "OrderEntity.toDomain", span -> {
+            span.tag("db.rows", entities.size());
+            ItemBatch items = new ItemBatch(found);
+            return toDomainTimer.record(() -> orderIds.stream()
+                    .map(OrderRepositoryAdapter::toUuid)
+                    .flatMap(Optional::stream)
+                    .map(entities::get)
+                    .filter(Objects::nonNull)
+                    .map(entity -> entity.toDomain(items.loaderFor(entity.getOrderId())))
+                    .collect(Collectors.toList()));
+        });
     }
     
     @Override
     public List<Order> findByCustomerId(String customerId) {
         // Find entities and convert to domain list
-        return jpaOrderRepository.findByCustomerId(customerId).stream()
-                .map(OrderEntity::toDomain)
-                .collect(Collectors.toList());
+        return toDomain(jpaOrderRepository.findByCustomerId(customerId));
     }
     
     @Override
     public List<Order> findByStatus(OrderStatus status) {
-        return jpaOrderRepository.findByStatus(status).stream()
-                .map(OrderEntity::toDomain)
-                .collect(Collectors.toList());
+        return toDomain(jpaOrderRepository.findByStatus(status));
+    }
+    
+    @Override
+    public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+        // "IN ()" is not valid SQL - an empty set simply matches nothing
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        return toDomain(jpaOrderRepository.findByStatusIn(statuses));
+    }
+    
+    @Override
+    public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        return jpaOrderRepository.countByStatusIn(statuses);
+    }
+    
+    @Override
+    public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                              EnumSet<OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        return jpaOrderRepository.findSummariesByProductId(productId, from, to, statuses).stream()
+                .map(row -> new OrderSummary(row.getOrderId().toString(), row.getCustomerId(), row.getStatus(),
+                        row.getCreatedAt(), row.getShippedAt(), row.getCountry()))
+                .toList();
+    }
+    
+    @Override
+    public OrderSearchResult search(OrderSearchCriteria criteria) {
+        return searchQuery.search(criteria);
     }
     
     @Override
     public List<Order> findAll() {
-        return jpaOrderRepository.findAll().stream()
-                .map(OrderEntity::toDomain)
-                .collect(Collectors.toList());
+        return toDomain(jpaOrderRepository.findAll());
     }
     
     @Override
     public void deleteById(String orderId) {
-        jpaOrderRepository.deleteById(orderId);
+        toUuid(orderId).ifPresent(id -> {
+            jpaOrderRepository.deleteById(id);
+            findByIdFlights.forget(id);
+        });
     }
     
     @Override
     public boolean existsById(String orderId) {
-        return jpaOrderRepository.existsById(orderId);
+        return toUuid(orderId)
+                .map(jpaOrderRepository::existsById)
+                .orElse(false);
+    }
+    
+    /**
+     * Converts a list of entities to domain orders.
+     * The whole list is timed as one sample - one clock read pair per query, not per row.
+     */
+    private List<Order> toDomain(List<OrderEntity> entities) {
+        return inSpan(tracer, "OrderEntity.toDomain", span -> {
+            span.tag("db.rows", entities.size());
+            ItemBatch items = new ItemBatch(entities.stream().map(OrderEntity::getOrderId).toList());
+            return toDomainTimer.record(() -> entities.stream()
+                    .map(entity -> entity.toDomain(items.loaderFor(entity.getOrderId())))
+                    .collect(Collectors.toList()));
+        });
+    }
+    
+    /**
+     * Item loader shared by the orders of one query result.
+     * 
+     * The result is split into windows of ITEM_BATCH_SIZE orders. The first
+     * order of a window whose items are needed loads the items of the whole
+     * window in one query - so iterating over a result and summing totals
+     * costs one extra query per window, not one per order, while a single
+     * getItems() never loads more than one window. A result whose items are
+     * never needed costs no item query at all.
+     * 
+     * Loads run on the thread that needs the items, under this batch's lock
+     * (never an Order's - see Order.items()).
+     */
+    private final class ItemBatch {
+        
+        private final List<UUID> orderIds;
+        
+        // Position of each order in orderIds, which gives its window
+        private final Map<UUID, Integer> positions = new HashMap<>();
+        
+        // Windows whose items are loaded, and the items loaded so far by order ID
+        private final boolean[] loadedWindows;
+        private final Map<UUID, List<OrderItem>> itemsByOrder = new HashMap<>();
+        
+        ItemBatch(List<UUID> orderIds) {
+            this.orderIds = orderIds;
+            for (int i = 0; i < orderIds.size(); i++) {
+                positions.putIfAbsent(orderIds.get(i), i);
+            }
+            this.loadedWindows = new boolean[(orderIds.size() + ITEM_BATCH_SIZE - 1) / ITEM_BATCH_SIZE];
+        }
+        
+        Supplier<List<OrderItem>> loaderFor(UUID orderId) {
+            return () -> itemsOf(orderId);
+        }
+        
+        private synchronized List<OrderItem> itemsOf(UUID orderId) {
+            int window = positions.get(orderId) / ITEM_BATCH_SIZE;
+            if (!loadedWindows[window]) {
+                load(window);
+                loadedWindows[window] = true;
+            }
+            return itemsByOrder.getOrDefault(orderId, List.of());
+        }
+        
+        private void load(int window) {
+            int from = window * ITEM_BATCH_SIZE;
+            List<UUID> chunk = orderIds.subList(from, Math.min(from + ITEM_BATCH_SIZE, orderIds.size()));
+            inSpan(tracer, "JpaOrderRepository.findItemsByOrderIdIn", span -> {
+                span.tag("db.orders", chunk.size());
+                for (OrderItemEntity item : jpaOrderRepository.findItemsByOrderIdIn(chunk)) {
+                    itemsByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(item.toDomain());
+                }
+                return chunk.size();
+            });
+        }
+    }
+    
+    /**
+     * Result of one findById load, shared by the calls of a flight: the
+     * detached entity (only read from) and one item batch for all of them.
+     */
+    private final class LoadedOrder {
+        
+        private final UUID id;
+        private final OrderEntity entity;
+        private final ItemBatch items;
+        
+        LoadedOrder(OrderEntity entity) {
+            this.id = entity.getOrderId();
+            this.entity = entity;
+            this.items = new ItemBatch(List.of(id));
+        }
+    }
+    
+    private static Timer mappingTimer(MeterRegistry meterRegistry, String direction) {
+        return Timer.builder("orders.repository.mapping")
+                .description("Time spent converting between OrderEntity and Order")
+                .tag("direction", direction)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Parses a domain order ID into the UUID primary key.
+     * Returns empty for strings that aren't UUIDs - no such row can exist.
+     */
+    private static Optional<UUID> toUuid(String orderId) {
+        if (orderId == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(orderId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 }
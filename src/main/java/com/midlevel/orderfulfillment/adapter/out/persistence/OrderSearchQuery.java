@@ -0,0 +1,56 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs OrderRepository.search() - the dynamic counterpart of the fixed
+ * JpaOrderRepository queries. The statement comes from OrderSearchQueryBuilder;
+ * rows are read as summaries (orders columns only, no items).
+ */
+@Component
+class OrderSearchQuery {
+
+    private final EntityManager entityManager;
+    private final OrderSearchQueryBuilder queryBuilder = new OrderSearchQueryBuilder();
+
+    OrderSearchQuery(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    OrderSearchResult search(OrderSearchCriteria criteria) {
+        if (criteria.matchesNothing()) {
+            return new OrderSearchResult(criteria, List.of(), false);
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(queryBuilder.jpql(criteria), Tuple.class);
+        queryBuilder.bind(query, criteria);
+        List<OrderSummary> rows = query.getResultList().stream()
+                .map(OrderSearchQuery::toSummary)
+                .toList();
+
+        // One row more than a page was fetched: if it came back, there is a next page
+        boolean hasMore = rows.size() > criteria.getPageSize();
+        return new OrderSearchResult(criteria, hasMore ? rows.subList(0, criteria.getPageSize()) : rows, hasMore);
+    }
+
+    private static OrderSummary toSummary(Tuple row) {
+        return new OrderSummary(
+                row.get("orderId", UUID.class).toString(),
+                row.get("customerId", String.class),
+                row.get("status", OrderStatus.class),
+                row.get("createdAt", Instant.class),
+                row.get("shippedAt", Instant.class),
+                row.get("country", String.class));
+    }
+}
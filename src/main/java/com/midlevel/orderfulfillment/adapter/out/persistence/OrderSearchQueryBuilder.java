@@ -0,0 +1,167 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds the JPQL for an OrderSearchCriteria - one statement per combination
+ * of criteria ("shape"), with only the predicates that are set.
+ *
+ * Shapes: each criterion is one bit, so there are at most 2^9 shapes. The
+ * JPQL text of a shape is built once and cached; values are always bound as
+ * parameters, never inlined. Equal text lets Hibernate reuse its parsed query
+ * plan and lets the PostgreSQL driver reuse the server-side prepared statement
+ * (per connection, after prepareThreshold executions). The status IN list is
+ * padded to a power of two (hibernate.query.in_clause_parameter_padding), so
+ * set size doesn't multiply the number of statements much.
+ *
+ * Index-aware predicates - every one can use an index or rides on the scan
+ * order, none wraps a column in a function:
+ * - customer:       idx_orders_customer_created (also gives the sort order)
+ * - statuses:       idx_orders_status (selective for the few active orders)
+ * - created range:  idx_orders_created_at, plain range predicates
+ * - product:        EXISTS probe on idx_order_items_product_order (a semi-join)
+ * - minimum total:  correlated SUM over the order's lines via idx_order_items_order_id,
+ *                   evaluated only for rows that passed the cheaper filters
+ * - country/state:  no index (low selectivity); filtered while walking
+ *                   created_at backwards, and the page limit stops the walk early
+ * - keyset:         "created_at <= x AND (created_at < x OR order_id < y)" - the
+ *                   first conjunct is an index range, unlike a row comparison
+ *
+ * Order: created_at DESC, order_id DESC (order_id breaks ties, so pages never
+ * overlap or skip rows). One extra row is fetched to tell whether there is
+ * a next page.
+ */
+final class OrderSearchQueryBuilder {
+
+    // One bit per criterion (the shape of a query)
+    static final int CUSTOMER = 1;
+    static final int STATUSES = 1 << 1;
+    static final int CREATED_FROM = 1 << 2;
+    static final int CREATED_BEFORE = 1 << 3;
+    static final int COUNTRY = 1 << 4;
+    static final int STATE = 1 << 5;
+    static final int MINIMUM_TOTAL = 1 << 6;
+    static final int PRODUCT = 1 << 7;
+    static final int AFTER = 1 << 8;
+
+    private static final String SELECT =
+            "SELECT o.orderId AS orderId, o.customerId AS customerId, o.status AS status, " +
+            "o.createdAt AS createdAt, o.shippedAt AS shippedAt, o.shippingAddress.country AS country " +
+            "FROM OrderEntity o";
+
+    private static final String ORDER_BY = " ORDER BY o.createdAt DESC, o.orderId DESC";
+
+    private final ConcurrentMap<Integer, String> jpqlByShape = new ConcurrentHashMap<>();
+
+    /**
+     * @return the JPQL for the criteria's shape (built on first use, then cached)
+     */
+    String jpql(OrderSearchCriteria criteria) {
+        return jpqlByShape.computeIfAbsent(shapeOf(criteria), OrderSearchQueryBuilder::build);
+    }
+
+    /**
+     * Binds the criteria's values and the page limit (page size + 1).
+     */
+    void bind(Query query, OrderSearchCriteria criteria) {
+        int shape = shapeOf(criteria);
+        if ((shape & CUSTOMER) != 0) {
+            query.setParameter("customerId", criteria.getCustomerId());
+        }
+        if ((shape & STATUSES) != 0) {
+            query.setParameter("statuses", criteria.getStatuses());
+        }
+        if ((shape & CREATED_FROM) != 0) {
+            query.setParameter("createdFrom", criteria.getCreatedFrom());
+        }
+        if ((shape & CREATED_BEFORE) != 0) {
+            query.setParameter("createdBefore", criteria.getCreatedBefore());
+        }
+        if ((shape & COUNTRY) != 0) {
+            query.setParameter("country", criteria.getCountry());
+        }
+        if ((shape & STATE) != 0) {
+            query.setParameter("state", criteria.getState());
+        }
+        if ((shape & MINIMUM_TOTAL) != 0) {
+            query.setParameter("currency", criteria.getMinimumTotal().getCurrencyCode());
+            query.setParameter("minimumTotal", criteria.getMinimumTotal().getAmount());
+        }
+        if ((shape & PRODUCT) != 0) {
+            query.setParameter("productId", criteria.getProductId());
+        }
+        if ((shape & AFTER) != 0) {
+            query.setParameter("afterCreatedAt", criteria.getAfterCreatedAt());
+            query.setParameter("afterOrderId", UUID.fromString(criteria.getAfterOrderId()));
+        }
+        query.setMaxResults(criteria.getPageSize() + 1);
+    }
+
+    /**
+     * @return number of distinct shapes built so far
+     */
+    int cachedShapes() {
+        return jpqlByShape.size();
+    }
+
+    static int shapeOf(OrderSearchCriteria criteria) {
+        int shape = 0;
+        if (criteria.getCustomerId() != null) shape |= CUSTOMER;
+        if (criteria.getStatuses() != null) shape |= STATUSES;
+        if (criteria.getCreatedFrom() != null) shape |= CREATED_FROM;
+        if (criteria.getCreatedBefore() != null) shape |= CREATED_BEFORE;
+        if (criteria.getCountry() != null) shape |= COUNTRY;
+        if (criteria.getState() != null) shape |= STATE;
+        if (criteria.getMinimumTotal() != null) shape |= MINIMUM_TOTAL;
+        if (criteria.getProductId() != null) shape |= PRODUCT;
+        if (criteria.getAfterOrderId() != null) shape |= AFTER;
+        return shape;
+    }
+
+    private static String build(int shape) {
+        List<String> predicates = new ArrayList<>();
+        if ((shape & CUSTOMER) != 0) {
+            predicates.add("o.customerId = :customerId");
+        }
+        if ((shape & STATUSES) != 0) {
+            predicates.add("o.status IN :statuses");
+        }
+        if ((shape & CREATED_FROM) != 0) {
+            predicates.add("o.createdAt >= :createdFrom");
+        }
+        if ((shape & CREATED_BEFORE) != 0) {
+            predicates.add("o.createdAt < :createdBefore");
+        }
+        if ((shape & AFTER) != 0) {
+            predicates.add("o.createdAt <= :afterCreatedAt " +
+                    "AND (o.createdAt < :afterCreatedAt OR o.orderId < :afterOrderId)");
+        }
+        if ((shape & COUNTRY) != 0) {
+            predicates.add("o.shippingAddress.country = :country");
+        }
+        if ((shape & STATE) != 0) {
+            predicates.add("o.shippingAddress.state = :state");
+        }
+        if ((shape & PRODUCT) != 0) {
+            predicates.add("EXISTS (SELECT 1 FROM OrderItemEntity p " +
+                    "WHERE p.productId = :productId AND p.orderId = o.orderId)");
+        }
+        if ((shape & MINIMUM_TOTAL) != 0) {
+            predicates.add("(SELECT SUM(t.unitPrice * t.quantity) FROM OrderItemEntity t " +
+                    "WHERE t.orderId = o.orderId AND t.currency = :currency) >= :minimumTotal");
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        return jpql.append(ORDER_BY).toString();
+    }
+}
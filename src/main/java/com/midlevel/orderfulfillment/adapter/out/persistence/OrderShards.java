@@ -0,0 +1,144 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.adapter.out.persistence.entity.OrderEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The persistence stack of additional shard databases: per database an
+ * EntityManagerFactory, a transaction manager and an OrderRepositoryAdapter -
+ * the same adapter as for the primary database, built by hand instead of by
+ * Spring's auto-configuration (which only sets up one database).
+ *
+ * Every shard gets the JPA settings of the primary database (ddl-auto,
+ * batching, mapping resources such as the status-code profile's), so all
+ * shards have the same schema and mapping.
+ *
+ * Per-shard meters share their names with the primary adapter's: mapping
+ * time adds up over all shards, orders.repository.coalesced is tagged with
+ * the shard. JDBC spans are only recorded for the primary data source,
+ * which is the only one Spring decorates.
+ *
+ * close() closes the entity manager factories and then the data sources.
+ */
+public final class OrderShards implements AutoCloseable {
+
+    private final Map<String, Object> jpaProperties;
+    private final List<String> mappingResources;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Tracer tracer;
+
+    private final Map<String, OrderRepositoryAdapter> adapters = new LinkedHashMap<>();
+    private final Map<String, JpaOrderRepository> jpaRepositories = new LinkedHashMap<>();
+    private final List<EntityManagerFactory> entityManagerFactories = new ArrayList<>();
+    private final List<DataSource> dataSources = new ArrayList<>();
+
+    /**
+     * @param jpaProperties Hibernate settings for every shard
+     * @param mappingResources JPA mapping files for every shard
+     */
+    public OrderShards(Map<String, Object> jpaProperties, List<String> mappingResources,
+                       MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher, Tracer tracer) {
+        this.jpaProperties = Map.copyOf(jpaProperties);
+        this.mappingResources = List.copyOf(mappingResources);
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Sets up a shard database (creating or updating its schema as ddl-auto says).
+     *
+     * @param name the shard name (persistence unit name)
+     * @param dataSource the shard's connection pool; closed by close() if it is AutoCloseable
+     * @return the shard's repository
+     */
+    public OrderRepositoryAdapter add(String name, DataSource dataSource) {
+        if (adapters.containsKey(name)) {
+            throw new IllegalArgumentException("Shard already added: " + name);
+        }
+        dataSources.add(dataSource);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setPersistenceUnitName(name);
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(OrderEntity.class.getPackageName());
+        factoryBean.setMappingResources(mappingResources.toArray(String[]::new));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        entityManagerFactories.add(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setDataSource(dataSource);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        // What Spring Data's repository factory bean adds: transactions (SimpleJpaRepository's
+        // @Transactional) and translation to Spring's DataAccessException hierarchy
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        repositoryFactory.addRepositoryProxyPostProcessor((proxy, repository) -> {
+            proxy.addAdvice(new PersistenceExceptionTranslationInterceptor(new HibernateJpaDialect()));
+            proxy.addAdvice(new TransactionInterceptor((TransactionManager) transactionManager,
+                    new AnnotationTransactionAttributeSource()));
+        });
+        JpaOrderRepository jpaOrderRepository = repositoryFactory.getRepository(JpaOrderRepository.class);
+
+        OrderRepositoryAdapter adapter = new OrderRepositoryAdapter(jpaOrderRepository,
+                new OrderItemChangeWriter(new JdbcTemplate(dataSource)), new OrderSearchQuery(entityManager),
+                new TransactionTemplate(transactionManager), meterRegistry, eventPublisher, tracer, name);
+        adapters.put(name, adapter);
+        jpaRepositories.put(name, jpaOrderRepository);
+        return adapter;
+    }
+
+    /**
+     * @return the shard repositories by name, in the order added
+     */
+    public Map<String, OrderRepositoryAdapter> adapters() {
+        return Collections.unmodifiableMap(adapters);
+    }
+
+    /**
+     * @return the shard's Spring Data repositories by name, in the order added
+     *         (for queries outside the port, e.g. OrderLifecycleEndpoint)
+     */
+    public Map<String, JpaOrderRepository> jpaRepositories() {
+        return Collections.unmodifiableMap(jpaRepositories);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (EntityManagerFactory entityManagerFactory : entityManagerFactories) {
+            entityManagerFactory.close();
+        }
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
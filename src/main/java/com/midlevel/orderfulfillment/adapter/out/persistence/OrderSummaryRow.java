@@ -0,0 +1,28 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of JpaOrderRepository.findSummariesByProductId():
+ * the orders columns of an order summary (no items).
+ *
+ * Spring Data projection - the getters map to the query's column aliases.
+ */
+public interface OrderSummaryRow {
+
+    UUID getOrderId();
+
+    String getCustomerId();
+
+    OrderStatus getStatus();
+
+    Instant getCreatedAt();
+
+    // null if not shipped
+    Instant getShippedAt();
+
+    String getCountry();
+}
@@ -0,0 +1,86 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers shared by the repository decorators in this package: waiting for
+ * a future, naming their daemon threads, and matching loaded orders back to
+ * the requested IDs.
+ */
+final class RepositorySupport {
+
+    private RepositorySupport() {
+    }
+
+    /**
+     * Waits for the future.
+     *
+     * @return its value; rethrows its failure unchanged (not wrapped in a CompletionException)
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param namePrefix thread name prefix; threads are named prefix1, prefix2, ...
+     * @return a factory of daemon threads (they don't keep the JVM alive)
+     */
+    static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Loaded orders by ID, handed out one instance per request: an ID
+     * requested twice was loaded twice. IDs match case-insensitively -
+     * findById("ABC...") finds the order "abc...".
+     */
+    static final class OrdersById {
+
+        private final Map<String, Deque<Order>> byId = new HashMap<>();
+
+        OrdersById(Collection<Order> orders) {
+            for (Order order : orders) {
+                byId.computeIfAbsent(key(order.getOrderId()), id -> new ArrayDeque<>()).add(order);
+            }
+        }
+
+        /**
+         * @return the next instance loaded for the ID, empty if there is none (left)
+         */
+        Optional<Order> take(String orderId) {
+            Deque<Order> found = orderId == null ? null : byId.get(key(orderId));
+            return Optional.ofNullable(found == null ? null : found.poll());
+        }
+
+        private static String key(String orderId) {
+            return orderId.toLowerCase(Locale.ROOT);
+        }
+    }
+}
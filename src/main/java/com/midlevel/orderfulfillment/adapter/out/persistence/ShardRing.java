@@ -0,0 +1,92 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.OrderIds;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Consistent hashing of customer slots (see OrderIds) onto named shards.
+ *
+ * Every shard is placed on a hash ring at VIRTUAL_NODES points, derived
+ * from its name; a slot belongs to the first shard point at or after the
+ * slot's own point. Since only names are hashed:
+ * - every instance of the application computes the same mapping
+ * - adding a shard takes roughly 1/N of the slots from the others and
+ *   leaves every other slot where it was - only those orders move
+ * - the order of the configured shards doesn't matter, but renaming one
+ *   moves its slots
+ *
+ * The mapping of all OrderIds.SLOTS slots is computed once, so routing is
+ * an array lookup.
+ */
+public final class ShardRing {
+
+    // Points per shard: more points, more even shares (about +-10% at 128)
+    private static final int VIRTUAL_NODES = 128;
+
+    private final List<String> shards;
+    private final int[] shardBySlot = new int[OrderIds.SLOTS];
+
+    /**
+     * @param shards the shard names (unique)
+     */
+    public ShardRing(List<String> shards) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Shards cannot be null or empty");
+        }
+        if (shards.stream().anyMatch(Objects::isNull) || new HashSet<>(shards).size() != shards.size()) {
+            throw new IllegalArgumentException("Shard names must be unique and not null: " + shards);
+        }
+        this.shards = List.copyOf(shards);
+
+        TreeMap<Integer, Integer> ring = new TreeMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                int point = mix((shards.get(shard) + "#" + node).hashCode());
+                // Two shards on one point (rare): the smaller name wins, whatever the configured order
+                Integer taken = ring.get(point);
+                if (taken == null || shards.get(shard).compareTo(shards.get(taken)) < 0) {
+                    ring.put(point, shard);
+                }
+            }
+        }
+        for (int slot = 0; slot < OrderIds.SLOTS; slot++) {
+            Map.Entry<Integer, Integer> owner = ring.ceilingEntry(mix(slot));
+            shardBySlot[slot] = (owner != null ? owner : ring.firstEntry()).getValue();
+        }
+    }
+
+    /**
+     * @return the shard names, in the order given
+     */
+    public List<String> shards() {
+        return shards;
+    }
+
+    /**
+     * @param slot a customer slot (OrderIds.customerSlot / slotOf)
+     * @return index (into shards()) of the shard that owns the slot
+     */
+    public int shardOf(int slot) {
+        if (slot < 0 || slot >= OrderIds.SLOTS) {
+            throw new IllegalArgumentException("Slot out of range: " + slot);
+        }
+        return shardBySlot[slot];
+    }
+
+    /**
+     * Murmur3 finalizer - spreads names and slot numbers evenly over the ring.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,343 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderIds;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * OrderRepository over several databases (shards), each with an
+ * OrderRepository of its own. Orders are distributed by customer.
+ *
+ * Routing:
+ * - A customer's orders all live on one shard: the owner (ShardRing) of the
+ *   customer's slot, OrderIds.customerSlot(customerId)
+ * - Order IDs carry that slot (Order.create uses OrderIds.nextFor), so
+ *   findById(), existsById() and deleteById() go straight to the right shard
+ *   without a lookup table
+ * - findByCustomerId() and searches for one customer ask one shard
+ * - Everything else - findAll(), status queries, counts, product and search
+ *   queries across customers - is scatter-gather: every shard is asked in
+ *   parallel (the calling thread asks one of them itself), and the results
+ *   are merged. A failing shard fails the whole call - no partial results.
+ *
+ * Merging keeps each query's order: findByProductId() and search() results
+ * are newest first across all shards, and a search page is the newest
+ * pageSize orders of all shards after the keyset position (every shard
+ * returns at most one page, so a page never reads more than shards x pageSize rows).
+ *
+ * saveAll() runs one transaction per shard involved: all or none on each
+ * shard, but not across shards.
+ *
+ * Orders created before their IDs carried a slot (random slot bits) are
+ * only found by ID if they were placed by slotOf(orderId) - move existing
+ * data accordingly before adding shards. Adding a shard later moves about
+ * 1/N of the slots (see ShardRing); their orders have to be copied over.
+ *
+ * close() shuts the scatter executor down, then closes the shard
+ * repositories that are AutoCloseable (e.g. a WriteBehindOrderRepository,
+ * which saves its queued orders first).
+ */
+public class ShardedOrderRepository implements OrderRepository, AutoCloseable {
+
+    // Newest first, like the queries themselves (ties by ID, as text - PostgreSQL's uuid order)
+    private static final Comparator<OrderSummary> NEWEST_FIRST = Comparator
+            .comparing(OrderSummary::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(OrderSummary::getOrderId, Comparator.reverseOrder());
+
+    private final List<OrderRepository> shards;
+    private final ShardRing ring;
+    private final ExecutorService executor;
+
+    /**
+     * @param shards the shard repositories by shard name (names are hashed onto the ring)
+     * @param executor runs the scatter queries (see scatterExecutor); owned by this repository
+     */
+    public ShardedOrderRepository(Map<String, ? extends OrderRepository> shards, ExecutorService executor) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Shards cannot be null or empty");
+        }
+        if (shards.values().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Shard repository cannot be null: " + shards.keySet());
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.ring = new ShardRing(List.copyOf(shards.keySet()));
+        this.shards = List.copyOf(shards.values());
+        this.executor = executor;
+    }
+
+    /**
+     * Creates the executor for scatter queries: daemon threads named
+     * order-repository-shard-N. When all threads and the queue are busy, the
+     * caller queries the shard itself instead of being rejected.
+     *
+     * @param threads scatter threads (each holds a connection of one shard while it queries)
+     */
+    public static ThreadPoolExecutor scatterExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threads * 4),
+                RepositorySupport.daemonThreads("order-repository-shard-"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @return the shard names, in configured order
+     */
+    public List<String> shardNames() {
+        return ring.shards();
+    }
+
+    /**
+     * @return name of the shard that holds the customer's orders
+     */
+    public String shardOf(String customerId) {
+        return ring.shards().get(shardIndexOf(customerId));
+    }
+
+    private int shardIndexOf(String customerId) {
+        return ring.shardOf(OrderIds.customerSlot(customerId));
+    }
+
+    /**
+     * Shard of an order ID; empty for strings that aren't UUIDs (no such order can exist).
+     */
+    private Optional<Integer> shardIndexOfOrder(String orderId) {
+        if (orderId == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(ring.shardOf(OrderIds.slotOf(UUID.fromString(orderId))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Order save(Order order) {
+        return shards.get(shardIndexOf(order.getCustomerId())).save(order);
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            positionsByShard.computeIfAbsent(shardIndexOf(orders.get(i).getCustomerId()), shard -> new ArrayList<>())
+                    .add(i);
+        }
+        if (positionsByShard.size() <= 1) {
+            return positionsByShard.isEmpty() ? List.of()
+                    : shards.get(positionsByShard.keySet().iterator().next()).saveAll(orders);
+        }
+
+        // One transaction per shard, in parallel; results back at their positions
+        Map<Integer, List<Order>> savedByShard = scatter(positionsByShard.keySet(), (shard, repository) ->
+                repository.saveAll(positionsByShard.get(shard).stream().map(orders::get).toList()));
+        Order[] saved = new Order[orders.size()];
+        positionsByShard.forEach((shard, positions) -> {
+            List<Order> shardSaved = savedByShard.get(shard);
+            for (int i = 0; i < positions.size(); i++) {
+                saved[positions.get(i)] = shardSaved.get(i);
+            }
+        });
+        return List.of(saved);
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        return shardIndexOfOrder(orderId).flatMap(shard -> shards.get(shard).findById(orderId));
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<String> orderIds) {
+        Map<Integer, List<String>> idsByShard = new LinkedHashMap<>();
+        for (String orderId : orderIds) {
+            shardIndexOfOrder(orderId).ifPresent(shard ->
+                    idsByShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(orderId));
+        }
+        if (idsByShard.size() <= 1) {
+            return idsByShard.isEmpty() ? List.of()
+                    : shards.get(idsByShard.keySet().iterator().next()).findAllById(orderIds);
+        }
+
+        // Back in the caller's order. An ID given twice comes back twice from its
+        // shard; hand the instances out one per occurrence (keyed case-insensitively)
+        Map<Integer, List<Order>> foundByShard =
+                scatter(idsByShard.keySet(), (shard, repository) -> repository.findAllById(idsByShard.get(shard)));
+        RepositorySupport.OrdersById byId = new RepositorySupport.OrdersById(concat(List.copyOf(foundByShard.values())));
+        List<Order> result = new ArrayList<>();
+        for (String orderId : orderIds) {
+            byId.take(orderId).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return shards.get(shardIndexOf(customerId)).findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return concat(scatterAll(repository -> repository.findByStatus(status)));
+    }
+
+    @Override
+    public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        return concat(scatterAll(repository -> repository.findByStatusIn(statuses)));
+    }
+
+    @Override
+    public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        return scatterAll(repository -> repository.countByStatusIn(statuses)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                              EnumSet<OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        List<OrderSummary> summaries = concat(scatterAll(
+                repository -> repository.findByProductId(productId, from, to, statuses)));
+        // Each shard's list is already sorted; List.sort (TimSort) merges such runs in O(n log shards)
+        summaries.sort(Comparator.comparing(OrderSummary::getCreatedAt, Comparator.reverseOrder()));
+        return summaries;
+    }
+
+    @Override
+    public OrderSearchResult search(OrderSearchCriteria criteria) {
+        if (criteria.getCustomerId() != null) {
+            return shards.get(shardIndexOf(criteria.getCustomerId())).search(criteria);
+        }
+        if (criteria.matchesNothing()) {
+            return new OrderSearchResult(criteria, List.of(), false);
+        }
+
+        // Every shard's first page after the same keyset position; the newest
+        // pageSize of them are the page. More follow if any shard had more,
+        // or if the shards' pages together were longer than one page.
+        List<OrderSearchResult> pages = scatterAll(repository -> repository.search(criteria));
+        List<OrderSummary> merged = concat(pages.stream().map(OrderSearchResult::getOrders).toList());
+        merged.sort(NEWEST_FIRST);
+        int pageSize = criteria.getPageSize();
+        boolean hasMore = merged.size() > pageSize || pages.stream().anyMatch(OrderSearchResult::hasMore);
+        return new OrderSearchResult(criteria, merged.subList(0, Math.min(pageSize, merged.size())), hasMore);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return concat(scatterAll(OrderRepository::findAll));
+    }
+
+    @Override
+    public void deleteById(String orderId) {
+        shardIndexOfOrder(orderId).ifPresent(shard -> shards.get(shard).deleteById(orderId));
+    }
+
+    @Override
+    public boolean existsById(String orderId) {
+        return shardIndexOfOrder(orderId)
+                .map(shard -> shards.get(shard).existsById(orderId))
+                .orElse(false);
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.shutdown();
+        for (OrderRepository shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Asks every shard, in parallel.
+     *
+     * @return the shards' results, in shard order
+     */
+    private <T> List<T> scatterAll(Function<OrderRepository, T> query) {
+        List<Integer> all = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            all.add(shard);
+        }
+        Map<Integer, T> results = scatter(all, (shard, repository) -> query.apply(repository));
+        return all.stream().map(results::get).toList();
+    }
+
+    /**
+     * Runs the call for each of the given shards in parallel - the last one
+     * on the calling thread, which would otherwise just wait - and waits for
+     * all of them.
+     *
+     * @return each shard's result by shard index
+     * @throws RuntimeException the first failure (in shard order), unchanged
+     */
+    private <T> Map<Integer, T> scatter(Collection<Integer> shardIndexes, ShardCall<T> call) {
+        List<Integer> indexes = List.copyOf(shardIndexes);
+        Map<Integer, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (Integer shard : indexes.subList(0, indexes.size() - 1)) {
+            futures.put(shard, CompletableFuture.supplyAsync(() -> call.apply(shard, shards.get(shard)), executor));
+        }
+        Integer local = indexes.get(indexes.size() - 1);
+        CompletableFuture<T> localResult;
+        try {
+            localResult = CompletableFuture.completedFuture(call.apply(local, shards.get(local)));
+        } catch (RuntimeException | Error e) {
+            localResult = CompletableFuture.failedFuture(e);
+        }
+        futures.put(local, localResult);
+
+        Map<Integer, T> results = new HashMap<>();
+        for (Integer shard : indexes) {
+            results.put(shard, RepositorySupport.await(futures.get(shard)));
+        }
+        return results;
+    }
+
+    private static <T> List<T> concat(List<List<T>> lists) {
+        return lists.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * A call against one shard, given its index and repository.
+     */
+    @FunctionalInterface
+    private interface ShardCall<T> {
+        T apply(int shard, OrderRepository repository);
+    }
+}
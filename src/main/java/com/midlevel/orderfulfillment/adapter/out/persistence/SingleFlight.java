@@ -0,0 +1,82 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Request de-duplication ("single flight"): concurrent loads of the same key
+ * share one in-flight load.
+ *
+ * The first caller for a key runs the loader on its own thread; callers that
+ * ask for the same key while it runs wait for that load and get its result
+ * (or its exception) instead of loading again. Once the load finishes the key
+ * is free again - nothing is cached, so a later call always loads anew.
+ *
+ * The result is shared between callers, so it must be safe to share: an
+ * immutable value or a detached entity that each caller maps on its own, not
+ * a mutable aggregate.
+ *
+ * Counts loads and coalesced calls (cheap LongAdders; OrderRepositoryAdapter
+ * publishes them as meters). No Spring or Micrometer dependency, so the
+ * benchmarks module can use it on its own.
+ *
+ * @param <K> key type (with proper equals/hashCode)
+ * @param <V> loaded value type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Loads the key, or waits for the load already in flight for it.
+     *
+     * @return the loaded value (the same instance for every caller of one flight)
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return RepositorySupport.await(running);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Lets later callers start a new load instead of joining the one in flight,
+     * e.g. after the key's data was written (its result could predate the write).
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * @return loads run so far
+     */
+    public long loads() {
+        return loads.sum();
+    }
+
+    /**
+     * @return calls so far that shared another call's load
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+}
@@ -0,0 +1,354 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind decorator for any OrderRepository: new orders are queued and
+ * saved in groups, one transaction - one commit - per group (group commit).
+ *
+ * DECORATOR PATTERN:
+ * - Implements the same port as the repository it wraps
+ * - save() of a new order goes through the queue; every other method
+ *   (including save() of a stored order) is passed through
+ *
+ * How a group forms:
+ * - One writer thread takes the oldest queued order, then keeps taking
+ *   orders until it has maxBatchSize of them or the oldest one has waited
+ *   maxDelay, whichever comes first
+ * - It saves the group with one saveAll() of the delegate
+ * - Only after that transaction has committed does every order's future
+ *   complete - save() returns a durably stored order, as before
+ *
+ * Why: every commit waits for PostgreSQL to flush its WAL to disk. Under a
+ * burst of order placements, 100 commits become one - the saves still
+ * insert their rows, but share the flush.
+ *
+ * Trade-off: a lone save() is up to maxDelay slower, so
+ * OrderRepositoryConfiguration only adds this when it is enabled.
+ *
+ * Failures: if a group's transaction fails, its orders are saved again one
+ * by one, so one bad order (e.g. a duplicate ID) only fails its own caller.
+ * A full queue rejects new orders at once (RejectedExecutionException)
+ * instead of letting callers pile up.
+ *
+ * The writer thread runs the delegate's saveAll(), so domain events of
+ * queued orders are published on that thread, not the caller's.
+ *
+ * close() stops accepting orders and waits for the queued ones to be saved.
+ */
+public class WriteBehindOrderRepository implements OrderRepository, AutoCloseable {
+
+    // How long the idle writer waits before checking whether it was closed
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final OrderRepository delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingSave> queue;
+    private final Thread writer;
+
+    private final Object lock = new Object();
+
+    // Set once by close(), guarded by lock (read without it by the writer)
+    private volatile boolean closed;
+
+    // Whether the writer is blocked waiting for orders, guarded by lock:
+    // close() only interrupts the writer then, never during a saveAll()
+    private boolean waiting;
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder ordersWritten = new LongAdder();
+
+    /**
+     * @param delegate the repository that saves the groups
+     * @param maxBatchSize orders after which a group is saved without waiting
+     * @param maxDelay how long the oldest order of a group may wait for more
+     * @param queueCapacity orders that may wait for the writer
+     */
+    public WriteBehindOrderRepository(OrderRepository delegate, int maxBatchSize, Duration maxDelay,
+                                      int queueCapacity) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate repository cannot be null");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        if (maxDelay == null || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Max delay cannot be negative: " + maxDelay);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::writeGroups, "order-repository-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Saves a new order with the next group and waits for its commit;
+     * a stored order is saved directly.
+     */
+    @Override
+    public Order save(Order order) {
+        if (!order.isNew()) {
+            return delegate.save(order);
+        }
+        return RepositorySupport.await(submit(order));
+    }
+
+    /**
+     * Queues an order for the next group.
+     *
+     * The order must not be changed until the future completes.
+     *
+     * @return completes with the saved order once its group has committed;
+     *         fails with RejectedExecutionException if the queue is full or closed
+     */
+    public CompletableFuture<Order> submit(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+        PendingSave pending = new PendingSave(order);
+        synchronized (lock) {
+            if (closed) {
+                pending.result.completeExceptionally(new RejectedExecutionException("Write-behind queue is closed"));
+            } else if (!queue.offer(pending)) {
+                pending.result.completeExceptionally(new RejectedExecutionException(
+                        "Write-behind queue is full (" + (queue.size() + queue.remainingCapacity()) + " orders)"));
+            }
+        }
+        return pending.result;
+    }
+
+    /**
+     * @return orders waiting for the writer
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    /**
+     * @return groups saved so far (committed transactions)
+     */
+    public long commits() {
+        return commits.sum();
+    }
+
+    /**
+     * @return orders saved so far; divided by commits(), the average group size
+     */
+    public long ordersWritten() {
+        return ordersWritten.sum();
+    }
+
+    /**
+     * Stops accepting orders and waits until the queued ones are saved.
+     * A writer waiting for more orders is woken, so the last group is saved
+     * at once instead of after max-delay.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            if (waiting) {
+                writer.interrupt();
+            }
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The writer thread: forms and saves groups until closed and drained.
+     * Once closed is set, no order can be queued any more (see submit), so an
+     * empty queue then stays empty.
+     */
+    private void writeGroups() {
+        List<PendingSave> group = new ArrayList<>(maxBatchSize);
+        while (true) {
+            PendingSave oldest = poll(TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS));
+            if (oldest == null) {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            group.add(oldest);
+            fill(group, oldest.queuedAt + maxDelayNanos);
+            write(group);
+            group.clear();
+        }
+    }
+
+    /**
+     * Adds queued orders to the group until it is full or the deadline has
+     * passed (a closing repository doesn't wait for more).
+     */
+    private void fill(List<PendingSave> group, long deadline) {
+        while (true) {
+            queue.drainTo(group, maxBatchSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatchSize || remaining <= 0 || closed) {
+                return;
+            }
+            PendingSave next = poll(remaining);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    /**
+     * Waits up to the timeout for a queued order.
+     *
+     * @return the order, or null on timeout or when close() woke the writer
+     *         (once closed, only an order already queued is returned)
+     */
+    private PendingSave poll(long timeoutNanos) {
+        synchronized (lock) {
+            if (closed) {
+                return queue.poll();
+            }
+            waiting = true;
+        }
+        try {
+            return queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            return null;
+        } finally {
+            synchronized (lock) {
+                waiting = false;
+                // Clear a wake-up from close() that raced with a returning poll,
+                // so it can't interrupt the next saveAll()
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Saves a group in one transaction and completes its futures; if that
+     * fails, saves a larger group's orders one by one.
+     */
+    private void write(List<PendingSave> group) {
+        List<Order> saved;
+        try {
+            saved = delegate.saveAll(group.stream().map(pending -> pending.order).toList());
+        } catch (RuntimeException | Error e) {
+            if (group.size() == 1) {
+                group.get(0).result.completeExceptionally(e);
+            } else {
+                // Nothing of the group was saved - find the order(s) that can't be
+                for (PendingSave pending : group) {
+                    write(List.of(pending));
+                }
+            }
+            return;
+        }
+        commits.increment();
+        ordersWritten.add(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result.complete(saved.get(i));
+        }
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        return delegate.saveAll(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<String> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+        return delegate.findByStatusIn(statuses);
+    }
+
+    @Override
+    public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+        return delegate.countByStatusIn(statuses);
+    }
+
+    @Override
+    public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                              EnumSet<OrderStatus> statuses) {
+        return delegate.findByProductId(productId, from, to, statuses);
+    }
+
+    @Override
+    public OrderSearchResult search(OrderSearchCriteria criteria) {
+        return delegate.search(criteria);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void deleteById(String orderId) {
+        delegate.deleteById(orderId);
+    }
+
+    @Override
+    public boolean existsById(String orderId) {
+        return delegate.existsById(orderId);
+    }
+
+    /**
+     * One queued order and its caller's future.
+     */
+    private static final class PendingSave {
+        private final Order order;
+        private final long queuedAt = System.nanoTime();
+        private final CompletableFuture<Order> result = new CompletableFuture<>();
+
+        private PendingSave(Order order) {
+            this.order = order;
+        }
+    }
+}
@@ -51,9 +51,10 @@ public class AddressEmbeddable {
     
     /**
      * Converts this embeddable to domain Address.
+     * Equal addresses are interned, so repeat customers share one instance.
      */
     public Address toDomain() {
-        return Address.of(street, city, state, zipCode, country);
+        return ReadPathInterning.ADDRESSES.intern(Address.of(street, city, state, zipCode, country));
     }
     
     /**
@@ -64,7 +65,7 @@ public class AddressEmbeddable {
                 address.getStreet(),
                 address.getCity(),
                 address.getState(),
-                address.getZipCode(),
+                address.getPostalCode(),
                 address.getCountry()
         );
     }
@@ -0,0 +1,102 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.entity;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, weak-reference interning pool for immutable values.
+ * 
+ * PURPOSE:
+ * Orders loaded from the database get fresh copies of values that repeat
+ * constantly (the same shipping address for a repeat customer, the same
+ * product names across millions of items). Interning returns one shared
+ * instance for equal values, so a large working set keeps only one copy.
+ * 
+ * DESIGN:
+ * - Fixed number of slots (power of two): memory use is bounded no matter
+ *   how many distinct values pass through
+ * - Each value hashes to two candidate slots; a miss overwrites one of them,
+ *   so the pool behaves like a small lossy cache (no eviction bookkeeping)
+ * - Slots hold WeakReferences: the pool never keeps a value alive on its own,
+ *   values disappear once no loaded order uses them
+ * - Lock-free: slot reads/writes are plain atomic array operations. A race can
+ *   at worst produce a duplicate copy, never a wrong value
+ * 
+ * Only use this for immutable value types with proper equals/hashCode
+ * (String, Address, ...).
+ * 
+ * @param <T> the value type
+ */
+public final class InternPool<T> {
+    
+    private final AtomicReferenceArray<WeakReference<T>> slots;
+    private final int mask;
+    
+    /**
+     * Creates a pool with at least the given number of slots.
+     * 
+     * @param capacity number of slots (rounded up to a power of two)
+     */
+    public InternPool(int capacity) {
+        if (capacity <= 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 1: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+    
+    /**
+     * Returns the pooled instance equal to the given value,
+     * or pools and returns the value itself if none is present.
+     * 
+     * @param value the value to intern (may be null)
+     * @return a canonical instance equal to value, or null if value is null
+     */
+    public T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        
+        // Spread the hash so values with similar hash codes don't cluster
+        int hash = value.hashCode();
+        hash ^= (hash >>> 16);
+        int first = hash & mask;
+        int second = (first + 1) & mask;
+        
+        T pooled = lookup(first, value);
+        if (pooled != null) {
+            return pooled;
+        }
+        pooled = lookup(second, value);
+        if (pooled != null) {
+            return pooled;
+        }
+        
+        // Miss: prefer an empty or cleared slot, otherwise replace the first candidate
+        int target = isFree(first) || !isFree(second) ? first : second;
+        slots.set(target, new WeakReference<>(value));
+        return value;
+    }
+    
+    /**
+     * @return the number of slots in this pool
+     */
+    public int capacity() {
+        return slots.length();
+    }
+    
+    private T lookup(int index, T value) {
+        WeakReference<T> ref = slots.get(index);
+        if (ref == null) {
+            return null;
+        }
+        T candidate = ref.get();
+        return candidate != null && candidate.equals(value) ? candidate : null;
+    }
+    
+    private boolean isFree(int index) {
+        WeakReference<T> ref = slots.get(index);
+        return ref == null || ref.get() == null;
+    }
+}
@@ -2,10 +2,14 @@ package com.midlevel.orderfulfillment.adapter.out.persistence.entity;
 
 import com.midlevel.orderfulfillment.domain.model.*;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Persistable;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -22,14 +26,31 @@ import java.util.stream.Collectors;
  * 
  * This entity is in the "adapter" layer - it adapts between:
  * - Domain Model (Order.java) <-> Database (PostgreSQL table)
+ * 
+ * Every JpaOrderRepository query is backed by one of the indexes below;
+ * JpaOrderRepositoryQueryPlanTest fails if a query stops using them.
+ * Existing databases: db/migration/V4__query_indexes.sql
+ * 
+ * Persistable: the order ID is assigned by the domain, so Spring Data can't
+ * tell a new order from its ID and would merge it (a SELECT before the
+ * INSERT). The entity says whether it is new instead (see isNew).
  */
 @Entity
-@Table(name = "orders")
-public class OrderEntity {
+@Table(name = "orders", indexes = {
+        // findByCustomerId, findRecentOrdersByCustomer (newest first, no sort), existsByCustomerId
+        @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at"),
+        // findByStatus / countByStatus for the few active orders (most orders are SHIPPED)
+        @Index(name = "idx_orders_status", columnList = "status"),
+        // summarizeLifecycleLatencies (recent orders only)
+        @Index(name = "idx_orders_created_at", columnList = "created_at")
+})
+public class OrderEntity implements Persistable<UUID> {
     
+    // Stored as native PostgreSQL uuid (16 bytes) instead of VARCHAR text.
+    // Order IDs are time-ordered (see OrderIds), so inserts append to the index.
     @Id
-    @Column(name = "order_id", nullable = false, length = 50)
-    private String orderId;
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
     
     @Column(name = "customer_id", nullable = false, length = 50)
     private String customerId;
@@ -54,11 +75,16 @@ public class OrderEntity {
     // One-to-Many relationship with OrderItems
     // CascadeType.ALL: Operations on Order cascade to OrderItems
     // orphanRemoval: If an item is removed from list, it's deleted from DB
-    // FetchType.EAGER: Load items immediately with order (acceptable for small lists)
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // FetchType.LAZY: loading an order reads only its orders row; the domain Order
+    // loads its items through JpaOrderRepository.findItemsByOrderIdIn when first needed
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private List<OrderItemEntity> items = new ArrayList<>();
     
+    // Not stored: true for an entity made from a new domain Order, until it is persisted
+    @Transient
+    private boolean newOrder;
+    
     /**
      * JPA requires a no-arg constructor.
      * Protected to prevent direct instantiation outside of JPA and this package.
@@ -70,7 +96,7 @@ public class OrderEntity {
      * Constructor for creating new OrderEntity from domain Order.
      * This is used when persisting a domain Order for the first time.
      */
-    public OrderEntity(String orderId, String customerId, Instant createdAt,
+    public OrderEntity(UUID orderId, String customerId, Instant createdAt,
                        OrderStatus status, AddressEmbeddable shippingAddress,
                        List<OrderItemEntity> items) {
         this.orderId = orderId;
@@ -85,52 +111,29 @@ public class OrderEntity {
      * Converts this JPA entity to a domain Order.
      * This is the boundary between infrastructure and domain.
      * 
+     * Items already in memory (e.g. right after a save) are converted now;
+     * otherwise the order gets the loader and reads its items on first access.
+     * The entity's lazy collection itself is never touched outside the session.
+     * 
+     * @param itemLoader loads this order's items (used only if they aren't loaded)
      * @return domain Order object
      */
-    public Order toDomain() {
-        // Convert items from entities to domain OrderItems
-        List<OrderItem> domainItems = items.stream()
-                .map(OrderItemEntity::toDomain)
-                .collect(Collectors.toList());
-        
+    public Order toDomain(Supplier<List<OrderItem>> itemLoader) {
         // Convert embedded address to domain Address
         Address domainAddress = shippingAddress.toDomain();
         
-        // Create domain Order using factory method
-        Order order = Order.create(customerId, domainItems, domainAddress);
-        
-        // Use reflection to set the internal state since Order doesn't expose setters
-        // In a real application, you might add a package-private constructor or
-        // reconstitution method in Order to avoid reflection
-        try {
-            java.lang.reflect.Field orderIdField = Order.class.getDeclaredField("orderId");
-            orderIdField.setAccessible(true);
-            orderIdField.set(order, this.orderId);
-            
-            java.lang.reflect.Field statusField = Order.class.getDeclaredField("status");
-            statusField.setAccessible(true);
-            statusField.set(order, this.status);
-            
-            java.lang.reflect.Field createdAtField = Order.class.getDeclaredField("createdAt");
-            createdAtField.setAccessible(true);
-            createdAtField.set(order, this.createdAt);
+        if (Hibernate.isInitialized(items)) {
+            // Convert items from entities to domain OrderItems
+            List<OrderItem> domainItems = items.stream()
+                    .map(OrderItemEntity::toDomain)
+                    .collect(Collectors.toList());
             
-            if (this.paidAt != null) {
-                java.lang.reflect.Field paidAtField = Order.class.getDeclaredField("paidAt");
-                paidAtField.setAccessible(true);
-                paidAtField.set(order, this.paidAt);
-            }
-            
-            if (this.shippedAt != null) {
-                java.lang.reflect.Field shippedAtField = Order.class.getDeclaredField("shippedAt");
-                shippedAtField.setAccessible(true);
-                shippedAtField.set(order, this.shippedAt);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to reconstitute domain Order from entity", e);
+            // Rebuild the stored order (keeps its ID, status and timestamps)
+            return Order.reconstitute(orderId.toString(), customerId, domainItems, domainAddress,
+                    status, createdAt, paidAt, shippedAt);
         }
-        
-        return order;
+        return Order.reconstitute(orderId.toString(), customerId, itemLoader, domainAddress,
+                status, createdAt, paidAt, shippedAt);
     }
     
     /**
@@ -151,7 +154,7 @@ public class OrderEntity {
         
         // Create entity
         OrderEntity entity = new OrderEntity(
-                order.getOrderId(),
+                UUID.fromString(order.getOrderId()),
                 order.getCustomerId(),
                 order.getCreatedAt(),
                 order.getStatus(),
@@ -161,17 +164,42 @@ public class OrderEntity {
         
         entity.paidAt = order.getPaidAt();
         entity.shippedAt = order.getShippedAt();
+        entity.newOrder = order.isNew();
         
         return entity;
     }
     
+    /**
+     * @return the order ID (Persistable)
+     */
+    @Override
+    public UUID getId() {
+        return orderId;
+    }
+    
+    /**
+     * Tells Spring Data's save() to persist (plain INSERT) rather than merge:
+     * true only for an entity made from a new domain Order that hasn't been
+     * persisted yet. Loaded entities are never new.
+     */
+    @Override
+    public boolean isNew() {
+        return newOrder;
+    }
+    
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        newOrder = false;
+    }
+    
     // Getters and setters (required by JPA)
     
-    public String getOrderId() {
+    public UUID getOrderId() {
         return orderId;
     }
     
-    public void setOrderId(String orderId) {
+    public void setOrderId(UUID orderId) {
         this.orderId = orderId;
     }
     
@@ -4,6 +4,7 @@ import com.midlevel.orderfulfillment.domain.model.Money;
 import com.midlevel.orderfulfillment.domain.model.OrderItem;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.util.UUID;
 
 /**
  * JPA Entity for OrderItem.
@@ -12,7 +13,13 @@ import java.math.BigDecimal;
  * for normalization. However, it has no identity outside of its Order.
  */
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        // Loading an order's items (PostgreSQL doesn't index foreign keys by itself)
+        @Index(name = "idx_order_items_order_id", columnList = "order_id"),
+        // Orders containing a product (findSummariesByProductId) - order_id included, so
+        // the semi-join reads only the index
+        @Index(name = "idx_order_items_product_order", columnList = "product_id, order_id")
+})
 public class OrderItemEntity {
     
     // Surrogate key for JPA (not exposed in domain)
@@ -20,9 +27,10 @@ public class OrderItemEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    // Foreign key to orders table (managed by JPA relationship in OrderEntity)
-    @Column(name = "order_id", nullable = false, length = 50)
-    private String orderId;
+    // Foreign key to orders table (managed by JPA relationship in OrderEntity,
+    // so this mapping is read-only)
+    @Column(name = "order_id", insertable = false, updatable = false)
+    private UUID orderId;
     
     @Column(name = "product_id", nullable = false, length = 50)
     private String productId;
@@ -59,10 +67,17 @@ public class OrderItemEntity {
     
     /**
      * Converts this entity to domain OrderItem.
+     * Product id and name strings are interned, since the same products
+     * appear in a very large number of order items.
      */
     public OrderItem toDomain() {
         Money price = Money.of(unitPrice, currency);
-        return OrderItem.of(productId, productName, price, quantity);
+        return OrderItem.of(
+                ReadPathInterning.PRODUCT_IDS.intern(productId),
+                ReadPathInterning.PRODUCT_NAMES.intern(productName),
+                price,
+                quantity
+        );
     }
     
     /**
@@ -88,11 +103,11 @@ public class OrderItemEntity {
         this.id = id;
     }
     
-    public String getOrderId() {
+    public UUID getOrderId() {
         return orderId;
     }
     
-    public void setOrderId(String orderId) {
+    public void setOrderId(UUID orderId) {
         this.orderId = orderId;
     }
     
@@ -0,0 +1,30 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.entity;
+
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * JPA converter that stores OrderStatus as its compact numeric code (smallint)
+ * instead of the enum name.
+ * 
+ * Not applied by default (OrderEntity uses @Enumerated(EnumType.STRING)).
+ * It is switched on by the "status-code" profile, which loads
+ * META-INF/orm-status-code.xml to override the status mapping.
+ * 
+ * Uses OrderStatus.getCode() rather than ordinal(), so reordering the enum
+ * constants can never change what is stored.
+ */
+@Converter
+public class OrderStatusCodeConverter implements AttributeConverter<OrderStatus, Short> {
+    
+    @Override
+    public Short convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.getCode();
+    }
+    
+    @Override
+    public OrderStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : OrderStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,28 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.entity;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+
+/**
+ * Interning pools shared by the entity-to-domain conversions (the read path).
+ * 
+ * Every toDomain() call builds new domain objects from freshly materialized
+ * column values. Repeat customers ship to the same Address, and the same
+ * product ids and names show up in huge numbers of OrderItems, so the
+ * conversions pass those values through these pools to share one instance.
+ * 
+ * Pool sizes bound the memory the pools themselves use; values are only
+ * weakly referenced (see InternPool).
+ */
+final class ReadPathInterning {
+    
+    // Distinct shipping addresses expected to be "hot" at the same time
+    static final InternPool<Address> ADDRESSES = new InternPool<>(1 << 16);
+    
+    // Product catalog sized pools for OrderItem strings
+    static final InternPool<String> PRODUCT_IDS = new InternPool<>(1 << 15);
+    static final InternPool<String> PRODUCT_NAMES = new InternPool<>(1 << 15);
+    
+    private ReadPathInterning() {
+        // Static holder - not instantiable
+    }
+}
@@ -0,0 +1,20 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.statistics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands the SQL of every statement to the statistics listener of the session
+ * that prepares it, so a slow statement can be reported with its text.
+ *
+ * Hibernate calls inspect() just before preparing each statement, on the same
+ * thread; the session's listener takes the SQL when the statement is prepared.
+ * The SQL is returned unchanged; nothing is logged here.
+ */
+public class SessionStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SessionStatisticsListener.sqlInspected(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,47 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.statistics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Registers the Hibernate event listeners that count entity loads and
+ * collection fetches for the current session's SessionStatisticsListener.
+ *
+ * SessionEventListener has no callbacks for these, so they are counted with
+ * ordinary event listeners, appended after Hibernate's own.
+ */
+public class SessionStatisticsIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        listeners.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+            SessionStatisticsListener session = SessionStatisticsListener.current();
+            if (session != null) {
+                session.entityLoaded();
+            }
+        });
+
+        listeners.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> {
+            SessionStatisticsListener session = SessionStatisticsListener.current();
+            if (session != null) {
+                session.collectionFetched();
+            }
+        });
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,225 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.statistics;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Collects statistics for one Hibernate session.
+ *
+ * Hibernate creates one instance per session (it is registered by class name
+ * via hibernate.session.events.auto) and calls it around JDBC work and flushes.
+ * Entity loads, collection fetches and the SQL text come from other Hibernate
+ * hooks (SessionStatisticsIntegrator, SessionStatementInspector), which have
+ * no access to the session's listeners:
+ * - the SQL is handed over through the thread (sqlInspected): Hibernate
+ *   inspects a statement and prepares it right away, and the session that
+ *   prepares it takes the SQL (jdbcPrepareStatementStart)
+ * - loads and fetches go to current(): the session on this thread that most
+ *   recently did JDBC work or opened - the one whose query is being read
+ *
+ * So sessions need not open and end in nesting order (REQUIRES_NEW, an item
+ * load while another session is open, one session per shard): whichever
+ * session works is current. A session leaves its thread's list when it ends;
+ * an ended session is never current, even if it ended on another thread, and
+ * a thread keeps at most MAX_OPEN_SESSIONS, so a leaked session can't stay
+ * current on a pooled thread.
+ *
+ * When the session ends, its totals go to the SessionStatisticsRecorder
+ * installed at startup. Without a recorder the listener only counts.
+ */
+public class SessionStatisticsListener implements SessionEventListener {
+
+    // Open sessions per thread, most recently active last (a leaked one drops out)
+    private static final int MAX_OPEN_SESSIONS = 8;
+    private static final ThreadLocal<Deque<SessionStatisticsListener>> OPEN = new ThreadLocal<>();
+
+    // SQL inspected on this thread and not prepared yet
+    private static final ThreadLocal<String> INSPECTED_SQL = new ThreadLocal<>();
+
+    // Hibernate instantiates listeners by class name, so the recorder can't be injected
+    private static volatile SessionStatisticsRecorder recorder;
+
+    private volatile boolean ended;
+
+    private int statements;
+    private long jdbcNanos;
+    private int entityLoads;
+    private int collectionFetches;
+    private int flushes;
+
+    // Statement in flight (set by the statement inspector just before it is prepared)
+    private String lastSql;
+    private long executeStart;
+
+    /**
+     * Called by Hibernate when a session opens.
+     */
+    public SessionStatisticsListener() {
+        activate();
+    }
+
+    /**
+     * Installs the recorder that receives session totals.
+     * Called once at startup (see HibernateObservabilityConfiguration).
+     *
+     * @param sessionRecorder the recorder, or null to stop recording
+     */
+    public static void useRecorder(SessionStatisticsRecorder sessionRecorder) {
+        recorder = sessionRecorder;
+    }
+
+    /**
+     * @return the listener of the session most recently active on this thread, or null if none
+     */
+    static SessionStatisticsListener current() {
+        Deque<SessionStatisticsListener> open = OPEN.get();
+        if (open == null) {
+            return null;
+        }
+        // Drop sessions that ended on another thread
+        while (!open.isEmpty() && open.peekLast().ended) {
+            open.removeLast();
+        }
+        if (open.isEmpty()) {
+            OPEN.remove();
+            return null;
+        }
+        return open.peekLast();
+    }
+
+    /**
+     * Called by the statement inspector with the SQL about to be prepared on this thread.
+     */
+    static void sqlInspected(String sql) {
+        INSPECTED_SQL.set(sql);
+    }
+
+    /**
+     * Makes this session the current one of this thread.
+     */
+    private void activate() {
+        Deque<SessionStatisticsListener> open = OPEN.get();
+        if (open == null) {
+            open = new ArrayDeque<>();
+            OPEN.set(open);
+        }
+        if (open.peekLast() != this) {
+            open.remove(this);
+            open.addLast(this);
+            if (open.size() > MAX_OPEN_SESSIONS) {
+                open.removeFirst();
+            }
+        }
+    }
+
+    // Hooks fed by the other Hibernate callbacks
+
+    void statementPrepared(String sql) {
+        lastSql = sql;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionFetched() {
+        collectionFetches++;
+    }
+
+    // SessionEventListener callbacks
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        activate();
+        String sql = INSPECTED_SQL.get();
+        if (sql != null) {
+            INSPECTED_SQL.remove();
+            statementPrepared(sql);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        activate();
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statementFinished(lastSql);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        activate();
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statementFinished(lastSql == null ? null : "batch: " + lastSql);
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushes++;
+    }
+
+    @Override
+    public void flushStart() {
+        activate();
+    }
+
+    @Override
+    public void end() {
+        // Whatever the order sessions end in, the others stay as they were
+        ended = true;
+        Deque<SessionStatisticsListener> open = OPEN.get();
+        if (open != null) {
+            open.remove(this);
+            if (open.isEmpty()) {
+                OPEN.remove();
+            }
+        }
+
+        SessionStatisticsRecorder sessionRecorder = recorder;
+        if (sessionRecorder != null) {
+            sessionRecorder.recordSession(this);
+        }
+    }
+
+    private void statementFinished(String sql) {
+        long elapsed = System.nanoTime() - executeStart;
+        statements++;
+        jdbcNanos += elapsed;
+
+        SessionStatisticsRecorder sessionRecorder = recorder;
+        if (sessionRecorder != null) {
+            sessionRecorder.statementExecuted(sql, elapsed);
+        }
+    }
+
+    // Getters
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    public int getFlushes() {
+        return flushes;
+    }
+}
@@ -0,0 +1,127 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.statistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes per-session Hibernate statistics and reports slow queries.
+ *
+ * Replaces full SQL logging (show-sql, org.hibernate.SQL=DEBUG, bind parameter TRACE)
+ * in production: instead of writing every statement synchronously to the log,
+ * each session is summarized into a handful of meters, and only slow statements
+ * are logged - and only a sample of those.
+ *
+ * Published meters (one sample per Hibernate session, i.e. per repository call
+ * or transaction, since open-in-view is off):
+ * - hibernate.session.statements          statements executed (a JDBC batch counts once)
+ * - hibernate.session.jdbc                time spent executing statements
+ * - hibernate.session.entity.loads        entities loaded from the database
+ * - hibernate.session.collection.fetches  collections initialized
+ * - hibernate.session.flushes             flushes
+ * - hibernate.slow.queries                timer of statements slower than the threshold
+ *
+ * Slow-query logging: every slow statement is counted, but only a fraction
+ * (sampleRate) is logged, with the number of slow statements skipped since
+ * the previous log line. The SQL is logged without bound parameters.
+ *
+ * Thread-safe: meters are thread-safe and the skipped-count is atomic.
+ */
+public class SessionStatisticsRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStatisticsRecorder.class);
+
+    private final long slowQueryThresholdNanos;
+    private final double sampleRate;
+
+    private final DistributionSummary statements;
+    private final Timer jdbcTime;
+    private final DistributionSummary entityLoads;
+    private final DistributionSummary collectionFetches;
+    private final DistributionSummary flushes;
+    private final Timer slowQueries;
+
+    // Slow statements not logged since the last one that was
+    private final AtomicLong skippedSlowQueries = new AtomicLong();
+
+    /**
+     * @param registry where meters are published
+     * @param slowQueryThreshold statements taking longer than this are reported as slow
+     * @param sampleRate fraction of slow statements that are logged (0.0 - 1.0)
+     */
+    public SessionStatisticsRecorder(MeterRegistry registry, Duration slowQueryThreshold, double sampleRate) {
+        if (slowQueryThreshold == null || slowQueryThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow query threshold must not be negative: " + slowQueryThreshold);
+        }
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.sampleRate = sampleRate;
+
+        this.statements = summary(registry, "hibernate.session.statements", "Statements executed per session");
+        this.entityLoads = summary(registry, "hibernate.session.entity.loads", "Entities loaded per session");
+        this.collectionFetches = summary(registry, "hibernate.session.collection.fetches",
+                "Collections initialized per session");
+        this.flushes = summary(registry, "hibernate.session.flushes", "Flushes per session");
+        this.jdbcTime = Timer.builder("hibernate.session.jdbc")
+                .description("Time spent executing JDBC statements per session")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.slowQueries = Timer.builder("hibernate.slow.queries")
+                .description("Statements slower than the slow query threshold")
+                .register(registry);
+    }
+
+    /**
+     * Records the totals of one finished session.
+     */
+    void recordSession(SessionStatisticsListener session) {
+        statements.record(session.getStatements());
+        jdbcTime.record(session.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        entityLoads.record(session.getEntityLoads());
+        collectionFetches.record(session.getCollectionFetches());
+        flushes.record(session.getFlushes());
+
+        if (log.isDebugEnabled()) {
+            log.debug("Session: {} statements in {} us, {} entity loads, {} collection fetches, {} flushes",
+                    session.getStatements(), session.getJdbcNanos() / 1_000, session.getEntityLoads(),
+                    session.getCollectionFetches(), session.getFlushes());
+        }
+    }
+
+    /**
+     * Checks one executed statement against the slow query threshold.
+     *
+     * @param sql the statement (without parameters), or null if unknown
+     * @param elapsedNanos how long it took to execute
+     */
+    void statementExecuted(String sql, long elapsedNanos) {
+        if (elapsedNanos <= slowQueryThresholdNanos) {
+            return;
+        }
+        slowQueries.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            long skipped = skippedSlowQueries.getAndSet(0);
+            log.warn("Slow query ({} ms, {} slow queries not logged since last report): {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), skipped, sql);
+        } else {
+            skippedSlowQueries.incrementAndGet();
+        }
+    }
+
+    private static DistributionSummary summary(MeterRegistry registry, String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,130 @@
+package com.midlevel.orderfulfillment.adapter.out.tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * OpenTelemetry span exporter that appends finished spans to a local file,
+ * one JSON object per line (JSON Lines).
+ *
+ * Works offline - no collector needed. Each line looks like:
+ *   {"traceId":"...","spanId":"...","parentSpanId":"...","name":"OrderRepository.save",
+ *    "startEpochNanos":...,"durationMicros":812,"status":"UNSET",
+ *    "attributes":{"order.id":"...","db.rows":1}}
+ *
+ * The file can be grepped, or loaded with jq / pandas to find slow traces:
+ *   jq -s 'group_by(.traceId)' spans.jsonl
+ *
+ * Spans arrive in batches from the SDK's BatchSpanProcessor (one worker thread);
+ * export() is synchronized anyway so the exporter is safe to share.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private final Path file;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Writer writer;
+
+    /**
+     * Opens (or creates) the file for appending.
+     *
+     * @param file where spans are written; parent directories are created
+     * @throws IOException if the file can't be opened
+     */
+    public FileSpanExporter(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                writeSpan(span);
+                writer.write('\n');
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private void writeSpan(SpanData span) throws IOException {
+        // The generator must not close the shared writer
+        JsonGenerator json = jsonFactory.createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        json.writeStartObject();
+        json.writeStringField("traceId", span.getTraceId());
+        json.writeStringField("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            json.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        json.writeStringField("name", span.getName());
+        json.writeStringField("kind", span.getKind().name());
+        json.writeNumberField("startEpochNanos", span.getStartEpochNanos());
+        json.writeNumberField("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        json.writeStringField("status", span.getStatus().getStatusCode().name());
+
+        json.writeObjectFieldStart("attributes");
+        for (Map.Entry<AttributeKey<?>, Object> attribute : span.getAttributes().asMap().entrySet()) {
+            String key = attribute.getKey().getKey();
+            Object value = attribute.getValue();
+            if (value instanceof Long number) {
+                json.writeNumberField(key, number);
+            } else if (value instanceof Double number) {
+                json.writeNumberField(key, number);
+            } else if (value instanceof Boolean flag) {
+                json.writeBooleanField(key, flag);
+            } else {
+                json.writeStringField(key, String.valueOf(value));
+            }
+        }
+        json.writeEndObject();
+
+        json.writeEndObject();
+        json.flush();
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
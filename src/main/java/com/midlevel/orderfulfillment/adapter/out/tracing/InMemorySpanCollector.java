@@ -0,0 +1,85 @@
+package com.midlevel.orderfulfillment.adapter.out.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * OpenTelemetry span exporter that keeps the most recent spans in memory.
+ *
+ * An in-process collector for offline use - local runs, benchmarks and tests
+ * can read the finished spans back with getFinishedSpans() (e.g. after
+ * looking the bean up in the application context).
+ *
+ * Bounded: once capacity is reached the oldest spans are dropped, so a
+ * long-running process can't run out of memory.
+ *
+ * Thread-safe: all access is synchronized (export happens in batches, so
+ * the lock is taken once per batch, not once per span).
+ */
+public class InMemorySpanCollector implements SpanExporter {
+
+    private final int capacity;
+    private final ArrayDeque<SpanData> spans;
+    private long dropped;
+
+    /**
+     * @param capacity maximum number of spans kept
+     */
+    public InMemorySpanCollector(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(Math.min(capacity, 1_024));
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (spans.size() == capacity) {
+                spans.removeFirst();
+                dropped++;
+            }
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * @return the collected spans, oldest first
+     */
+    public synchronized List<SpanData> getFinishedSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * @return number of spans dropped because the collector was full
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Forgets all collected spans.
+     */
+    public synchronized void reset() {
+        spans.clear();
+        dropped = 0;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,176 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import io.micrometer.tracing.Tracer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.midlevel.orderfulfillment.tracing.Spans.inSpan;
+import static com.midlevel.orderfulfillment.tracing.Spans.runInSpan;
+
+/**
+ * Application service for the order use cases.
+ *
+ * HEXAGONAL ARCHITECTURE:
+ * - Sits between inbound adapters (REST, messaging, CLI) and the domain
+ * - Orchestrates: load the aggregate through the port, call the domain
+ *   method, save it back
+ * - Holds no business rules - those stay in Order
+ *
+ * Tracing: every use case is one span ("OrderService.<method>") with the
+ * domain call and the repository calls as children. The domain call gets
+ * its own span (e.g. "Order.create" covers validation, "Order.pay" the
+ * state transition), so its time can be told apart from mapping and SQL.
+ */
+@Service
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final Tracer tracer;
+
+    public OrderService(OrderRepository orderRepository, Tracer tracer) {
+        this.orderRepository = orderRepository;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Creates and saves a new order.
+     *
+     * @return the saved order (in CREATED status)
+     * @throws IllegalArgumentException if the order is invalid
+     */
+    public Order placeOrder(String customerId, List<OrderItem> items, Address shippingAddress) {
+        return inSpan(tracer, "OrderService.placeOrder", span -> {
+            span.tag("customer.id", String.valueOf(customerId));
+
+            Order order = inSpan(tracer, "Order.create",
+                    createSpan -> Order.create(customerId, items, shippingAddress));
+            span.tag("order.id", order.getOrderId());
+
+            return orderRepository.save(order);
+        });
+    }
+
+    /**
+     * Marks an order as paid.
+     *
+     * @throws IllegalArgumentException if the order doesn't exist
+     * @throws IllegalStateException if the order can't be paid in its current status
+     */
+    public Order pay(String orderId) {
+        return transition("pay", orderId, Order::pay);
+    }
+
+    /**
+     * Marks an order as shipped.
+     *
+     * @throws IllegalArgumentException if the order doesn't exist
+     * @throws IllegalStateException if the order isn't paid
+     */
+    public Order ship(String orderId) {
+        return transition("ship", orderId, Order::ship);
+    }
+
+    /**
+     * Cancels an order.
+     *
+     * @throws IllegalArgumentException if the order doesn't exist
+     * @throws IllegalStateException if the order has already shipped
+     */
+    public Order cancel(String orderId) {
+        return transition("cancel", orderId, Order::cancel);
+    }
+
+    /**
+     * Adds a product to an order that hasn't been paid yet.
+     *
+     * @throws IllegalArgumentException if the order doesn't exist or the product is already on it
+     * @throws IllegalStateException if the order is no longer in CREATED status
+     */
+    public Order addItem(String orderId, OrderItem item) {
+        return transition("addItem", orderId, order -> order.addItem(item));
+    }
+
+    /**
+     * Removes a product from an order that hasn't been paid yet.
+     *
+     * @throws IllegalArgumentException if the order doesn't exist or the product isn't on it
+     * @throws IllegalStateException if the order is no longer in CREATED status, or it is the last item
+     */
+    public Order removeItem(String orderId, String productId) {
+        return transition("removeItem", orderId, order -> order.removeItem(productId));
+    }
+
+    /**
+     * Changes the quantity of a product on an order that hasn't been paid yet.
+     *
+     * @throws IllegalArgumentException if the order doesn't exist, the product isn't on it or the quantity is invalid
+     * @throws IllegalStateException if the order is no longer in CREATED status
+     */
+    public Order changeItemQuantity(String orderId, String productId, int quantity) {
+        return transition("changeItemQuantity", orderId, order -> order.changeItemQuantity(productId, quantity));
+    }
+
+    public Optional<Order> findOrder(String orderId) {
+        return orderRepository.findById(orderId);
+    }
+
+    public List<Order> findOrdersByCustomer(String customerId) {
+        return orderRepository.findByCustomerId(customerId);
+    }
+
+    /**
+     * Orders containing a product, placed within the last period - for recalls
+     * and support ("every shipped order with product X from the last 30 days").
+     *
+     * @param within how far back to look (e.g. Duration.ofDays(30))
+     * @param statuses the statuses to include
+     * @return order summaries, newest first
+     */
+    public List<OrderSummary> findOrdersWithProduct(String productId, Duration within, EnumSet<OrderStatus> statuses) {
+        Instant now = Instant.now();
+        return orderRepository.findByProductId(productId, now.minus(within), now, statuses);
+    }
+
+    /**
+     * Order search for support tools: any mix of criteria, one page at a time.
+     * Pass result.nextPage() back in for the following page.
+     */
+    public OrderSearchResult searchOrders(OrderSearchCriteria criteria) {
+        return orderRepository.search(criteria);
+    }
+
+    /**
+     * Load -> transition (or amendment) -> save, traced as one span with the
+     * domain call itself in a child span.
+     */
+    private Order transition(String action, String orderId, Consumer<Order> domainCall) {
+        return inSpan(tracer, "OrderService." + action, span -> {
+            span.tag("order.id", String.valueOf(orderId));
+
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+
+            runInSpan(tracer, "Order." + action, transitionSpan -> {
+                transitionSpan.tag("order.status.from", order.getStatus().name());
+                domainCall.accept(order);
+                transitionSpan.tag("order.status.to", order.getStatus().name());
+            });
+
+            return orderRepository.save(order);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.midlevel.orderfulfillment.config;
+
+import com.midlevel.orderfulfillment.adapter.out.persistence.statistics.SessionStatementInspector;
+import com.midlevel.orderfulfillment.adapter.out.persistence.statistics.SessionStatisticsIntegrator;
+import com.midlevel.orderfulfillment.adapter.out.persistence.statistics.SessionStatisticsListener;
+import com.midlevel.orderfulfillment.adapter.out.persistence.statistics.SessionStatisticsRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Production observability for Hibernate (active with the "prod" profile).
+ *
+ * Instead of logging every statement (see the prod profile in application.yml),
+ * each Hibernate session is summarized into meters and slow statements are
+ * logged with sampling - see SessionStatisticsRecorder.
+ *
+ * Wires three Hibernate hooks:
+ * - SessionStatisticsListener    per-session statements, JDBC time and flushes
+ * - SessionStatementInspector    SQL text for slow-query reports
+ * - SessionStatisticsIntegrator  entity loads and collection fetches
+ *
+ * Settings (application.yml):
+ *   orders.observability.slow-query.threshold    default 250ms
+ *   orders.observability.slow-query.sample-rate  fraction of slow queries logged, default 0.1
+ */
+@Configuration
+@Profile("prod")
+public class HibernateObservabilityConfiguration {
+
+    // Not in AvailableSettings: read by Hibernate's JPA bootstrap (EntityManagerFactoryBuilderImpl)
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public SessionStatisticsRecorder sessionStatisticsRecorder(
+            MeterRegistry meterRegistry,
+            @Value("${orders.observability.slow-query.threshold:250ms}") Duration slowQueryThreshold,
+            @Value("${orders.observability.slow-query.sample-rate:0.1}") double sampleRate) {
+        SessionStatisticsRecorder recorder =
+                new SessionStatisticsRecorder(meterRegistry, slowQueryThreshold, sampleRate);
+        // Session listeners are created by Hibernate, so they find the recorder statically
+        SessionStatisticsListener.useRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * Registers the session statistics hooks with Hibernate.
+     * Depends on the recorder so it is installed before the first session opens.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sessionStatisticsCustomizer(SessionStatisticsRecorder recorder) {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SessionStatisticsListener.class.getName());
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SessionStatementInspector());
+            properties.put(INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new SessionStatisticsIntegrator()));
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.midlevel.orderfulfillment.config;
+
+import com.midlevel.orderfulfillment.adapter.out.observability.InstrumentedOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.observability.TracingOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.persistence.BatchingOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.persistence.ExecutorAsyncOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.persistence.OrderRepositoryAdapter;
+import com.midlevel.orderfulfillment.adapter.out.persistence.ShardedOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.persistence.WriteBehindOrderRepository;
+import com.midlevel.orderfulfillment.domain.port.AsyncOrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Assembles the OrderRepository that the rest of the application sees.
+ *
+ * The JPA adapter (OrderRepositoryAdapter) is the innermost repository;
+ * decorators are layered around it here, in one place:
+ *
+ *   TracingOrderRepository -> InstrumentedOrderRepository -> OrderRepositoryAdapter -> PostgreSQL
+ *
+ * With orders.repository.batching.window set, BatchingOrderRepository sits
+ * between InstrumentedOrderRepository and the adapter, coalescing concurrent
+ * findById() calls (the findById metrics then include the batch wait).
+ *
+ * With orders.repository.write-behind.enabled, WriteBehindOrderRepository
+ * sits right in front of the adapter, saving new orders in group-committed
+ * batches (the save metrics then include the wait for the group's commit).
+ *
+ * With orders.sharding.enabled, ShardedOrderRepository (OrderShardingConfiguration)
+ * takes the adapter's place, routing to one adapter - and write-behind queue -
+ * per database.
+ *
+ * AsyncOrderRepository runs lookups of that same chain on a bounded
+ * executor of its own (orders.repository.async.*).
+ *
+ * The outermost decorator is @Primary, so injecting OrderRepository gets the
+ * full chain. The bare adapter is still available by its bean name
+ * (orderRepositoryAdapter), e.g. for benchmarking without instrumentation.
+ */
+@Configuration
+public class OrderRepositoryConfiguration {
+
+    /**
+     * The OrderRepository port, with a span and metrics for every call.
+     */
+    @Bean
+    @Primary
+    public OrderRepository orderRepository(
+            OrderRepositoryAdapter adapter, Optional<WriteBehindOrderRepository> writeBehind,
+            Optional<ShardedOrderRepository> sharded, MeterRegistry meterRegistry, Tracer tracer,
+            @Value("${orders.repository.batching.window:0ms}") Duration batchWindow,
+            @Value("${orders.repository.batching.max-size:100}") int maxBatchSize) {
+        OrderRepository repository = adapter;
+        if (sharded.isPresent()) {
+            repository = sharded.get();
+        } else if (writeBehind.isPresent()) {
+            repository = writeBehind.get();
+        }
+        if (!batchWindow.isZero()) {
+            repository = new BatchingOrderRepository(repository, batchWindow, maxBatchSize);
+        }
+        OrderRepository instrumented = new InstrumentedOrderRepository(repository, meterRegistry);
+        return new TracingOrderRepository(instrumented, tracer);
+    }
+
+    /**
+     * Group commit for new orders (orders.repository.write-behind.*), a bean
+     * of its own so that the context's shutdown closes it - orders still
+     * queued are saved before the connection pool goes away. With sharding,
+     * this is the primary shard's queue.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "orders.repository.write-behind.enabled", havingValue = "true")
+    public WriteBehindOrderRepository writeBehindOrderRepository(
+            OrderRepositoryAdapter adapter, MeterRegistry meterRegistry,
+            @Value("${orders.sharding.primary-name:shard-0}") String shardName,
+            @Value("${orders.repository.write-behind.max-batch-size:100}") int maxBatchSize,
+            @Value("${orders.repository.write-behind.max-delay:5ms}") Duration maxDelay,
+            @Value("${orders.repository.write-behind.queue-capacity:10000}") int queueCapacity) {
+        return writeBehind(adapter, shardName, maxBatchSize, maxDelay, queueCapacity, meterRegistry);
+    }
+
+    /**
+     * Creates a write-behind queue in front of one database, published as
+     * orders.repository.write_behind.queued (orders waiting), .commits and
+     * .orders (orders / commits = average group size), tagged with the shard.
+     */
+    static WriteBehindOrderRepository writeBehind(OrderRepository delegate, String shardName, int maxBatchSize,
+                                                  Duration maxDelay, int queueCapacity, MeterRegistry meterRegistry) {
+        WriteBehindOrderRepository writeBehind =
+                new WriteBehindOrderRepository(delegate, maxBatchSize, maxDelay, queueCapacity);
+        Gauge.builder("orders.repository.write_behind.queued", writeBehind, WriteBehindOrderRepository::queued)
+                .description("New orders waiting for their group commit")
+                .tag("shard", shardName)
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.repository.write_behind.commits", writeBehind,
+                        WriteBehindOrderRepository::commits)
+                .description("Group commits of new orders")
+                .tag("shard", shardName)
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.repository.write_behind.orders", writeBehind,
+                        WriteBehindOrderRepository::ordersWritten)
+                .description("New orders saved by group commits")
+                .tag("shard", shardName)
+                .register(meterRegistry);
+        return writeBehind;
+    }
+
+    /**
+     * The asynchronous lookups: the full OrderRepository chain on a bounded
+     * executor, with the caller's trace context carried over to the lookup thread.
+     *
+     * Threads default to half the Hikari pool, so parallel lookups leave the
+     * other half of the connections to synchronous callers. The executor's
+     * pool and queue are published as executor.* meters (name=orders.repository.async).
+     */
+    @Bean
+    public AsyncOrderRepository asyncOrderRepository(
+            OrderRepository orderRepository, MeterRegistry meterRegistry, Tracer tracer,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${orders.repository.async.threads:0}") int threads,
+            @Value("${orders.repository.async.queue-capacity:500}") int queueCapacity,
+            @Value("${orders.repository.async.timeout:5s}") Duration timeout) {
+        int lookupThreads = threads > 0 ? threads : Math.max(1, connectionPoolSize / 2);
+        ThreadPoolExecutor executor = ExecutorAsyncOrderRepository.boundedExecutor(lookupThreads, queueCapacity);
+        new ExecutorServiceMetrics(executor, "orders.repository.async", Tags.empty()).bindTo(meterRegistry);
+        return new ExecutorAsyncOrderRepository(
+                orderRepository, tracer.currentTraceContext().wrap(executor), timeout);
+    }
+}
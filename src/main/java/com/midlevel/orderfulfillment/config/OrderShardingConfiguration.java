@@ -0,0 +1,104 @@
+package com.midlevel.orderfulfillment.config;
+
+import com.midlevel.orderfulfillment.adapter.out.persistence.OrderRepositoryAdapter;
+import com.midlevel.orderfulfillment.adapter.out.persistence.OrderShards;
+import com.midlevel.orderfulfillment.adapter.out.persistence.ShardedOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.persistence.WriteBehindOrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Customer-hash sharding (active with orders.sharding.enabled=true).
+ *
+ * The primary database (spring.datasource, with the auto-configured
+ * OrderRepositoryAdapter) is the shard named orders.sharding.primary-name;
+ * orders.sharding.shards lists the others (OrderShardingProperties).
+ * ShardedOrderRepository routes between them and becomes the innermost
+ * repository of OrderRepositoryConfiguration's chain.
+ *
+ * With write-behind enabled, every shard gets its own group commit queue -
+ * a commit is per database, so a group never spans shards.
+ *
+ * Scatter queries run on orders.sharding.scatter-threads threads (default:
+ * two per shard), published as executor.* meters (name=orders.repository.shards).
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(OrderShardingProperties.class)
+public class OrderShardingConfiguration {
+
+    /**
+     * The additional shard databases, each with the primary's JPA settings and pool size.
+     */
+    @Bean
+    public OrderShards orderShards(
+            OrderShardingProperties properties, JpaProperties jpaProperties, HibernateProperties hibernateProperties,
+            ObjectProvider<HibernatePropertiesCustomizer> hibernateCustomizers,
+            MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher, Tracer tracer,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        Map<String, Object> hibernateSettings = hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(),
+                new HibernateSettings().hibernatePropertiesCustomizers(hibernateCustomizers.orderedStream().toList()));
+        OrderShards shards = new OrderShards(hibernateSettings, jpaProperties.getMappingResources(),
+                meterRegistry, eventPublisher, tracer);
+        for (OrderShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            dataSource.setPoolName(shard.name());
+            dataSource.setMaximumPoolSize(connectionPoolSize);
+            shards.add(shard.name(), dataSource);
+        }
+        return shards;
+    }
+
+    /**
+     * Routes orders between the primary and the additional shards.
+     */
+    @Bean
+    public ShardedOrderRepository shardedOrderRepository(
+            OrderRepositoryAdapter adapter, Optional<WriteBehindOrderRepository> writeBehind, OrderShards shards,
+            MeterRegistry meterRegistry, Tracer tracer,
+            @Value("${orders.sharding.primary-name:shard-0}") String primaryName,
+            @Value("${orders.sharding.scatter-threads:0}") int scatterThreads,
+            @Value("${orders.repository.write-behind.max-batch-size:100}") int maxBatchSize,
+            @Value("${orders.repository.write-behind.max-delay:5ms}") Duration maxDelay,
+            @Value("${orders.repository.write-behind.queue-capacity:10000}") int queueCapacity) {
+        Map<String, OrderRepository> repositories = new LinkedHashMap<>();
+        repositories.put(primaryName, writeBehind.isPresent() ? writeBehind.get() : adapter);
+        shards.adapters().forEach((name, shardAdapter) -> repositories.put(name, writeBehind.isPresent()
+                ? OrderRepositoryConfiguration.writeBehind(shardAdapter, name, maxBatchSize, maxDelay,
+                        queueCapacity, meterRegistry)
+                : shardAdapter));
+
+        int threads = scatterThreads > 0 ? scatterThreads : 2 * repositories.size();
+        ThreadPoolExecutor executor = ShardedOrderRepository.scatterExecutor(threads);
+        new ExecutorServiceMetrics(executor, "orders.repository.shards", Tags.empty()).bindTo(meterRegistry);
+        return new ShardedOrderRepository(repositories, tracer.currentTraceContext().wrap(executor));
+    }
+}
@@ -0,0 +1,35 @@
+package com.midlevel.orderfulfillment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * The additional shard databases (orders.sharding.shards), besides the
+ * primary one configured as spring.datasource:
+ *
+ *   orders:
+ *     sharding:
+ *       enabled: true
+ *       shards:
+ *         - name: shard-1
+ *           url: jdbc:postgresql://db-2:5432/orderfulfillment
+ *           username: postgres
+ *           password: postgres
+ *
+ * Shard names are hashed onto the ShardRing - keep them stable, renaming a
+ * shard moves its customers.
+ */
+@ConfigurationProperties(prefix = "orders.sharding")
+public record OrderShardingProperties(List<Shard> shards) {
+
+    public OrderShardingProperties {
+        shards = shards == null ? List.of() : List.copyOf(shards);
+    }
+
+    /**
+     * One additional shard database.
+     */
+    public record Shard(String name, String url, String username, String password) {
+    }
+}
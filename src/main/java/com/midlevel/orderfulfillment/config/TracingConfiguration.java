@@ -0,0 +1,44 @@
+package com.midlevel.orderfulfillment.config;
+
+import com.midlevel.orderfulfillment.adapter.out.tracing.FileSpanExporter;
+import com.midlevel.orderfulfillment.adapter.out.tracing.InMemorySpanCollector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Selects where finished spans go.
+ *
+ * Spring Boot's OpenTelemetry auto-configuration builds the tracer and sends
+ * finished spans to every SpanExporter bean (through a BatchSpanProcessor).
+ * Which spans are recorded at all is decided by the sampler:
+ *   management.tracing.sampling.probability (0.0 - 1.0)
+ *
+ * Exporters (orders.tracing.exporter):
+ * - memory (default)  keep the last orders.tracing.memory-capacity spans in memory
+ * - file              append JSON lines to orders.tracing.file
+ * - none              no exporter (spans are created but not kept)
+ *
+ * Both exporters work offline; no tracing backend is required.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    public InMemorySpanCollector inMemorySpanCollector(
+            @Value("${orders.tracing.memory-capacity:10000}") int capacity) {
+        return new InMemorySpanCollector(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.tracing.exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(
+            @Value("${orders.tracing.file:target/traces/spans.jsonl}") Path file) throws IOException {
+        return new FileSpanExporter(file);
+    }
+}
@@ -0,0 +1,25 @@
+package com.midlevel.orderfulfillment.domain.event;
+
+import java.time.Instant;
+
+/**
+ * A domain event: something that happened to an Order.
+ *
+ * DDD Domain Events:
+ * - Named in the past tense (OrderPaid, not PayOrder)
+ * - Immutable facts, raised by the aggregate when a state transition happens
+ * - Collected by the Order and published after it has been saved,
+ *   so listeners only ever see transitions that were actually persisted
+ */
+public interface OrderEvent {
+
+    /**
+     * @return ID of the order the event belongs to
+     */
+    String getOrderId();
+
+    /**
+     * @return when the event happened
+     */
+    Instant getOccurredAt();
+}
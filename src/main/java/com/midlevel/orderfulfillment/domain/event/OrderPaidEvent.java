@@ -0,0 +1,60 @@
+package com.midlevel.orderfulfillment.domain.event;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Raised when an order transitions from CREATED to PAID.
+ *
+ * Carries the timestamps needed to measure time-to-pay
+ * (created -> paid) and the shipping country to break it down by region.
+ */
+public final class OrderPaidEvent implements OrderEvent {
+
+    private final String orderId;
+    private final String shippingCountry;
+    private final Instant createdAt;
+    private final Instant paidAt;
+
+    public OrderPaidEvent(String orderId, String shippingCountry, Instant createdAt, Instant paidAt) {
+        this.orderId = Objects.requireNonNull(orderId, "orderId");
+        this.shippingCountry = Objects.requireNonNull(shippingCountry, "shippingCountry");
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.paidAt = Objects.requireNonNull(paidAt, "paidAt");
+    }
+
+    /**
+     * @return time between order creation and payment
+     */
+    public Duration getTimeToPay() {
+        return Duration.between(createdAt, paidAt);
+    }
+
+    @Override
+    public String getOrderId() {
+        return orderId;
+    }
+
+    @Override
+    public Instant getOccurredAt() {
+        return paidAt;
+    }
+
+    public String getShippingCountry() {
+        return shippingCountry;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getPaidAt() {
+        return paidAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderPaidEvent{orderId='" + orderId + "', paidAt=" + paidAt + '}';
+    }
+}
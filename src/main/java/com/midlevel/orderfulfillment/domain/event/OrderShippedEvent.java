@@ -0,0 +1,60 @@
+package com.midlevel.orderfulfillment.domain.event;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Raised when an order transitions from PAID to SHIPPED.
+ *
+ * Carries the timestamps needed to measure time-to-ship
+ * (paid -> shipped) and the shipping country to break it down by region.
+ */
+public final class OrderShippedEvent implements OrderEvent {
+
+    private final String orderId;
+    private final String shippingCountry;
+    private final Instant paidAt;
+    private final Instant shippedAt;
+
+    public OrderShippedEvent(String orderId, String shippingCountry, Instant paidAt, Instant shippedAt) {
+        this.orderId = Objects.requireNonNull(orderId, "orderId");
+        this.shippingCountry = Objects.requireNonNull(shippingCountry, "shippingCountry");
+        this.paidAt = Objects.requireNonNull(paidAt, "paidAt");
+        this.shippedAt = Objects.requireNonNull(shippedAt, "shippedAt");
+    }
+
+    /**
+     * @return time between payment and shipping
+     */
+    public Duration getTimeToShip() {
+        return Duration.between(paidAt, shippedAt);
+    }
+
+    @Override
+    public String getOrderId() {
+        return orderId;
+    }
+
+    @Override
+    public Instant getOccurredAt() {
+        return shippedAt;
+    }
+
+    public String getShippingCountry() {
+        return shippingCountry;
+    }
+
+    public Instant getPaidAt() {
+        return paidAt;
+    }
+
+    public Instant getShippedAt() {
+        return shippedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderShippedEvent{orderId='" + orderId + "', shippedAt=" + shippedAt + '}';
+    }
+}
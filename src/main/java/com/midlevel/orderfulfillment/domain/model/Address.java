@@ -164,9 +164,11 @@ public final class Address {
     
     /**
      * Single-line string representation.
+     * Format: "123 Main St, Springfield, IL 62701, US"
+     * (plain concatenation - no format-string parsing when logged)
      */
     @Override
     public String toString() {
-        return String.format("%s, %s, %s %s, %s", street, city, state, postalCode, country);
+        return street + ", " + city + ", " + state + " " + postalCode + ", " + country;
     }
 }
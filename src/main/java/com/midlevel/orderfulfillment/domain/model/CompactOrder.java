@@ -0,0 +1,267 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, read-only view of an Order for large in-memory working sets
+ * (batch jobs, reports).
+ *
+ * A regular Order is a graph of many small objects: an ArrayList of OrderItems,
+ * each with its own Money (long + BigDecimal cache + currency), String IDs and
+ * names repeated in every order, and three Instants. CompactOrder flattens that:
+ * - the order ID is kept as the two longs of its UUID
+ * - timestamps are epoch nanoseconds (no Instant objects)
+ * - items are parallel primitive arrays (one slot per item)
+ * - customer IDs, product IDs and product names are ints into a StringTable
+ *   shared by the whole working set
+ * - prices are minor units; a price too large for a long spills into a
+ *   BigDecimal array that only exists when needed (same idea as MoneyBag)
+ *
+ * Measure the difference with the FootprintReport tool in benchmarks/.
+ *
+ * The read side of the Order API is available directly (getters, calculateTotal,
+ * isPaid, ...). Item objects are built on demand by getItems(). For the state
+ * transitions, toOrder() rebuilds a full Order.
+ *
+ * Immutable and thread-safe. Equality is by order ID, as for Order.
+ */
+public final class CompactOrder {
+
+    // Marker for a missing timestamp
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final long orderIdHigh;
+    private final long orderIdLow;
+    private final int customerRef;
+    private final OrderStatus status;
+    private final long createdAtNanos;
+    private final long paidAtNanos;
+    private final long shippedAtNanos;
+    private final Address shippingAddress;
+
+    // All items of a valid order share one currency (Order.create checks the total)
+    private final Currency currency;
+
+    // Item slots (parallel arrays indexed by item number)
+    private final int[] productIdRefs;
+    private final int[] productNameRefs;
+    private final long[] unitPriceMinorUnits;
+    private final int[] quantities;
+
+    // Prices that don't fit in minor units (null unless at least one needs it)
+    private final BigDecimal[] overflowPrices;
+
+    private final StringTable strings;
+
+    private CompactOrder(Order order, StringTable strings) {
+        UUID id = UUID.fromString(order.getOrderId());
+        this.orderIdHigh = id.getMostSignificantBits();
+        this.orderIdLow = id.getLeastSignificantBits();
+        this.customerRef = strings.idOf(order.getCustomerId());
+        this.status = order.getStatus();
+        this.createdAtNanos = toNanos(order.getCreatedAt());
+        this.paidAtNanos = toNanos(order.getPaidAt());
+        this.shippedAtNanos = toNanos(order.getShippedAt());
+        this.shippingAddress = order.getShippingAddress();
+        this.strings = strings;
+
+        List<OrderItem> items = order.getItems();
+        int count = items.size();
+        this.currency = items.get(0).getUnitPrice().getCurrency();
+        this.productIdRefs = new int[count];
+        this.productNameRefs = new int[count];
+        this.unitPriceMinorUnits = new long[count];
+        this.quantities = new int[count];
+
+        BigDecimal[] overflow = null;
+        for (int i = 0; i < count; i++) {
+            OrderItem item = items.get(i);
+            Money price = item.getUnitPrice();
+            if (price.getCurrency() != currency) {
+                throw new IllegalArgumentException("Order mixes currencies: " + order.getOrderId());
+            }
+            productIdRefs[i] = strings.idOf(item.getProductId());
+            productNameRefs[i] = strings.idOf(item.getProductName());
+            quantities[i] = item.getQuantity();
+            if (price.isCompact()) {
+                unitPriceMinorUnits[i] = price.getMinorUnits();
+            } else {
+                if (overflow == null) {
+                    overflow = new BigDecimal[count];
+                }
+                overflow[i] = price.getAmount();
+            }
+        }
+        this.overflowPrices = overflow;
+    }
+
+    /**
+     * Builds the compact view of an order.
+     *
+     * @param order the order (a snapshot is taken; later changes to it are not seen)
+     * @param strings the string table shared by the working set
+     * @return the compact view
+     * @throws IllegalArgumentException if the order ID is not a UUID or the items mix currencies
+     */
+    public static CompactOrder of(Order order, StringTable strings) {
+        if (order == null || strings == null) {
+            throw new IllegalArgumentException("Order and string table cannot be null");
+        }
+        return new CompactOrder(order, strings);
+    }
+
+    /**
+     * Rebuilds a full (mutable) Order with the same state, e.g. to run a transition.
+     */
+    public Order toOrder() {
+        return Order.reconstitute(getOrderId(), getCustomerId(), getItems(), shippingAddress,
+                status, getCreatedAt(), getPaidAt(), getShippedAt());
+    }
+
+    // Order read API
+
+    public String getOrderId() {
+        return new UUID(orderIdHigh, orderIdLow).toString();
+    }
+
+    public String getCustomerId() {
+        return strings.get(customerRef);
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return toInstant(createdAtNanos);
+    }
+
+    public Instant getPaidAt() {
+        return toInstant(paidAtNanos);
+    }
+
+    public Instant getShippedAt() {
+        return toInstant(shippedAtNanos);
+    }
+
+    public Address getShippingAddress() {
+        return shippingAddress;
+    }
+
+    /**
+     * Builds the order items. Allocates on every call - prefer the per-item
+     * getters (getProductId(i), getQuantity(i), ...) in loops.
+     *
+     * @return an immutable list of the items
+     */
+    public List<OrderItem> getItems() {
+        List<OrderItem> items = new ArrayList<>(quantities.length);
+        for (int i = 0; i < quantities.length; i++) {
+            items.add(OrderItem.of(getProductId(i), getProductName(i), getUnitPrice(i), quantities[i]));
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    public boolean isPaid() {
+        return status == OrderStatus.PAID || status == OrderStatus.SHIPPED;
+    }
+
+    public boolean isModifiable() {
+        return !status.isTerminal();
+    }
+
+    /**
+     * Sums the line totals without creating item objects. Uses plain long
+     * arithmetic while everything fits; falls back to Money otherwise.
+     */
+    public Money calculateTotal() {
+        String currencyCode = currency.getCurrencyCode();
+        if (overflowPrices == null) {
+            try {
+                long total = 0;
+                for (int i = 0; i < quantities.length; i++) {
+                    total = Math.addExact(total, Math.multiplyExact(unitPriceMinorUnits[i], quantities[i]));
+                }
+                return Money.ofMinorUnits(total, currencyCode);
+            } catch (ArithmeticException overflow) {
+                // Fall through to the BigDecimal-backed path
+            }
+        }
+        Money total = getUnitPrice(0).multiply(quantities[0]);
+        for (int i = 1; i < quantities.length; i++) {
+            total = total.add(getUnitPrice(i).multiply(quantities[i]));
+        }
+        return total;
+    }
+
+    // Per-item access (no item objects)
+
+    public int getItemCount() {
+        return quantities.length;
+    }
+
+    public String getProductId(int item) {
+        return strings.get(productIdRefs[item]);
+    }
+
+    public String getProductName(int item) {
+        return strings.get(productNameRefs[item]);
+    }
+
+    public int getQuantity(int item) {
+        return quantities[item];
+    }
+
+    public Money getUnitPrice(int item) {
+        if (overflowPrices != null && overflowPrices[item] != null) {
+            return Money.of(overflowPrices[item], currency.getCurrencyCode());
+        }
+        return Money.ofMinorUnits(unitPriceMinorUnits[item], currency.getCurrencyCode());
+    }
+
+    private static long toNanos(Instant instant) {
+        if (instant == null) {
+            return NO_TIME;
+        }
+        // Exact for any instant between the years 1677 and 2262
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    private static Instant toInstant(long nanos) {
+        return nanos == NO_TIME ? null : Instant.ofEpochSecond(0, nanos);
+    }
+
+    /**
+     * Same identity as the order it was built from.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CompactOrder other = (CompactOrder) o;
+        return orderIdHigh == other.orderIdHigh && orderIdLow == other.orderIdLow;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(orderIdHigh ^ orderIdLow);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactOrder{" +
+                "orderId='" + getOrderId() + '\'' +
+                ", customerId='" + getCustomerId() + '\'' +
+                ", status=" + status +
+                ", itemCount=" + quantities.length +
+                ", createdAt=" + getCreatedAt() +
+                '}';
+    }
+}
@@ -0,0 +1,86 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.util.Objects;
+
+/**
+ * A not-yet-saved change to one line of a stored order, made by an amendment.
+ *
+ * Changes are net: several amendments of the same product collapse into one
+ * change relative to the stored line (e.g. adding a product and then removing
+ * it again leaves no change at all). A repository applies them as
+ * inserts (ADDED), updates (CHANGED) and deletes (REMOVED) of single lines,
+ * instead of rewriting every item of the order.
+ *
+ * Value Object: immutable, equality by value.
+ */
+public final class ItemChange {
+
+    public enum Kind {
+        /** The product was not on the stored order - insert the line. */
+        ADDED,
+        /** The product's stored line has a new value - update it. */
+        CHANGED,
+        /** The product's stored line is gone - delete it. */
+        REMOVED
+    }
+
+    private final Kind kind;
+    private final String productId;
+
+    // The new line (null for REMOVED)
+    private final OrderItem item;
+
+    private ItemChange(Kind kind, String productId, OrderItem item) {
+        this.kind = kind;
+        this.productId = productId;
+        this.item = item;
+    }
+
+    static ItemChange added(OrderItem item) {
+        return new ItemChange(Kind.ADDED, item.getProductId(), item);
+    }
+
+    static ItemChange changed(OrderItem item) {
+        return new ItemChange(Kind.CHANGED, item.getProductId(), item);
+    }
+
+    static ItemChange removed(String productId) {
+        return new ItemChange(Kind.REMOVED, productId, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    /**
+     * @return the new line, or null for a removal
+     */
+    public OrderItem getItem() {
+        return item;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ItemChange that = (ItemChange) o;
+        return kind == that.kind &&
+               productId.equals(that.productId) &&
+               Objects.equals(item, that.item);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, productId, item);
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + (item != null ? item : productId);
+    }
+}
@@ -1,88 +1,94 @@
 package com.midlevel.orderfulfillment.domain.model;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Currency;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Money is a Value Object representing a monetary amount with currency.
- * 
+ *
  * DDD Value Object Properties:
  * - Immutable: All fields are final, no setters
  * - Self-validating: Constructor validates invariants
  * - Equality by value: equals() compares values, not identity
+ *
+ * Representation:
+ * - Amounts are held as a primitive long count of minor units (cents for USD)
+ *   whenever they fit, so add/multiply are plain long arithmetic
+ * - Arithmetic is overflow-checked; on overflow (or for currencies without a
+ *   minor unit) the amount falls back to a BigDecimal
+ * - The BigDecimal returned by getAmount() has exactly the same value and scale
+ *   as before, so equality and rounding semantics are unchanged
  */
 public final class Money {
-    
-    // BigDecimal is used for precise decimal arithmetic (avoiding floating-point errors)
-    private final BigDecimal amount;
-    
-    // Currency ensures we handle different currencies correctly
-    private final Currency currency;
-    
+
+    // Marker stored in minorUnits when the amount only exists as a BigDecimal
+    private static final long INFLATED = Long.MIN_VALUE;
+
+    // Currency lookups are cached so Money.of does not hit Currency.getInstance every time.
+    // Only valid ISO 4217 codes end up here, so the table is naturally bounded.
+    private static final ConcurrentMap<String, CurrencyUnit> CURRENCIES = new ConcurrentHashMap<>();
+
+    private static final CurrencyUnit USD = unitOf("USD");
+
+    // Amount in minor units (e.g. 1999 for 19.99 USD), or INFLATED
+    private final long minorUnits;
+
+    // Currency plus its cached scale
+    private final CurrencyUnit unit;
+
+    // BigDecimal form of the amount. Always set for inflated amounts; for compact amounts
+    // it is created on first getAmount() call (racy but safe: BigDecimal is immutable).
+    private BigDecimal amount;
+
     /**
      * Private constructor to enforce factory method usage.
      * This allows us to control object creation and validation in one place.
-     * 
-     * @param amount the monetary amount
-     * @param currency the currency code
+     *
+     * @param minorUnits the amount in minor units, or INFLATED
+     * @param amount the amount as BigDecimal (may be null when minorUnits is set)
+     * @param unit the currency
      */
-    private Money(BigDecimal amount, Currency currency) {
+    private Money(long minorUnits, BigDecimal amount, CurrencyUnit unit) {
+        this.minorUnits = minorUnits;
         this.amount = amount;
-        this.currency = currency;
+        this.unit = unit;
     }
-    
+
     /**
      * Factory method to create a Money instance.
      * Using factory methods instead of public constructors gives us:
      * - Better naming (of() is clearer than new Money())
      * - Single point of validation
      * - Future flexibility (e.g., caching, subclassing)
-     * 
+     *
      * @param amount the monetary amount
      * @param currencyCode the ISO 4217 currency code (e.g., "USD", "EUR")
      * @return a new Money instance
      * @throws IllegalArgumentException if amount is null or negative, or currency is invalid
      */
     public static Money of(BigDecimal amount, String currencyCode) {
-        // Validate amount is not null
-        if (amount == null) {
-            throw new IllegalArgumentException("Amount cannot be null");
-        }
-        
-        // Validate amount is not negative (business rule: no negative money)
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Amount cannot be negative: " + amount);
-        }
-        
         // Validate currency code (Currency.getInstance throws if invalid)
-        Currency currency = Currency.getInstance(currencyCode);
-        
-        // Scale the amount to the currency's standard decimal places (e.g., 2 for USD)
-        BigDecimal scaledAmount = amount.setScale(
-            currency.getDefaultFractionDigits(),  // Number of decimal places for this currency
-            RoundingMode.HALF_UP                   // Round .5 up (standard rounding)
-        );
-        
-        // Return the new Money instance
-        return new Money(scaledAmount, currency);
+        return of(amount, unitOf(currencyCode));
     }
-    
+
     /**
      * Convenience factory method for USD (most common use case).
-     * 
+     *
      * @param amount the amount in USD
      * @return a new Money instance in USD
      */
     public static Money usd(BigDecimal amount) {
-        return of(amount, "USD");
+        return of(amount, USD);
     }
-    
+
     /**
      * Convenience factory method for creating Money from a double.
      * Warning: Use with caution due to floating-point precision issues.
-     * 
+     *
      * @param amount the amount as a double
      * @param currencyCode the currency code
      * @return a new Money instance
@@ -91,82 +97,209 @@ public final class Money {
         // Convert double to BigDecimal (note: this can have precision issues)
         return of(BigDecimal.valueOf(amount), currencyCode);
     }
-    
+
+    /**
+     * Allocation-light factory for amounts already expressed in minor units.
+     * Example: ofMinorUnits(1999, "USD") is 19.99 USD.
+     *
+     * @param minorUnits the amount in the currency's minor unit
+     * @param currencyCode the ISO 4217 currency code
+     * @return a new Money instance
+     * @throws IllegalArgumentException if the amount is negative or the currency has no minor unit
+     */
+    public static Money ofMinorUnits(long minorUnits, String currencyCode) {
+        CurrencyUnit unit = unitOf(currencyCode);
+
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative: " + minorUnits);
+        }
+
+        if (!unit.hasMinorUnits()) {
+            throw new IllegalArgumentException("Currency has no minor unit: " + currencyCode);
+        }
+
+        return new Money(minorUnits, null, unit);
+    }
+
+    /**
+     * Shared validation and scaling for the BigDecimal factories.
+     */
+    private static Money of(BigDecimal amount, CurrencyUnit unit) {
+        // Validate amount is not null
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+
+        // Validate amount is not negative (business rule: no negative money)
+        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative: " + amount);
+        }
+
+        // Scale the amount to the currency's standard decimal places (e.g., 2 for USD)
+        BigDecimal scaledAmount = amount.setScale(
+            unit.scale,              // Number of decimal places for this currency
+            RoundingMode.HALF_UP     // Round .5 up (standard rounding)
+        );
+
+        // Return the new Money instance
+        return fromScaled(scaledAmount, unit);
+    }
+
+    /**
+     * Builds a Money from an amount already at the currency's scale,
+     * using the compact long form whenever the value fits.
+     */
+    private static Money fromScaled(BigDecimal scaledAmount, CurrencyUnit unit) {
+        if (unit.hasMinorUnits()) {
+            BigInteger unscaled = scaledAmount.unscaledValue();
+            // bitLength() <= 63 means the value fits in a long; MIN_VALUE is reserved as the marker
+            if (unscaled.bitLength() <= 63 && unscaled.longValue() != INFLATED) {
+                return new Money(unscaled.longValue(), scaledAmount, unit);
+            }
+        }
+        return new Money(INFLATED, scaledAmount, unit);
+    }
+
+    /**
+     * Looks up (and caches) the currency for a code.
+     */
+    private static CurrencyUnit unitOf(String currencyCode) {
+        CurrencyUnit unit = CURRENCIES.get(currencyCode);
+        if (unit == null) {
+            // computeIfAbsent caches nothing if Currency.getInstance throws for an invalid code
+            unit = CURRENCIES.computeIfAbsent(currencyCode, code -> new CurrencyUnit(Currency.getInstance(code)));
+        }
+        return unit;
+    }
+
     /**
      * Adds another Money instance to this one.
      * Value objects are immutable, so this returns a new instance.
-     * 
+     *
      * @param other the Money to add
      * @return a new Money instance with the sum
      * @throws IllegalArgumentException if currencies don't match
      */
     public Money add(Money other) {
         // Validate we're not mixing currencies (business rule)
-        if (!this.currency.equals(other.currency)) {
+        if (this.unit != other.unit) {
             throw new IllegalArgumentException(
-                "Cannot add different currencies: " + this.currency + " and " + other.currency
+                "Cannot add different currencies: " + this.unit.currency + " and " + other.unit.currency
             );
         }
-        
-        // Add amounts and return new Money instance (immutability)
-        return new Money(this.amount.add(other.amount), this.currency);
+
+        // Fast path: plain long addition when neither side overflowed before
+        if (this.isCompact() && other.isCompact()) {
+            long sum = this.minorUnits + other.minorUnits;
+            // Overflow only if both operands have the same sign and the result's sign differs
+            if (((this.minorUnits ^ sum) & (other.minorUnits ^ sum)) >= 0 && sum != INFLATED) {
+                return new Money(sum, null, this.unit);
+            }
+        }
+
+        // Slow path: BigDecimal addition (scales already match, so no rounding needed)
+        return fromScaled(this.getAmount().add(other.getAmount()), this.unit);
     }
-    
+
     /**
      * Multiplies this Money by a quantity.
      * Used for calculating line item totals (price * quantity).
-     * 
+     *
      * @param multiplier the number to multiply by
      * @return a new Money instance with the product
      */
     public Money multiply(int multiplier) {
-        // Convert int to BigDecimal and multiply
-        BigDecimal result = this.amount.multiply(BigDecimal.valueOf(multiplier));
-        
+        // Fast path: multiplying minor units by an int is exact, so no rounding is involved
+        if (isCompact()) {
+            long high = Math.multiplyHigh(this.minorUnits, multiplier);
+            long product = this.minorUnits * multiplier;
+            // No overflow if the high word is just the sign extension of the low word
+            if (high == (product >> 63) && product != INFLATED) {
+                return new Money(product, null, this.unit);
+            }
+        }
+
+        // Slow path: convert int to BigDecimal and multiply
+        BigDecimal result = this.getAmount().multiply(BigDecimal.valueOf(multiplier));
+
         // Return new Money instance with proper scaling
-        return new Money(
-            result.setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP),
-            this.currency
-        );
+        return fromScaled(result.setScale(unit.scale, RoundingMode.HALF_UP), this.unit);
     }
-    
+
     /**
      * Checks if this Money is greater than another Money.
-     * 
+     *
      * @param other the Money to compare with
      * @return true if this amount is greater than other
      * @throws IllegalArgumentException if currencies don't match
      */
     public boolean isGreaterThan(Money other) {
         // Validate same currency for comparison
-        if (!this.currency.equals(other.currency)) {
+        if (this.unit != other.unit) {
             throw new IllegalArgumentException("Cannot compare different currencies");
         }
-        
+
+        if (this.isCompact() && other.isCompact()) {
+            return this.minorUnits > other.minorUnits;
+        }
+
         // Compare amounts (returns > 0 if this > other)
-        return this.amount.compareTo(other.amount) > 0;
+        return this.getAmount().compareTo(other.getAmount()) > 0;
     }
-    
+
     /**
      * Checks if this Money represents zero amount.
-     * 
+     *
      * @return true if amount is zero
      */
     public boolean isZero() {
+        if (isCompact()) {
+            return minorUnits == 0;
+        }
         // Compare with ZERO (returns 0 if equal)
         return this.amount.compareTo(BigDecimal.ZERO) == 0;
     }
-    
+
+    /**
+     * True when the amount is held in the primitive minor-unit form.
+     * Package-private so other domain hot paths (e.g. MoneyBag) can skip BigDecimal.
+     */
+    boolean isCompact() {
+        return minorUnits != INFLATED;
+    }
+
     // Getters (no setters - immutability)
-    
+
     public BigDecimal getAmount() {
-        return amount;
+        BigDecimal value = amount;
+        if (value == null) {
+            value = BigDecimal.valueOf(minorUnits, unit.scale);
+            amount = value;
+        }
+        return value;
     }
-    
+
+    /**
+     * Returns the amount in the currency's minor unit (e.g. cents).
+     *
+     * @return the amount in minor units
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public long getMinorUnits() {
+        if (!isCompact()) {
+            throw new ArithmeticException("Amount does not fit in minor units: " + this);
+        }
+        return minorUnits;
+    }
+
     public Currency getCurrency() {
-        return currency;
+        return unit.currency;
     }
-    
+
+    public String getCurrencyCode() {
+        return unit.currency.getCurrencyCode();
+    }
+
     /**
      * Value objects are equal if their values are equal (not by identity).
      * This is crucial for DDD value objects.
@@ -175,36 +308,64 @@ public final class Money {
     public boolean equals(Object o) {
         // Check if same reference (optimization)
         if (this == o) return true;
-        
+
         // Check if null or different class
         if (o == null || getClass() != o.getClass()) return false;
-        
+
         // Cast and compare field values
         Money money = (Money) o;
-        
+        if (unit != money.unit) return false;
+
+        if (isCompact() && money.isCompact()) {
+            return minorUnits == money.minorUnits;
+        }
+
         // Compare amount (compareTo returns 0 if equal)
         // We use compareTo instead of equals to handle scale differences (2.00 vs 2.0)
-        return amount.compareTo(money.amount) == 0 && 
-               Objects.equals(currency, money.currency);
+        return getAmount().compareTo(money.getAmount()) == 0;
     }
-    
+
     /**
      * Hash code must be consistent with equals.
      * Objects that are equal must have the same hash code.
      */
     @Override
     public int hashCode() {
-        // Use Objects.hash for consistent hashing
-        // Note: We use stripTrailingZeros() for amount to handle scale differences
-        return Objects.hash(amount.stripTrailingZeros(), currency);
+        // A value that fits in a long is always stored compact, so equal amounts
+        // always take the same branch here
+        int amountHash = isCompact()
+                ? Long.hashCode(minorUnits)
+                : amount.stripTrailingZeros().hashCode();
+        return 31 * amountHash + unit.currency.hashCode();
     }
-    
+
     /**
      * Human-readable string representation.
      * Format: "100.00 USD"
      */
     @Override
     public String toString() {
-        return amount.toPlainString() + " " + currency.getCurrencyCode();
+        return getAmount().toPlainString() + " " + unit.currency.getCurrencyCode();
+    }
+
+    /**
+     * Cached per-currency data: the Currency itself and its number of fraction digits.
+     * One instance per currency code, so units can be compared by reference.
+     */
+    private static final class CurrencyUnit {
+
+        private final Currency currency;
+
+        // Default fraction digits; -1 for pseudo-currencies such as XAU
+        private final int scale;
+
+        private CurrencyUnit(Currency currency) {
+            this.currency = currency;
+            this.scale = currency.getDefaultFractionDigits();
+        }
+
+        private boolean hasMinorUnits() {
+            return scale >= 0;
+        }
     }
 }
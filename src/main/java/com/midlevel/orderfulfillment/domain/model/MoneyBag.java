@@ -0,0 +1,275 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import com.midlevel.orderfulfillment.domain.port.ExchangeRateProvider;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * MoneyBag is a multi-currency accumulator for reporting totals.
+ *
+ * Money.add() refuses to mix currencies (correctly - 10 USD + 10 EUR is not 20 of anything).
+ * Reports that sum orders across regions need one running total per currency instead,
+ * which is what this class keeps.
+ *
+ * Design:
+ * - One slot per currency, holding a primitive long of minor units
+ * - Adding a Money does not allocate (only a new currency grows the slot arrays)
+ * - If a slot would overflow a long, it spills into a BigDecimal
+ * - combine() merges two bags, so a bag can be used as a parallel stream collector
+ *
+ * Unlike Money, a MoneyBag is MUTABLE and NOT thread-safe. In parallel streams
+ * each thread gets its own bag and the bags are combined at the end.
+ *
+ * Example:
+ *   MoneyBag totals = orders.parallelStream()
+ *           .collect(MoneyBag.summing(Order::calculateTotal));
+ *   Money usd = totals.totalFor("USD");
+ */
+public final class MoneyBag {
+
+    // Most reports see a handful of currencies; arrays grow if needed
+    private static final int INITIAL_SLOTS = 4;
+
+    // Slot arrays (parallel arrays indexed by slot number)
+    private Currency[] currencies = new Currency[INITIAL_SLOTS];
+    private int[] scales = new int[INITIAL_SLOTS];
+    private long[] minorUnits = new long[INITIAL_SLOTS];
+
+    // Spill-over for slots that no longer fit in a long (null until needed)
+    private BigDecimal[] overflow = new BigDecimal[INITIAL_SLOTS];
+
+    // Number of slots in use
+    private int size;
+
+    /**
+     * Creates an empty bag.
+     */
+    public MoneyBag() {
+    }
+
+    /**
+     * Collector that sums Money values into a MoneyBag.
+     * Safe for parallel streams (uses combine() to merge partial results).
+     *
+     * @return a collector producing a MoneyBag
+     */
+    public static Collector<Money, MoneyBag, MoneyBag> collector() {
+        return summing(Function.identity());
+    }
+
+    /**
+     * Collector that sums a Money-valued property of each element.
+     * Example: orders.stream().collect(MoneyBag.summing(Order::calculateTotal))
+     *
+     * @param mapper extracts the Money to add from each element
+     * @return a collector producing a MoneyBag
+     */
+    public static <T> Collector<T, MoneyBag, MoneyBag> summing(Function<? super T, Money> mapper) {
+        return Collector.of(
+                MoneyBag::new,
+                (bag, element) -> bag.add(mapper.apply(element)),
+                MoneyBag::combine,
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    /**
+     * Adds a Money value to the running total of its currency.
+     *
+     * @param money the amount to add
+     * @return this bag (for chaining)
+     * @throws IllegalArgumentException if money is null
+     */
+    public MoneyBag add(Money money) {
+        if (money == null) {
+            throw new IllegalArgumentException("Money cannot be null");
+        }
+
+        int slot = slotFor(money.getCurrency());
+
+        if (money.isCompact()) {
+            addMinorUnits(slot, money.getMinorUnits());
+        } else {
+            addOverflow(slot, money.getAmount());
+        }
+        return this;
+    }
+
+    /**
+     * Merges another bag into this one.
+     * The other bag is left unchanged.
+     *
+     * @param other the bag to merge in
+     * @return this bag (for chaining and for use as a collector combiner)
+     */
+    public MoneyBag combine(MoneyBag other) {
+        for (int i = 0; i < other.size; i++) {
+            int slot = slotFor(other.currencies[i]);
+            addMinorUnits(slot, other.minorUnits[i]);
+            if (other.overflow[i] != null) {
+                addOverflow(slot, other.overflow[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the total for one currency.
+     *
+     * @param currencyCode ISO 4217 currency code
+     * @return the total, or zero if nothing was added in that currency
+     */
+    public Money totalFor(String currencyCode) {
+        Currency currency = Currency.getInstance(currencyCode);
+        for (int i = 0; i < size; i++) {
+            if (currencies[i] == currency) {
+                return totalAt(i);
+            }
+        }
+        return Money.of(BigDecimal.ZERO, currencyCode);
+    }
+
+    /**
+     * Returns all per-currency totals, in the order currencies were first seen.
+     *
+     * @return map of currency code to total
+     */
+    public Map<String, Money> totals() {
+        Map<String, Money> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            result.put(currencies[i].getCurrencyCode(), totalAt(i));
+        }
+        return result;
+    }
+
+    /**
+     * Converts every per-currency total into a single reporting currency.
+     *
+     * Amounts are converted at full precision and summed; rounding to the
+     * reporting currency's scale happens once, at the end, so many small
+     * conversions don't accumulate rounding error.
+     *
+     * @param reportingCurrency ISO 4217 code of the reporting currency
+     * @param rates source of exchange rates (wrap it in a cache for repeated reports)
+     * @return the grand total in the reporting currency
+     * @throws IllegalArgumentException if a rate is missing
+     */
+    public Money convertTo(String reportingCurrency, ExchangeRateProvider rates) {
+        Currency target = Currency.getInstance(reportingCurrency);
+        BigDecimal sum = BigDecimal.ZERO;
+
+        for (int i = 0; i < size; i++) {
+            BigDecimal amount = amountAt(i);
+            if (currencies[i] != target) {
+                BigDecimal rate = rates.getRate(currencies[i].getCurrencyCode(), reportingCurrency);
+                if (rate == null) {
+                    throw new IllegalArgumentException(
+                        "No exchange rate from " + currencies[i] + " to " + reportingCurrency
+                    );
+                }
+                amount = amount.multiply(rate);
+            }
+            sum = sum.add(amount);
+        }
+
+        // Money.of rounds HALF_UP to the reporting currency's scale
+        return Money.of(sum, reportingCurrency);
+    }
+
+    /**
+     * @return true if nothing has been added yet
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of distinct currencies in this bag
+     */
+    public int currencyCount() {
+        return size;
+    }
+
+    // Slot handling
+
+    /**
+     * Finds the slot of a currency, creating it if needed.
+     * Linear scan by reference: Currency instances are singletons per code,
+     * and with a handful of currencies this beats a hash lookup.
+     */
+    private int slotFor(Currency currency) {
+        for (int i = 0; i < size; i++) {
+            if (currencies[i] == currency) {
+                return i;
+            }
+        }
+
+        if (size == currencies.length) {
+            int newLength = size * 2;
+            currencies = Arrays.copyOf(currencies, newLength);
+            scales = Arrays.copyOf(scales, newLength);
+            minorUnits = Arrays.copyOf(minorUnits, newLength);
+            overflow = Arrays.copyOf(overflow, newLength);
+        }
+
+        currencies[size] = currency;
+        scales[size] = currency.getDefaultFractionDigits();
+        return size++;
+    }
+
+    private void addMinorUnits(int slot, long value) {
+        long current = minorUnits[slot];
+        long sum = current + value;
+
+        // Overflow only if both operands have the same sign and the result's sign differs
+        if (((current ^ sum) & (value ^ sum)) < 0) {
+            // Spill the running total into the BigDecimal part and restart from this value
+            addOverflow(slot, BigDecimal.valueOf(current, scales[slot]));
+            minorUnits[slot] = value;
+        } else {
+            minorUnits[slot] = sum;
+        }
+    }
+
+    private void addOverflow(int slot, BigDecimal value) {
+        BigDecimal current = overflow[slot];
+        overflow[slot] = current == null ? value : current.add(value);
+    }
+
+    private BigDecimal amountAt(int slot) {
+        BigDecimal amount = BigDecimal.valueOf(minorUnits[slot], Math.max(scales[slot], 0));
+        return overflow[slot] == null ? amount : amount.add(overflow[slot]);
+    }
+
+    private Money totalAt(int slot) {
+        String code = currencies[slot].getCurrencyCode();
+        if (overflow[slot] == null && minorUnits[slot] >= 0 && scales[slot] >= 0) {
+            return Money.ofMinorUnits(minorUnits[slot], code);
+        }
+        return Money.of(amountAt(slot), code);
+    }
+
+    /**
+     * Human-readable string representation.
+     * Format: "MoneyBag{100.00 USD, 25.00 EUR}"
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MoneyBag{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(totalAt(i));
+        }
+        return sb.append('}').toString();
+    }
+}
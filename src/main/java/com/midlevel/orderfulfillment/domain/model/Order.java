@@ -1,11 +1,19 @@
 package com.midlevel.orderfulfillment.domain.model;
 
+import com.midlevel.orderfulfillment.domain.event.OrderEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Order is the main Aggregate Root in our domain.
@@ -23,6 +31,28 @@ import java.util.UUID;
  * 4. Cannot ship an unpaid order
  * 5. Cannot cancel a shipped order
  * 6. Payment operations are idempotent (can't pay twice)
+ * 7. Only CREATED orders can be amended (items added, removed or re-quantified)
+ * 8. One line per product (checked when the order is placed and when it is amended)
+ * 
+ * Thread safety:
+ * The same Order instance may be shared between threads (e.g. a cached
+ * order, or one paid and cancelled by two concurrent requests). State
+ * transitions and reads of the mutable state (status, paidAt, shippedAt,
+ * pending events) are synchronized on the order, so a transition is
+ * all-or-nothing: ship() and cancel() can't both succeed, and a reader that
+ * sees PAID also sees paidAt. Immutable fields need no locking. Lazy items
+ * are loaded without holding the lock.
+ * 
+ * Lazy items:
+ * A stored order can be rebuilt with an item loader instead of its items
+ * (see reconstitute). Status reads and transitions never need the items, so
+ * they are only loaded - once - by getItems(), calculateTotal() or an amendment.
+ * 
+ * Amendments:
+ * addItem, removeItem and changeItemQuantity change the lines of a CREATED
+ * order. For a stored order each change is also tracked (as an ItemChange,
+ * net per product) until the repository has saved it, so a save writes only
+ * the lines that changed instead of the whole item collection.
  */
 public class Order {
     
@@ -36,7 +66,11 @@ public class Order {
     private final Instant createdAt;
     
     // List of items in the order (mutable internally, but exposed as immutable)
-    private final List<OrderItem> items;
+    // Null until first access for orders reconstituted with an item loader
+    private List<OrderItem> items;
+    
+    // Loads the items on first access (null once they are loaded)
+    private Supplier<List<OrderItem>> itemLoader;
     
     // Shipping address (immutable - set at creation)
     private final Address shippingAddress;
@@ -50,6 +84,16 @@ public class Order {
     // When the order was shipped (null until shipping)
     private Instant shippedAt;
     
+    // Domain events raised since the order was last saved (not persisted)
+    private final List<OrderEvent> domainEvents = new ArrayList<>();
+    
+    // Item changes not saved yet, by product ID (net effect on the stored lines).
+    // Only tracked for stored orders - a new order is saved with all its items anyway
+    private final Map<String, ItemChange> itemChanges = new LinkedHashMap<>();
+    
+    // False for orders made by create(), true for reconstituted ones (see isNew)
+    private final boolean stored;
+    
     /**
      * Private constructor to enforce factory method pattern.
      * This ensures all Order instances go through proper validation.
@@ -63,6 +107,23 @@ public class Order {
         this.createdAt = Instant.now();        // Capture creation timestamp
         this.paidAt = null;                     // Not paid yet
         this.shippedAt = null;                  // Not shipped yet
+        this.stored = false;                    // Not saved yet
+    }
+    
+    /**
+     * Private constructor for reconstitution: restores an order exactly as it was stored.
+     */
+    private Order(String orderId, String customerId, List<OrderItem> items, Address shippingAddress,
+                  OrderStatus status, Instant createdAt, Instant paidAt, Instant shippedAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.items = items == null ? null : new ArrayList<>(items);
+        this.shippingAddress = shippingAddress;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.paidAt = paidAt;
+        this.shippedAt = shippedAt;
+        this.stored = true;
     }
     
     /**
@@ -76,19 +137,29 @@ public class Order {
      * @throws IllegalArgumentException if validation fails
      */
     public static Order create(String customerId, List<OrderItem> items, Address shippingAddress) {
-        // Generate a unique order ID using UUID
-        String orderId = UUID.randomUUID().toString();
-        
         // Validate customer ID
         if (customerId == null || customerId.trim().isEmpty()) {
             throw new IllegalArgumentException("Customer ID cannot be null or empty");
         }
         
+        // Generate a unique, time-ordered order ID carrying the customer's slot (see OrderIds)
+        String orderId = OrderIds.nextFor(customerId).toString();
+        
         // Validate items list is not null or empty (Business Rule #1)
         if (items == null || items.isEmpty()) {
             throw new IllegalArgumentException("Order must have at least one item");
         }
         
+        // One line per product (Business Rule #8) - item changes are saved per product
+        Set<String> productIds = new HashSet<>();
+        for (OrderItem item : items) {
+            if (!productIds.add(item.getProductId())) {
+                throw new IllegalArgumentException(
+                    "Product is on several lines: " + item.getProductId() + ". Order it on one line."
+                );
+            }
+        }
+        
         // Validate shipping address
         if (shippingAddress == null) {
             throw new IllegalArgumentException("Shipping address cannot be null");
@@ -106,6 +177,51 @@ public class Order {
         return order;
     }
     
+    /**
+     * Rebuilds an existing order from its stored state (ID, status and timestamps included).
+     * 
+     * For persistence adapters and other read models (e.g. CompactOrder) - NOT for new orders:
+     * no ID is generated, no events are raised, and the business rules that apply when an
+     * order is placed are not checked again (the order already passed them once).
+     * 
+     * @throws IllegalArgumentException if a required value is missing
+     */
+    public static Order reconstitute(String orderId, String customerId, List<OrderItem> items,
+                                     Address shippingAddress, OrderStatus status,
+                                     Instant createdAt, Instant paidAt, Instant shippedAt) {
+        if (orderId == null || customerId == null || shippingAddress == null
+                || status == null || createdAt == null) {
+            throw new IllegalArgumentException("Stored order is missing a required value: " + orderId);
+        }
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Stored order has no items: " + orderId);
+        }
+        return new Order(orderId, customerId, items, shippingAddress, status, createdAt, paidAt, shippedAt);
+    }
+    
+    /**
+     * Rebuilds an existing order whose items are loaded on first access.
+     * 
+     * Same as reconstitute with items, except that the loader is only called when the
+     * items (or the total) are first needed - pay(), cancel(), ship() and the status
+     * getters never call it. If the loader fails, the next access tries again.
+     * 
+     * @param itemLoader supplies the stored items (called once, unless it fails or two
+     *                   threads first need the items at the same time)
+     * @throws IllegalArgumentException if a required value is missing
+     */
+    public static Order reconstitute(String orderId, String customerId, Supplier<List<OrderItem>> itemLoader,
+                                     Address shippingAddress, OrderStatus status,
+                                     Instant createdAt, Instant paidAt, Instant shippedAt) {
+        if (orderId == null || customerId == null || itemLoader == null || shippingAddress == null
+                || status == null || createdAt == null) {
+            throw new IllegalArgumentException("Stored order is missing a required value: " + orderId);
+        }
+        Order order = new Order(orderId, customerId, null, shippingAddress, status, createdAt, paidAt, shippedAt);
+        order.itemLoader = itemLoader;
+        return order;
+    }
+    
     /**
      * Calculates the total amount for this order.
      * This is a derived value computed by summing all line item totals.
@@ -113,6 +229,10 @@ public class Order {
      * @return the total order amount
      */
     public Money calculateTotal() {
+        return totalOf(items());
+    }
+    
+    private static Money totalOf(List<OrderItem> items) {
         // Start with the first item's total
         Money total = items.get(0).calculateLineTotal();
         
@@ -138,7 +258,7 @@ public class Order {
      * 
      * @throws IllegalStateException if order cannot be paid from current status
      */
-    public void pay() {
+    public synchronized void pay() {
         // Idempotent check: If already paid, do nothing (Business Rule #6)
         if (this.status == OrderStatus.PAID) {
             // Already paid - this is a duplicate payment request
@@ -160,8 +280,9 @@ public class Order {
         // Record payment timestamp
         this.paidAt = Instant.now();
         
-        // In a real system, we would emit a OrderPaidEvent here
-        // This would trigger notifications, inventory updates, etc.
+        // Announce the transition (published once the order is saved)
+        // Listeners can trigger notifications, inventory updates, metrics, etc.
+        this.domainEvents.add(new OrderPaidEvent(orderId, shippingAddress.getCountry(), createdAt, paidAt));
     }
     
     /**
@@ -173,7 +294,7 @@ public class Order {
      * 
      * @throws IllegalStateException if order cannot be shipped from current status
      */
-    public void ship() {
+    public synchronized void ship() {
         // Validate current status allows shipping (Business Rule #4)
         if (this.status != OrderStatus.PAID) {
             throw new IllegalStateException(
@@ -195,8 +316,10 @@ public class Order {
         // Record shipping timestamp
         this.shippedAt = Instant.now();
         
-        // In a real system, we would:
-        // - Emit OrderShippedEvent
+        // Announce the transition (published once the order is saved)
+        this.domainEvents.add(new OrderShippedEvent(orderId, shippingAddress.getCountry(), paidAt, shippedAt));
+        
+        // In a real system, listeners would also:
         // - Update inventory
         // - Send shipping confirmation to customer
     }
@@ -210,7 +333,7 @@ public class Order {
      * 
      * @throws IllegalStateException if order cannot be cancelled from current status
      */
-    public void cancel() {
+    public synchronized void cancel() {
         // Check if we're in a terminal state (Business Rule #5)
         if (this.status == OrderStatus.SHIPPED) {
             throw new IllegalStateException(
@@ -241,13 +364,214 @@ public class Order {
         // - Notify customer
     }
     
+    /**
+     * Adds a line for a product that is not on the order yet.
+     * 
+     * Business Rules:
+     * - Only CREATED orders can be amended (Business Rule #7)
+     * - One line per product: change the quantity of an existing line instead (Business Rule #8)
+     * 
+     * @throws IllegalStateException if the order can no longer be amended
+     * @throws IllegalArgumentException if the product is already on the order
+     */
+    public void addItem(OrderItem item) {
+        loadItemsToAmend();
+        synchronized (this) {
+            checkAmendable();
+            if (item == null) {
+                throw new IllegalArgumentException("Item cannot be null");
+            }
+        
+            List<OrderItem> current = items();
+            String productId = item.getProductId();
+            if (lineOf(current, productId) >= 0) {
+                throw new IllegalArgumentException(
+                    "Product already on order: " + productId + ". Change its quantity instead."
+                );
+            }
+        
+            List<OrderItem> amended = new ArrayList<>(current);
+            amended.add(item);
+            replaceItems(amended);
+        
+            // A product removed since the last save still has its stored line: update it
+            ItemChange previous = itemChanges.get(productId);
+            track(previous != null && previous.getKind() == ItemChange.Kind.REMOVED
+                    ? ItemChange.changed(item)
+                    : ItemChange.added(item));
+        }
+    }
+    
+    /**
+     * Removes the line of a product.
+     * 
+     * Business Rules:
+     * - Only CREATED orders can be amended (Business Rule #7)
+     * - The last line can't be removed (Business Rule #1) - cancel the order instead
+     * 
+     * @throws IllegalStateException if the order can no longer be amended, or this is its last line
+     * @throws IllegalArgumentException if the product is not on the order
+     */
+    public void removeItem(String productId) {
+        loadItemsToAmend();
+        synchronized (this) {
+            checkAmendable();
+        
+            List<OrderItem> current = items();
+            int line = requireLine(current, productId);
+            if (current.size() == 1) {
+                throw new IllegalStateException(
+                    "Cannot remove the last item of an order. Cancel the order instead."
+                );
+            }
+        
+            List<OrderItem> amended = new ArrayList<>(current);
+            amended.remove(line);
+            replaceItems(amended);
+        
+            // A line added since the last save was never stored: nothing to delete
+            ItemChange previous = itemChanges.get(productId);
+            if (previous != null && previous.getKind() == ItemChange.Kind.ADDED) {
+                itemChanges.remove(productId);
+            } else {
+                track(ItemChange.removed(productId));
+            }
+        }
+    }
+    
+    /**
+     * Changes the quantity of a product's line.
+     * 
+     * Business Rules:
+     * - Only CREATED orders can be amended (Business Rule #7)
+     * - Quantity must be positive (remove the line instead)
+     * 
+     * @throws IllegalStateException if the order can no longer be amended
+     * @throws IllegalArgumentException if the product is not on the order or the quantity is invalid
+     */
+    public void changeItemQuantity(String productId, int quantity) {
+        loadItemsToAmend();
+        synchronized (this) {
+            checkAmendable();
+        
+            List<OrderItem> current = items();
+            int line = requireLine(current, productId);
+            OrderItem changed = current.get(line).withQuantity(quantity);
+        
+            List<OrderItem> amended = new ArrayList<>(current);
+            amended.set(line, changed);
+            replaceItems(amended);
+        
+            // A line added since the last save is still an insert, just with the new quantity
+            ItemChange previous = itemChanges.get(productId);
+            track(previous != null && previous.getKind() == ItemChange.Kind.ADDED
+                    ? ItemChange.added(changed)
+                    : ItemChange.changed(changed));
+        }
+    }
+    
+    /**
+     * Loads the items of an amendable order before the amendment takes the
+     * order's lock, so the item query doesn't run while holding it.
+     */
+    private void loadItemsToAmend() {
+        if (getStatus() == OrderStatus.CREATED) {
+            items();
+        }
+    }
+    
+    private void checkAmendable() {
+        if (this.status != OrderStatus.CREATED) {
+            throw new IllegalStateException(
+                "Cannot amend order in status: " + this.status + 
+                ". Only CREATED orders can be amended."
+            );
+        }
+    }
+    
+    /**
+     * @return index of the product's line, or -1 if it is not on the order
+     * @throws IllegalStateException if the product is on several lines (orders
+     *         placed before Business Rule #8 may have them - amend those by hand)
+     */
+    private static int lineOf(List<OrderItem> items, String productId) {
+        int line = -1;
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getProductId().equals(productId)) {
+                if (line >= 0) {
+                    throw new IllegalStateException("Product is on several lines: " + productId);
+                }
+                line = i;
+            }
+        }
+        return line;
+    }
+    
+    private static int requireLine(List<OrderItem> items, String productId) {
+        int line = lineOf(items, productId);
+        if (line < 0) {
+            throw new IllegalArgumentException("Product not on order: " + productId);
+        }
+        return line;
+    }
+    
+    /**
+     * Swaps in the amended lines once they pass the order rules.
+     * The old list is never modified - lists handed out by getItems() stay as they were.
+     */
+    private void replaceItems(List<OrderItem> amended) {
+        // Business Rule #2 (also fails for lines in different currencies)
+        if (totalOf(amended).isZero()) {
+            throw new IllegalArgumentException("Order total must be greater than zero");
+        }
+        this.items = amended;
+    }
+    
+    private void track(ItemChange change) {
+        if (stored) {
+            itemChanges.put(change.getProductId(), change);
+        }
+    }
+    
+    /**
+     * Returns the item changes not saved yet (net, at most one per product).
+     * Always empty for a new order - it is saved with all its items.
+     * 
+     * @return the pending changes, in the order the products were first amended
+     */
+    public synchronized List<ItemChange> getPendingItemChanges() {
+        return List.copyOf(itemChanges.values());
+    }
+    
+    /**
+     * Called by the repository once the given changes are saved.
+     * Changes made after getPendingItemChanges() stay pending.
+     * 
+     * @param saved changes returned by getPendingItemChanges() and now stored
+     */
+    public synchronized void markItemChangesSaved(List<ItemChange> saved) {
+        for (ItemChange change : saved) {
+            itemChanges.remove(change.getProductId(), change);
+        }
+    }
+    
+    /**
+     * Checks whether the order has never been stored: true for an order made by
+     * create(), false for one rebuilt from storage (reconstitute). A repository
+     * inserts a new order with all its items; for a stored order it only writes
+     * the state and the pending item changes.
+     */
+    public boolean isNew() {
+        return !stored;
+    }
+    
     /**
      * Checks if the order has been paid.
      * Convenience method for common business logic checks.
      * 
      * @return true if order is in PAID or SHIPPED status
      */
-    public boolean isPaid() {
+    public synchronized boolean isPaid() {
         return this.status == OrderStatus.PAID || this.status == OrderStatus.SHIPPED;
     }
     
@@ -257,10 +581,28 @@ public class Order {
      * 
      * @return true if order is still modifiable
      */
-    public boolean isModifiable() {
+    public synchronized boolean isModifiable() {
         return !this.status.isTerminal();
     }
     
+    /**
+     * Returns the domain events raised since the last call, and forgets them.
+     * 
+     * Called by the repository after the order has been saved, so each event
+     * is published exactly once and only for persisted transitions.
+     * If saving fails, the events stay and are published by the next successful save.
+     * 
+     * @return events in the order they were raised (empty if none)
+     */
+    public synchronized List<OrderEvent> pullDomainEvents() {
+        if (domainEvents.isEmpty()) {
+            return List.of();
+        }
+        List<OrderEvent> events = List.copyOf(domainEvents);
+        domainEvents.clear();
+        return events;
+    }
+    
     // Getters (no setters - state changes only through domain methods)
     
     public String getOrderId() {
@@ -271,7 +613,7 @@ public class Order {
         return customerId;
     }
     
-    public OrderStatus getStatus() {
+    public synchronized OrderStatus getStatus() {
         return status;
     }
     
@@ -279,11 +621,11 @@ public class Order {
         return createdAt;
     }
     
-    public Instant getPaidAt() {
+    public synchronized Instant getPaidAt() {
         return paidAt;
     }
     
-    public Instant getShippedAt() {
+    public synchronized Instant getShippedAt() {
         return shippedAt;
     }
     
@@ -294,7 +636,47 @@ public class Order {
      * Defensive programming: Never expose mutable collections directly.
      */
     public List<OrderItem> getItems() {
-        return Collections.unmodifiableList(items);
+        return Collections.unmodifiableList(items());
+    }
+    
+    /**
+     * Checks whether the items are in memory. False only for an order
+     * reconstituted with an item loader whose items were never accessed -
+     * a repository can then save its state without touching the items.
+     * 
+     * @return true if getItems() won't call the item loader
+     */
+    public synchronized boolean hasItemsLoaded() {
+        return items != null;
+    }
+    
+    /**
+     * Returns the items, loading them first if needed.
+     * 
+     * The loader runs without holding the order's lock - it may query the
+     * database, and status reads and transitions shouldn't wait for that.
+     * Two threads that first need the items at the same time may both call
+     * it; the first result is kept.
+     */
+    private List<OrderItem> items() {
+        Supplier<List<OrderItem>> loader;
+        synchronized (this) {
+            if (items != null) {
+                return items;
+            }
+            loader = itemLoader;
+        }
+        List<OrderItem> loaded = loader.get();
+        if (loaded == null || loaded.isEmpty()) {
+            throw new IllegalStateException("Stored order has no items: " + orderId);
+        }
+        synchronized (this) {
+            if (items == null) {
+                items = new ArrayList<>(loaded);
+                itemLoader = null;  // Let go of whatever the loader holds on to
+            }
+            return items;
+        }
     }
     
     public Address getShippingAddress() {
@@ -328,15 +710,18 @@ public class Order {
     /**
      * Human-readable string representation.
      * Useful for logging and debugging.
+     * 
+     * Deliberately cheap: only fields already held by the order, no total
+     * (calculateTotal() sums every line - too much work for a log statement)
+     * and no item loading.
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return "Order{" +
                 "orderId='" + orderId + '\'' +
                 ", customerId='" + customerId + '\'' +
                 ", status=" + status +
-                ", itemCount=" + items.size() +
-                ", total=" + calculateTotal() +
+                ", itemCount=" + (items != null ? items.size() : "not loaded") +
                 ", createdAt=" + createdAt +
                 '}';
     }
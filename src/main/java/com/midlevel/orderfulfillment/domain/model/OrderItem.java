@@ -152,16 +152,12 @@ public final class OrderItem {
     
     /**
      * Human-readable string representation.
-     * Format: "ProductName (ID: xxx) - 3x @ $10.00 = $30.00"
+     * Format: "ProductName (ID: xxx) - 3x @ 10.00 USD = 30.00 USD"
+     * (plain concatenation - no format-string parsing when logged)
      */
     @Override
     public String toString() {
-        return String.format("%s (ID: %s) - %dx @ %s = %s",
-            productName,
-            productId,
-            quantity,
-            unitPrice,
-            calculateLineTotal()
-        );
+        return productName + " (ID: " + productId + ") - " + quantity + "x @ "
+                + unitPrice + " = " + calculateLineTotal();
     }
 }
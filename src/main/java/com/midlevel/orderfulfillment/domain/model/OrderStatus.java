@@ -1,10 +1,15 @@
 package com.midlevel.orderfulfillment.domain.model;
 
+import java.util.EnumSet;
+
 /**
  * OrderStatus represents the possible states an Order can be in during its lifecycle.
  * This enum is part of the domain layer and enforces valid state transitions.
  * 
  * DDD Principle: Use enums for finite states to make illegal states unrepresentable.
+ * 
+ * Each status also has a stable numeric code. Codes never change, even if
+ * constants are reordered, so they are safe to persist (unlike ordinal()).
  */
 public enum OrderStatus {
     
@@ -12,59 +17,76 @@ public enum OrderStatus {
      * CREATED: Initial state when an order is first placed.
      * From here, order can be PAID or CANCELLED.
      */
-    CREATED,
+    CREATED((short) 1),
     
     /**
      * PAID: Order has been successfully paid.
      * From here, order can be SHIPPED or CANCELLED.
      */
-    PAID,
+    PAID((short) 2),
     
     /**
      * SHIPPED: Order has been shipped to customer.
      * This is a terminal state - cannot transition from here.
      */
-    SHIPPED,
+    SHIPPED((short) 3),
     
     /**
      * CANCELLED: Order has been cancelled.
      * This is a terminal state - cannot transition from here.
      */
-    CANCELLED;
+    CANCELLED((short) 4);
     
-    /**
-     * Checks if the current status can transition to the target status.
-     * This method encapsulates the business rules for valid state transitions.
+    // Lookup table for fromCode() (index = code)
+    private static final OrderStatus[] BY_CODE = new OrderStatus[5];
+    
+    /*
+     * Transition matrix, precomputed once: one row per status (index = ordinal),
+     * each a bitmask of the statuses it may move to
+     * (bit n set = transition to the constant with ordinal n is allowed).
      * 
      * Valid transitions:
      * - CREATED -> PAID
      * - CREATED -> CANCELLED
      * - PAID -> SHIPPED
      * - PAID -> CANCELLED
+     */
+    private static final int[] ALLOWED_TARGETS = new int[values().length];
+    
+    static {
+        allowTransitions(CREATED, PAID, CANCELLED);
+        allowTransitions(PAID, SHIPPED, CANCELLED);
+        // SHIPPED and CANCELLED are terminal: empty masks
+        
+        for (OrderStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+    
+    // Stable persistence code
+    private final short code;
+    
+    OrderStatus(short code) {
+        this.code = code;
+    }
+    
+    private static void allowTransitions(OrderStatus from, OrderStatus... targets) {
+        for (OrderStatus target : targets) {
+            ALLOWED_TARGETS[from.ordinal()] |= 1 << target.ordinal();
+        }
+    }
+    
+    /**
+     * Checks if the current status can transition to the target status.
+     * This method encapsulates the business rules for valid state transitions.
+     * 
+     * A single bit test against the precomputed transition matrix.
      * 
      * @param targetStatus the status we want to transition to
      * @return true if the transition is valid, false otherwise
      */
     public boolean canTransitionTo(OrderStatus targetStatus) {
-        // Switch on the current status to determine valid next states
-        switch (this) {
-            case CREATED:
-                // From CREATED, we can go to PAID or CANCELLED
-                return targetStatus == PAID || targetStatus == CANCELLED;
-                
-            case PAID:
-                // From PAID, we can go to SHIPPED or CANCELLED
-                return targetStatus == SHIPPED || targetStatus == CANCELLED;
-                
-            case SHIPPED:
-            case CANCELLED:
-                // Terminal states - no transitions allowed
-                return false;
-                
-            default:
-                // Default case for safety (should never reach here)
-                return false;
-        }
+        return targetStatus != null && (ALLOWED_TARGETS[ordinal()] & (1 << targetStatus.ordinal())) != 0;
     }
     
     /**
@@ -74,7 +96,44 @@ public enum OrderStatus {
      * @return true if this is a terminal state (SHIPPED or CANCELLED)
      */
     public boolean isTerminal() {
-        // Only SHIPPED and CANCELLED are terminal states
-        return this == SHIPPED || this == CANCELLED;
+        // Terminal = no outgoing transitions in the matrix
+        return ALLOWED_TARGETS[ordinal()] == 0;
+    }
+    
+    /**
+     * @return the stable numeric code used for compact persistence
+     */
+    public short getCode() {
+        return code;
+    }
+    
+    /**
+     * Resolves a status from its persistence code.
+     * 
+     * @param code the code returned by getCode()
+     * @return the matching status
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static OrderStatus fromCode(short code) {
+        if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("Unknown order status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+    
+    /**
+     * Statuses of orders that are still "open" (not terminal).
+     * Returns a new set each time, so callers may modify it.
+     * 
+     * @return CREATED and PAID
+     */
+    public static EnumSet<OrderStatus> openStatuses() {
+        EnumSet<OrderStatus> open = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (!status.isTerminal()) {
+                open.add(status);
+            }
+        }
+        return open;
     }
 }
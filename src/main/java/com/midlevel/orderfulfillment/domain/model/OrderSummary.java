@@ -0,0 +1,99 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Read-only summary of an order: who placed it, when, where it goes and how
+ * far it got - without its items.
+ *
+ * Returned by lookups that can match many orders, such as "all orders
+ * containing product X" for a recall, where loading each full order (and all
+ * of its unrelated items) would be wasted work.
+ *
+ * Value Object: immutable, equality by value.
+ */
+public final class OrderSummary {
+
+    private final String orderId;
+    private final String customerId;
+    private final OrderStatus status;
+    private final Instant createdAt;
+    private final Instant shippedAt;
+    private final String shippingCountry;
+
+    /**
+     * @param shippedAt null if the order hasn't shipped
+     */
+    public OrderSummary(String orderId, String customerId, OrderStatus status, Instant createdAt,
+                        Instant shippedAt, String shippingCountry) {
+        this.orderId = Objects.requireNonNull(orderId, "orderId");
+        this.customerId = Objects.requireNonNull(customerId, "customerId");
+        this.status = Objects.requireNonNull(status, "status");
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.shippedAt = shippedAt;
+        this.shippingCountry = Objects.requireNonNull(shippingCountry, "shippingCountry");
+    }
+
+    /**
+     * Summary of a full order.
+     */
+    public static OrderSummary of(Order order) {
+        return new OrderSummary(order.getOrderId(), order.getCustomerId(), order.getStatus(),
+                order.getCreatedAt(), order.getShippedAt(), order.getShippingAddress().getCountry());
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getShippedAt() {
+        return shippedAt;
+    }
+
+    public String getShippingCountry() {
+        return shippingCountry;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        OrderSummary that = (OrderSummary) o;
+        return orderId.equals(that.orderId) &&
+               customerId.equals(that.customerId) &&
+               status == that.status &&
+               createdAt.equals(that.createdAt) &&
+               Objects.equals(shippedAt, that.shippedAt) &&
+               shippingCountry.equals(that.shippingCountry);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderId, customerId, status, createdAt, shippedAt, shippingCountry);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderSummary{" +
+                "orderId='" + orderId + '\'' +
+                ", customerId='" + customerId + '\'' +
+                ", status=" + status +
+                ", createdAt=" + createdAt +
+                ", shippingCountry='" + shippingCountry + '\'' +
+                '}';
+    }
+}
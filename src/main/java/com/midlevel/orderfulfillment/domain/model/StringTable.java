@@ -0,0 +1,80 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Append-only table of distinct strings, each identified by an int.
+ *
+ * Used by CompactOrder: a working set of orders shares one table, so every
+ * product ID, product name and customer ID is stored once and each order
+ * only holds 4-byte references into it.
+ *
+ * Strings are never removed - the table lives as long as the working set
+ * that uses it (e.g. one batch job), which is what bounds its size.
+ *
+ * Thread-safe: lookups of known strings are lock-free; adding a new string
+ * takes a lock.
+ */
+public final class StringTable {
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // strings[id]; replaced by a larger copy when full
+    private volatile String[] strings = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the ID of the string, adding it to the table if it is new.
+     *
+     * @param value the string (not null)
+     * @return its ID (stable for the lifetime of the table)
+     */
+    public int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        return add(value);
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        String[] table = strings;
+        if (size == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        int id = size++;
+        table[id] = value;
+        // Publish the array before the ID becomes visible through the map
+        strings = table;
+        ids.put(value, id);
+        return id;
+    }
+
+    /**
+     * @param id an ID returned by idOf()
+     * @return the string with that ID
+     * @throws IndexOutOfBoundsException if the ID was not issued by this table
+     */
+    public String get(int id) {
+        String value = id >= 0 && id < strings.length ? strings[id] : null;
+        if (value == null) {
+            throw new IndexOutOfBoundsException("Unknown string ID: " + id);
+        }
+        return value;
+    }
+
+    /**
+     * @return number of distinct strings in the table
+     */
+    public int size() {
+        return ids.size();
+    }
+}
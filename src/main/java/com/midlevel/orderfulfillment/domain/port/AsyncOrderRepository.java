@@ -0,0 +1,74 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of the OrderRepository lookups, for code that needs
+ * several independent lookups at once:
+ *
+ *   CompletableFuture<Optional<Order>> order = orders.findById(orderId);
+ *   CompletableFuture<List<Order>> history = orders.findByCustomerId(customerId);
+ *   CompletableFuture<Long> open = orders.countByStatusIn(EnumSet.of(OrderStatus.CREATED));
+ *   CompletableFuture.allOf(order, history, open).join();
+ *
+ * The three queries run in parallel - the wait is the slowest of them, not
+ * their sum.
+ *
+ * Every future:
+ * - fails with a TimeoutException when the lookup doesn't finish in time
+ * - fails with a RejectedExecutionException when too many lookups are
+ *   already waiting (the implementation's queue is bounded)
+ * - can be cancelled; a lookup that hasn't started by then never runs
+ *   (a running one finishes, and its result is dropped)
+ *
+ * Only lookups: saving stays synchronous (OrderRepository.save), since a
+ * load-modify-save sequence has to wait for each step anyway.
+ *
+ * Don't block on another future of this port inside a callback (e.g.
+ * join() in thenApply) - callbacks can run on the lookup threads, and a
+ * blocked lookup thread can't run the lookup it waits for.
+ * Use thenCompose / allOf instead.
+ */
+public interface AsyncOrderRepository {
+
+    /**
+     * @see OrderRepository#findById(String)
+     */
+    CompletableFuture<Optional<Order>> findById(String orderId);
+
+    /**
+     * @see OrderRepository#findAllById(Collection)
+     */
+    CompletableFuture<List<Order>> findAllById(Collection<String> orderIds);
+
+    /**
+     * @see OrderRepository#findByCustomerId(String)
+     */
+    CompletableFuture<List<Order>> findByCustomerId(String customerId);
+
+    /**
+     * @see OrderRepository#findByStatusIn(EnumSet)
+     */
+    CompletableFuture<List<Order>> findByStatusIn(EnumSet<OrderStatus> statuses);
+
+    /**
+     * @see OrderRepository#countByStatusIn(EnumSet)
+     */
+    CompletableFuture<Long> countByStatusIn(EnumSet<OrderStatus> statuses);
+
+    /**
+     * @see OrderRepository#search(OrderSearchCriteria)
+     */
+    CompletableFuture<OrderSearchResult> search(OrderSearchCriteria criteria);
+
+    /**
+     * @see OrderRepository#existsById(String)
+     */
+    CompletableFuture<Boolean> existsById(String orderId);
+}
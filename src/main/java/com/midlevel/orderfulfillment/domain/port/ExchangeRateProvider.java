@@ -0,0 +1,25 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import java.math.BigDecimal;
+
+/**
+ * Port interface for foreign-exchange rates (Hexagonal Architecture).
+ * 
+ * Used when multi-currency totals (see MoneyBag) have to be reported
+ * in a single reporting currency. Implementations live in the adapter
+ * layer (a rates API, a database table, a fixed table for tests, ...).
+ */
+public interface ExchangeRateProvider {
+    
+    /**
+     * Returns the rate to convert one unit of the source currency
+     * into the target currency.
+     * Example: getRate("EUR", "USD") = 1.08 means 1 EUR = 1.08 USD.
+     * 
+     * @param fromCurrency ISO 4217 code of the source currency
+     * @param toCurrency ISO 4217 code of the target currency
+     * @return the conversion rate, never null
+     * @throws IllegalArgumentException if no rate is known for the pair
+     */
+    BigDecimal getRate(String fromCurrency, String toCurrency);
+}
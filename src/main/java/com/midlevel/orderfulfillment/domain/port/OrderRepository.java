@@ -2,6 +2,10 @@ package com.midlevel.orderfulfillment.domain.port;
 
 import com.midlevel.orderfulfillment.domain.model.Order;
 import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,7 +33,16 @@ public interface OrderRepository {
      * @return the saved order with any generated values
      */
     Order save(Order order);
-    
+
+    /**
+     * Saves several orders (new or stored) in one transaction - all of them
+     * or none. Like a save() per order, but with one commit for the lot.
+     *
+     * @param orders the orders to save
+     * @return the saved orders, in the order given
+     */
+    List<Order> saveAll(List<Order> orders);
+
     /**
      * Finds an order by its ID.
      * 
@@ -38,6 +51,19 @@ public interface OrderRepository {
      */
     Optional<Order> findById(String orderId);
     
+    /**
+     * Finds the orders with the given IDs - in one set-based lookup instead
+     * of one findById() per ID.
+     * 
+     * The result keeps the order of the IDs given. IDs without an order are
+     * skipped; an ID given twice is returned twice, as separate instances
+     * (like two findById() calls).
+     * 
+     * @param orderIds the order IDs
+     * @return the orders found, in the order of their IDs
+     */
+    List<Order> findAllById(Collection<String> orderIds);
+    
     /**
      * Finds all orders for a customer.
      * 
@@ -54,6 +80,45 @@ public interface OrderRepository {
      */
     List<Order> findByStatus(OrderStatus status);
     
+    /**
+     * Finds all orders whose status is in the given set, in one query.
+     * Example: findByStatusIn(OrderStatus.openStatuses()) for all open orders.
+     * 
+     * @param statuses the statuses to match (empty set matches nothing)
+     * @return list of orders, may be empty
+     */
+    List<Order> findByStatusIn(EnumSet<OrderStatus> statuses);
+    
+    /**
+     * Counts orders whose status is in the given set, in one query.
+     * 
+     * @param statuses the statuses to match (empty set matches nothing)
+     * @return number of matching orders
+     */
+    long countByStatusIn(EnumSet<OrderStatus> statuses);
+    
+    /**
+     * Finds the orders that contain a product, e.g. for a recall:
+     * "all shipped orders with product X from the last 30 days".
+     * Returns summaries only - no order items are loaded.
+     * 
+     * @param productId the product to look for
+     * @param from earliest creation time (inclusive)
+     * @param to latest creation time (exclusive)
+     * @param statuses the statuses to match (empty set matches nothing)
+     * @return matching orders, newest first, may be empty
+     */
+    List<OrderSummary> findByProductId(String productId, Instant from, Instant to, EnumSet<OrderStatus> statuses);
+    
+    /**
+     * Searches orders by any mix of criteria (see OrderSearchCriteria),
+     * one page at a time, newest first.
+     * 
+     * @param criteria the filters and page; use result.nextPage() for the next page
+     * @return one page of order summaries
+     */
+    OrderSearchResult search(OrderSearchCriteria criteria);
+    
     /**
      * Finds all orders.
      * Use with caution - could return large datasets.
@@ -0,0 +1,231 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+
+import java.time.Instant;
+import java.util.EnumSet;
+
+/**
+ * Filters for OrderRepository.search(): any mix of customer, statuses,
+ * creation time range, shipping country/state, minimum total and product.
+ *
+ * Immutable: start from all() and narrow it down with the with* methods,
+ * each returning a new criteria object (like OrderItem.withQuantity):
+ *
+ *   OrderSearchCriteria criteria = OrderSearchCriteria.all()
+ *       .withStatuses(EnumSet.of(OrderStatus.PAID))
+ *       .withCountry("US")
+ *       .withMinimumTotal(Money.usd(new BigDecimal("500.00")));
+ *
+ * Criteria that are not set (null) don't filter. Results are newest first
+ * and come in pages: OrderSearchResult.nextPage() returns the criteria for
+ * the next page (keyset pagination - it continues after the last order of
+ * the page instead of skipping rows, so every page costs the same).
+ */
+public final class OrderSearchCriteria {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final OrderSearchCriteria ALL = new OrderSearchCriteria(
+            null, null, null, null, null, null, null, null, DEFAULT_PAGE_SIZE, null, null);
+
+    private final String customerId;
+    private final EnumSet<OrderStatus> statuses;
+    private final Instant createdFrom;
+    private final Instant createdBefore;
+    private final String country;
+    private final String state;
+    private final Money minimumTotal;
+    private final String productId;
+    private final int pageSize;
+
+    // Keyset: continue after this order (both null for the first page)
+    private final Instant afterCreatedAt;
+    private final String afterOrderId;
+
+    private OrderSearchCriteria(String customerId, EnumSet<OrderStatus> statuses, Instant createdFrom,
+                                Instant createdBefore, String country, String state, Money minimumTotal,
+                                String productId, int pageSize, Instant afterCreatedAt, String afterOrderId) {
+        this.customerId = customerId;
+        this.statuses = statuses;
+        this.createdFrom = createdFrom;
+        this.createdBefore = createdBefore;
+        this.country = country;
+        this.state = state;
+        this.minimumTotal = minimumTotal;
+        this.productId = productId;
+        this.pageSize = pageSize;
+        this.afterCreatedAt = afterCreatedAt;
+        this.afterOrderId = afterOrderId;
+    }
+
+    /**
+     * @return criteria matching every order (first page, default page size)
+     */
+    public static OrderSearchCriteria all() {
+        return ALL;
+    }
+
+    public OrderSearchCriteria withCustomerId(String customerId) {
+        return new OrderSearchCriteria(requireText(customerId, "Customer ID"), statuses, createdFrom, createdBefore,
+                country, state, minimumTotal, productId, pageSize, null, null);
+    }
+
+    /**
+     * @param statuses statuses to match (an empty set matches nothing)
+     */
+    public OrderSearchCriteria withStatuses(EnumSet<OrderStatus> statuses) {
+        if (statuses == null) {
+            throw new IllegalArgumentException("Statuses cannot be null");
+        }
+        return new OrderSearchCriteria(customerId, EnumSet.copyOf(statuses), createdFrom, createdBefore,
+                country, state, minimumTotal, productId, pageSize, null, null);
+    }
+
+    /**
+     * @param from earliest creation time (inclusive), or null for no lower bound
+     * @param before latest creation time (exclusive), or null for no upper bound
+     */
+    public OrderSearchCriteria withCreatedBetween(Instant from, Instant before) {
+        if (from != null && before != null && !from.isBefore(before)) {
+            throw new IllegalArgumentException("Empty creation time range: " + from + " to " + before);
+        }
+        return new OrderSearchCriteria(customerId, statuses, from, before,
+                country, state, minimumTotal, productId, pageSize, null, null);
+    }
+
+    public OrderSearchCriteria withCountry(String country) {
+        return new OrderSearchCriteria(customerId, statuses, createdFrom, createdBefore,
+                requireText(country, "Country"), state, minimumTotal, productId, pageSize, null, null);
+    }
+
+    public OrderSearchCriteria withState(String state) {
+        return new OrderSearchCriteria(customerId, statuses, createdFrom, createdBefore,
+                country, requireText(state, "State"), minimumTotal, productId, pageSize, null, null);
+    }
+
+    /**
+     * @param minimumTotal smallest order total to match (inclusive); only orders
+     *        in the same currency match
+     */
+    public OrderSearchCriteria withMinimumTotal(Money minimumTotal) {
+        if (minimumTotal == null) {
+            throw new IllegalArgumentException("Minimum total cannot be null");
+        }
+        return new OrderSearchCriteria(customerId, statuses, createdFrom, createdBefore,
+                country, state, minimumTotal, productId, pageSize, null, null);
+    }
+
+    /**
+     * @param productId product that must be on the order (on any line)
+     */
+    public OrderSearchCriteria withProductId(String productId) {
+        return new OrderSearchCriteria(customerId, statuses, createdFrom, createdBefore,
+                country, state, minimumTotal, requireText(productId, "Product ID"), pageSize, null, null);
+    }
+
+    /**
+     * @param pageSize orders per page (1 to MAX_PAGE_SIZE)
+     */
+    public OrderSearchCriteria withPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ": " + pageSize);
+        }
+        return new OrderSearchCriteria(customerId, statuses, createdFrom, createdBefore,
+                country, state, minimumTotal, productId, pageSize, afterCreatedAt, afterOrderId);
+    }
+
+    /**
+     * Same filters, continuing after the given order (the last one of a page).
+     * Used by OrderSearchResult.nextPage().
+     */
+    OrderSearchCriteria after(OrderSummary last) {
+        return new OrderSearchCriteria(customerId, statuses, createdFrom, createdBefore,
+                country, state, minimumTotal, productId, pageSize, last.getCreatedAt(), last.getOrderId());
+    }
+
+    private static String requireText(String value, String name) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be null or empty");
+        }
+        return value;
+    }
+
+    // Getters (null = not filtered)
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public EnumSet<OrderStatus> getStatuses() {
+        return statuses == null ? null : EnumSet.copyOf(statuses);
+    }
+
+    public Instant getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public Instant getCreatedBefore() {
+        return createdBefore;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public Money getMinimumTotal() {
+        return minimumTotal;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return creation time of the last order of the previous page (null on the first page)
+     */
+    public Instant getAfterCreatedAt() {
+        return afterCreatedAt;
+    }
+
+    /**
+     * @return ID of the last order of the previous page (null on the first page)
+     */
+    public String getAfterOrderId() {
+        return afterOrderId;
+    }
+
+    /**
+     * @return true if the criteria can't match anything (an empty status set)
+     */
+    public boolean matchesNothing() {
+        return statuses != null && statuses.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "OrderSearchCriteria{" +
+                "customerId=" + customerId +
+                ", statuses=" + statuses +
+                ", createdFrom=" + createdFrom +
+                ", createdBefore=" + createdBefore +
+                ", country=" + country +
+                ", state=" + state +
+                ", minimumTotal=" + minimumTotal +
+                ", productId=" + productId +
+                ", pageSize=" + pageSize +
+                ", afterOrderId=" + afterOrderId +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of OrderRepository.search() results, newest first.
+ */
+public final class OrderSearchResult {
+
+    private final OrderSearchCriteria criteria;
+    private final List<OrderSummary> orders;
+    private final boolean hasMore;
+
+    /**
+     * @param criteria the criteria that produced this page
+     * @param orders the page (at most criteria.getPageSize() orders)
+     * @param hasMore whether more orders match after this page
+     */
+    public OrderSearchResult(OrderSearchCriteria criteria, List<OrderSummary> orders, boolean hasMore) {
+        if (criteria == null || orders == null) {
+            throw new IllegalArgumentException("Criteria and orders cannot be null");
+        }
+        this.criteria = criteria;
+        this.orders = List.copyOf(orders);
+        this.hasMore = hasMore && !orders.isEmpty();
+    }
+
+    public List<OrderSummary> getOrders() {
+        return orders;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * @return the criteria for the next page, or empty if this is the last page
+     */
+    public Optional<OrderSearchCriteria> nextPage() {
+        if (!hasMore) {
+            return Optional.empty();
+        }
+        return Optional.of(criteria.after(orders.get(orders.size() - 1)));
+    }
+}
@@ -0,0 +1,153 @@
+package com.midlevel.orderfulfillment.logging;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import net.logstash.logback.argument.StructuredArgument;
+
+import java.io.IOException;
+
+/**
+ * Structured log arguments for domain objects.
+ *
+ * Pass them as log arguments; the JSON encoder (prod profile) writes them as
+ * nested fields, and the plain-text message uses their short toString():
+ *
+ *   log.atDebug()
+ *      .setMessage("Saved {}")
+ *      .addArgument(() -> DomainLogArguments.order(order))
+ *      .log();
+ *
+ * With the Supplier form nothing is built unless DEBUG is enabled.
+ *
+ * Allocation-light:
+ * - One small wrapper object per argument; fields are written straight to the
+ *   JSON generator (no intermediate Map, no String.format)
+ * - No derived values: Order totals are never computed for logging
+ *
+ * Logging is asynchronous in prod, so an argument may be rendered on the
+ * logging thread after the caller has moved on. Order is mutable, so its
+ * argument copies the few fields it logs up front. OrderItem, Address and
+ * Money are immutable value objects and are referenced directly.
+ */
+public final class DomainLogArguments {
+
+    private DomainLogArguments() {
+    }
+
+    /**
+     * @return argument rendering an order as "order": {id, customerId, status, itemCount, country}
+     */
+    public static StructuredArgument order(Order order) {
+        return new OrderArgument(order);
+    }
+
+    /**
+     * @return argument rendering an order line as "item": {productId, productName, quantity, unitPrice}
+     */
+    public static StructuredArgument item(OrderItem item) {
+        return new ItemArgument(item);
+    }
+
+    /**
+     * @return argument rendering an address as "address": {city, state, postalCode, country}
+     */
+    public static StructuredArgument address(Address address) {
+        return new AddressArgument(address);
+    }
+
+    /**
+     * Snapshot of the loggable fields of an Order.
+     * Logging never loads lazily loaded items: itemCount is then left out.
+     */
+    private static final class OrderArgument implements StructuredArgument {
+        private final String orderId;
+        private final String customerId;
+        private final OrderStatus status;
+        private final int itemCount;  // -1 if the items aren't loaded
+        private final String country;
+
+        private OrderArgument(Order order) {
+            this.orderId = order.getOrderId();
+            this.customerId = order.getCustomerId();
+            this.status = order.getStatus();
+            this.itemCount = order.hasItemsLoaded() ? order.getItems().size() : -1;
+            this.country = order.getShippingAddress().getCountry();
+        }
+
+        @Override
+        public void writeTo(JsonGenerator generator) throws IOException {
+            generator.writeFieldName("order");
+            generator.writeStartObject();
+            generator.writeStringField("id", orderId);
+            generator.writeStringField("customerId", customerId);
+            generator.writeStringField("status", status.name());
+            if (itemCount >= 0) {
+                generator.writeNumberField("itemCount", itemCount);
+            }
+            generator.writeStringField("country", country);
+            generator.writeEndObject();
+        }
+
+        @Override
+        public String toString() {
+            return "Order[" + orderId + ", " + status + ", "
+                    + (itemCount >= 0 ? itemCount + " items" : "items not loaded") + "]";
+        }
+    }
+
+    private static final class ItemArgument implements StructuredArgument {
+        private final OrderItem item;
+
+        private ItemArgument(OrderItem item) {
+            this.item = item;
+        }
+
+        @Override
+        public void writeTo(JsonGenerator generator) throws IOException {
+            Money unitPrice = item.getUnitPrice();
+            generator.writeFieldName("item");
+            generator.writeStartObject();
+            generator.writeStringField("productId", item.getProductId());
+            generator.writeStringField("productName", item.getProductName());
+            generator.writeNumberField("quantity", item.getQuantity());
+            generator.writeFieldName("unitPrice");
+            generator.writeNumber(unitPrice.getAmount());
+            generator.writeStringField("currency", unitPrice.getCurrencyCode());
+            generator.writeEndObject();
+        }
+
+        @Override
+        public String toString() {
+            return "Item[" + item.getProductId() + " x" + item.getQuantity() + "]";
+        }
+    }
+
+    private static final class AddressArgument implements StructuredArgument {
+        private final Address address;
+
+        private AddressArgument(Address address) {
+            this.address = address;
+        }
+
+        // Street is left out on purpose: logs are not the place for full addresses
+        @Override
+        public void writeTo(JsonGenerator generator) throws IOException {
+            generator.writeFieldName("address");
+            generator.writeStartObject();
+            generator.writeStringField("city", address.getCity());
+            generator.writeStringField("state", address.getState());
+            generator.writeStringField("postalCode", address.getPostalCode());
+            generator.writeStringField("country", address.getCountry());
+            generator.writeEndObject();
+        }
+
+        @Override
+        public String toString() {
+            return "Address[" + address.getCity() + ", " + address.getCountry() + "]";
+        }
+    }
+}
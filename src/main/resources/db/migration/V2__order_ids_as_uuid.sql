@@ -0,0 +1,51 @@
+-- Migration: store order IDs as native uuid instead of VARCHAR(50)
+--
+-- Why:
+--   orders.order_id and order_items.order_id used to be VARCHAR(50) holding the
+--   36-character text form of a UUID. The native uuid type is 16 bytes, which
+--   roughly halves the primary key and foreign key index sizes.
+--   New IDs are time-ordered (UUID version 7, see OrderIds), so inserts append
+--   to the right edge of the index instead of hitting random pages.
+--
+-- How to apply:
+--   The application uses ddl-auto, which never changes column types, so run this
+--   once against existing databases BEFORE deploying the new version:
+--     psql -U postgres -d orderfulfillment -f V2__order_ids_as_uuid.sql
+--   Fresh databases don't need it (the schema is created with uuid columns).
+--
+-- Existing (version 4) IDs are valid UUIDs and convert as-is; only new orders
+-- get time-ordered IDs. The whole migration runs in one transaction.
+
+BEGIN;
+
+-- 1. Drop the foreign keys from order_items to orders.
+--    Hibernate generated their names, so look them up instead of hard-coding.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname
+        FROM pg_constraint
+        WHERE conrelid = 'order_items'::regclass
+          AND confrelid = 'orders'::regclass
+          AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE order_items DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
+
+-- 2. Convert both columns (fails, and rolls back, if any ID is not a UUID)
+ALTER TABLE orders      ALTER COLUMN order_id TYPE uuid USING order_id::uuid;
+ALTER TABLE order_items ALTER COLUMN order_id TYPE uuid USING order_id::uuid;
+
+-- 3. Restore the foreign key
+ALTER TABLE order_items
+    ADD CONSTRAINT fk_order_items_order
+    FOREIGN KEY (order_id) REFERENCES orders (order_id);
+
+COMMIT;
+
+-- Optional: rebuild indexes to reclaim space left by the type change
+-- REINDEX TABLE orders;
+-- REINDEX TABLE order_items;
@@ -0,0 +1,27 @@
+-- Migration (optional): store orders.status as a smallint code instead of text
+--
+-- Only needed when running with the "status-code" profile, which maps
+-- OrderStatus through OrderStatusCodeConverter. Codes come from
+-- OrderStatus.getCode() and must stay in sync with it:
+--   CREATED = 1, PAID = 2, SHIPPED = 3, CANCELLED = 4
+--
+-- How to apply (before starting the application with the profile):
+--   psql -U postgres -d orderfulfillment -f V3__order_status_as_smallint.sql
+
+BEGIN;
+
+ALTER TABLE orders
+    ALTER COLUMN status TYPE smallint
+    USING CASE status
+        WHEN 'CREATED'   THEN 1
+        WHEN 'PAID'      THEN 2
+        WHEN 'SHIPPED'   THEN 3
+        WHEN 'CANCELLED' THEN 4
+    END;
+
+COMMIT;
+
+-- To go back to text:
+-- ALTER TABLE orders ALTER COLUMN status TYPE varchar(20)
+--     USING CASE status WHEN 1 THEN 'CREATED' WHEN 2 THEN 'PAID'
+--                       WHEN 3 THEN 'SHIPPED' WHEN 4 THEN 'CANCELLED' END;
@@ -0,0 +1,33 @@
+-- Migration: indexes for the JpaOrderRepository queries
+--
+-- Why:
+--   orders had only its primary key, so every query by customer, status or
+--   creation time was a sequential scan of the whole table, and loading an
+--   order's items scanned all of order_items (PostgreSQL does not index
+--   foreign key columns automatically).
+--   JpaOrderRepositoryQueryPlanTest checks that each query uses these indexes.
+--
+-- How to apply:
+--   Fresh databases get the indexes from the entity mappings (ddl-auto).
+--   For existing databases, run once (no downtime - CONCURRENTLY doesn't block writes):
+--     psql -U postgres -d orderfulfillment -f V4__query_indexes.sql
+--
+-- CREATE INDEX CONCURRENTLY can't run inside a transaction, so there is no
+-- BEGIN/COMMIT here. If a statement fails it leaves an INVALID index behind:
+-- drop it and run the statement again.
+
+-- findByCustomerId, findRecentOrdersByCustomer (newest first, no sort), existsByCustomerId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer_created ON orders (customer_id, created_at);
+
+-- findByStatus / countByStatus for the few active orders (most orders are SHIPPED)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status ON orders (status);
+
+-- summarizeLifecycleLatencies (recent orders only)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+-- Loading an order's items
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+
+-- Refresh planner statistics
+ANALYZE orders;
+ANALYZE order_items;
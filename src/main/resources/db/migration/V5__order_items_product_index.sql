@@ -0,0 +1,19 @@
+-- Migration: index for looking up orders by product
+--
+-- Why:
+--   OrderRepository.findByProductId ("all orders containing product X",
+--   e.g. for a recall) had no access path by product and scanned all of
+--   order_items. The index holds order_id as well, so the query's semi-join
+--   is answered from the index alone.
+--   JpaOrderRepositoryQueryPlanTest checks that the query uses it.
+--
+-- How to apply:
+--   Fresh databases get the index from the entity mapping (ddl-auto).
+--   For existing databases, run once (CONCURRENTLY doesn't block writes):
+--     psql -U postgres -d orderfulfillment -f V5__order_items_product_index.sql
+--
+-- As in V4, no BEGIN/COMMIT: CREATE INDEX CONCURRENTLY can't run in a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_product_order ON order_items (product_id, order_id);
+
+ANALYZE order_items;
@@ -0,0 +1,136 @@
+package com.midlevel.orderfulfillment.adapter.out.fx;
+
+import com.midlevel.orderfulfillment.domain.port.ExchangeRateProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the rate cache, using a mocked delegate provider and a
+ * clock the test moves forward.
+ */
+@DisplayName("CachingExchangeRateProvider Tests")
+class CachingExchangeRateProviderTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final BigDecimal EUR_USD = new BigDecimal("1.0850");
+
+    private ExchangeRateProvider delegate;
+    private MutableClock clock;
+    private CachingExchangeRateProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ExchangeRateProvider.class);
+        when(delegate.getRate("EUR", "USD")).thenReturn(EUR_USD);
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        provider = new CachingExchangeRateProvider(delegate, TTL, clock);
+    }
+
+    @Test
+    @DisplayName("Should answer from the cache while the rate is fresh")
+    void shouldCacheRate() {
+        assertEquals(EUR_USD, provider.getRate("EUR", "USD"));
+        clock.advance(TTL.minusMillis(1));
+        assertEquals(EUR_USD, provider.getRate("EUR", "USD"));
+
+        verify(delegate, times(1)).getRate("EUR", "USD");
+    }
+
+    @Test
+    @DisplayName("Should load the rate again once its time to live is over")
+    void shouldExpireRate() {
+        BigDecimal updated = new BigDecimal("1.0900");
+        provider.getRate("EUR", "USD");
+        when(delegate.getRate("EUR", "USD")).thenReturn(updated);
+
+        clock.advance(TTL);
+
+        assertEquals(updated, provider.getRate("EUR", "USD"));
+        assertEquals(updated, provider.getRate("EUR", "USD"));
+        verify(delegate, times(2)).getRate("EUR", "USD");
+    }
+
+    @Test
+    @DisplayName("Should return 1 for the same currency without asking the delegate")
+    void shouldShortcutSameCurrency() {
+        assertEquals(BigDecimal.ONE, provider.getRate("USD", "USD"));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Should reject a missing rate and not cache it")
+    void shouldRejectMissingRate() {
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> provider.getRate("EUR", "JPY"));
+        assertTrue(exception.getMessage().contains("EUR to JPY"));
+
+        assertThrows(IllegalArgumentException.class, () -> provider.getRate("EUR", "JPY"));
+        verify(delegate, times(2)).getRate("EUR", "JPY");
+    }
+
+    @Test
+    @DisplayName("Should load every rate again after invalidateAll")
+    void shouldInvalidateAll() {
+        provider.getRate("EUR", "USD");
+
+        provider.invalidateAll();
+
+        assertEquals(EUR_USD, provider.getRate("EUR", "USD"));
+        verify(delegate, times(2)).getRate("EUR", "USD");
+    }
+
+    @Test
+    @DisplayName("Should reject a missing delegate or a time to live that isn't positive")
+    void shouldValidateArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingExchangeRateProvider(null, TTL, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingExchangeRateProvider(delegate, Duration.ZERO, clock));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingExchangeRateProvider(delegate, Duration.ofSeconds(-1), clock));
+    }
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
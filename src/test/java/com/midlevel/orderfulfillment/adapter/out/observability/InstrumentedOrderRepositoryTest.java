@@ -0,0 +1,91 @@
+package com.midlevel.orderfulfillment.adapter.out.observability;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.midlevel.orderfulfillment.domain.model.OrderFixtures.sampleOrder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the metrics decorator, using an in-memory meter registry
+ * and a mocked delegate repository.
+ */
+@DisplayName("InstrumentedOrderRepository Tests")
+class InstrumentedOrderRepositoryTest {
+
+    private OrderRepository delegate;
+    private SimpleMeterRegistry registry;
+    private InstrumentedOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(OrderRepository.class);
+        registry = new SimpleMeterRegistry();
+        repository = new InstrumentedOrderRepository(delegate, registry);
+    }
+
+    private Timer timer(String method, String status) {
+        return registry.get(InstrumentedOrderRepository.CALLS)
+                .tag("method", method)
+                .tag("status", status)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("Should time successful calls and record result sizes")
+    void shouldTimeSuccessfulCalls() {
+        Order order = sampleOrder();
+        when(delegate.findByStatus(OrderStatus.CREATED)).thenReturn(List.of(order, order, order));
+        when(delegate.findById("missing")).thenReturn(Optional.empty());
+
+        assertEquals(3, repository.findByStatus(OrderStatus.CREATED).size());
+        assertTrue(repository.findById("missing").isEmpty());
+
+        assertEquals(1, timer("findByStatus", "success").count());
+        assertEquals(0, timer("findByStatus", "error").count());
+        assertEquals(3.0, registry.get(InstrumentedOrderRepository.RESULTS)
+                .tag("method", "findByStatus").summary().totalAmount());
+        assertEquals(0.0, registry.get(InstrumentedOrderRepository.RESULTS)
+                .tag("method", "findById").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should count failures by exception type and rethrow them")
+    void shouldCountFailures() {
+        IllegalStateException failure = new IllegalStateException("database down");
+        when(delegate.save(any())).thenThrow(failure);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> repository.save(sampleOrder()));
+
+        assertSame(failure, thrown);
+        assertEquals(1, timer("save", "error").count());
+        assertEquals(0, timer("save", "success").count());
+        assertEquals(1.0, registry.get(InstrumentedOrderRepository.ERRORS)
+                .tag("method", "save")
+                .tag("exception", "IllegalStateException")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should register meters for every port method up front")
+    void shouldRegisterMetersUpFront() {
+        for (String method : List.of("save", "findById", "findByCustomerId", "findByStatus",
+                "findByStatusIn", "countByStatusIn", "findAll", "deleteById", "existsById")) {
+            assertNotNull(timer(method, "success"), method);
+            assertNotNull(timer(method, "error"), method);
+        }
+    }
+}
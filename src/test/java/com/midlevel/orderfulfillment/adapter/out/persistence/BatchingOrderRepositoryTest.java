@@ -0,0 +1,135 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.midlevel.orderfulfillment.domain.model.OrderFixtures.sampleOrder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the findById() batching decorator, with a mocked delegate
+ * that records every findAllById() call.
+ */
+@DisplayName("BatchingOrderRepository Tests")
+class BatchingOrderRepositoryTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    /**
+     * Delegate that knows the given orders and records the IDs of every batch.
+     * Like the adapter, it returns a new instance per ID asked for.
+     */
+    private OrderRepository delegateWith(List<Order> orders) {
+        Map<String, Order> byId = orders.stream().collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+        OrderRepository delegate = mock(OrderRepository.class);
+        when(delegate.findAllById(any())).thenAnswer(call -> {
+            Collection<String> ids = call.getArgument(0);
+            batches.add(List.copyOf(ids));
+            return ids.stream()
+                    .filter(byId::containsKey)
+                    .map(id -> copyOf(byId.get(id)))
+                    .toList();
+        });
+        return delegate;
+    }
+
+    private static Order copyOf(Order order) {
+        return Order.reconstitute(order.getOrderId(), order.getCustomerId(), order.getItems(),
+                order.getShippingAddress(), order.getStatus(), order.getCreatedAt(), null, null);
+    }
+
+    @Test
+    @DisplayName("Should load concurrent lookups in one batch")
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        List<Order> orders = List.of(sampleOrder(), sampleOrder(), sampleOrder(), sampleOrder());
+        OrderRepository repository = new BatchingOrderRepository(
+                delegateWith(orders), Duration.ofMillis(200), 100);
+
+        List<Future<Optional<Order>>> results = new ArrayList<>();
+        for (Order order : orders) {
+            results.add(callers.submit(() -> repository.findById(order.getOrderId())));
+        }
+        results.add(callers.submit(() -> repository.findById("unknown")));
+
+        for (int i = 0; i < orders.size(); i++) {
+            assertEquals(orders.get(i).getOrderId(), results.get(i).get().orElseThrow().getOrderId());
+        }
+        assertTrue(results.get(orders.size()).get().isEmpty());
+        assertEquals(1, batches.size());
+        assertEquals(5, batches.get(0).size());
+    }
+
+    @Test
+    @DisplayName("Should give every caller its own instance of the same order")
+    void shouldNotShareInstances() throws Exception {
+        Order order = sampleOrder();
+        OrderRepository repository = new BatchingOrderRepository(
+                delegateWith(List.of(order)), Duration.ofMillis(200), 100);
+
+        Future<Optional<Order>> first = callers.submit(() -> repository.findById(order.getOrderId()));
+        Future<Optional<Order>> second = callers.submit(() -> repository.findById(order.getOrderId()));
+
+        assertNotSame(first.get().orElseThrow(), second.get().orElseThrow());
+        assertEquals(List.of(List.of(order.getOrderId(), order.getOrderId())), batches);
+    }
+
+    @Test
+    @DisplayName("Should load a full batch without waiting for the window")
+    void shouldLoadFullBatchAtOnce() throws Exception {
+        Order order = sampleOrder();
+        OrderRepository repository = new BatchingOrderRepository(
+                delegateWith(List.of(order)), Duration.ofSeconds(30), 1);
+
+        long start = System.nanoTime();
+        assertTrue(repository.findById(order.getOrderId()).isPresent());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed batch to every caller")
+    void shouldRethrowFailures() {
+        OrderRepository delegate = mock(OrderRepository.class);
+        IllegalStateException failure = new IllegalStateException("database down");
+        when(delegate.findAllById(any())).thenThrow(failure);
+        OrderRepository repository = new BatchingOrderRepository(delegate, Duration.ofMillis(1), 100);
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> repository.findById("any")));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        OrderRepository delegate = mock(OrderRepository.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new BatchingOrderRepository(null, Duration.ofMillis(1), 1));
+        assertThrows(IllegalArgumentException.class, () -> new BatchingOrderRepository(delegate, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BatchingOrderRepository(delegate, Duration.ofMillis(1), 0));
+    }
+}
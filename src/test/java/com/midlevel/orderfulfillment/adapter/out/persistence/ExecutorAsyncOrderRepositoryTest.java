@@ -0,0 +1,154 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the asynchronous lookups, with a mocked delegate whose
+ * calls can be held on a latch (like a slow query holding a connection).
+ */
+@DisplayName("ExecutorAsyncOrderRepository Tests")
+class ExecutorAsyncOrderRepositoryTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OrderRepository delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(OrderRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    private ExecutorAsyncOrderRepository repository(int threads, int queueCapacity, Duration timeout) {
+        return new ExecutorAsyncOrderRepository(delegate,
+                ExecutorAsyncOrderRepository.boundedExecutor(threads, queueCapacity), timeout);
+    }
+
+    /**
+     * Makes findByCustomerId("SLOW") block until the test releases it.
+     */
+    private void holdSlowLookups() {
+        when(delegate.findByCustomerId("SLOW")).thenAnswer(call -> {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return List.of();
+        });
+    }
+
+    @Test
+    @DisplayName("Should run independent lookups in parallel")
+    void shouldRunLookupsInParallel() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(delegate.findById("ORDER-1")).thenAnswer(call -> {
+            allStarted.countDown();
+            return allStarted.await(10, TimeUnit.SECONDS) ? Optional.empty() : null;
+        });
+        when(delegate.findByCustomerId("CUST-1")).thenAnswer(call -> {
+            allStarted.countDown();
+            return allStarted.await(10, TimeUnit.SECONDS) ? List.of() : null;
+        });
+        when(delegate.countByStatusIn(EnumSet.of(OrderStatus.CREATED))).thenAnswer(call -> {
+            allStarted.countDown();
+            return allStarted.await(10, TimeUnit.SECONDS) ? 7L : null;
+        });
+
+        try (ExecutorAsyncOrderRepository repository = repository(3, 10, Duration.ofSeconds(30))) {
+            CompletableFuture<Optional<Order>> order = repository.findById("ORDER-1");
+            CompletableFuture<List<Order>> history = repository.findByCustomerId("CUST-1");
+            CompletableFuture<Long> created = repository.countByStatusIn(EnumSet.of(OrderStatus.CREATED));
+
+            // Each lookup only returns once all three run at the same time
+            CompletableFuture.allOf(order, history, created).get(20, TimeUnit.SECONDS);
+            assertTrue(order.get().isEmpty());
+            assertTrue(history.get().isEmpty());
+            assertEquals(7L, created.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should time out, and skip a lookup that timed out while queued")
+    void shouldTimeOutQueuedLookups() throws Exception {
+        holdSlowLookups();
+        try (ExecutorAsyncOrderRepository repository = repository(1, 10, Duration.ofMillis(100))) {
+            CompletableFuture<?> slow = repository.findByCustomerId("SLOW");
+            CompletableFuture<Boolean> queued = repository.existsById("ORDER-1");
+
+            ExecutionException timedOut = assertThrows(ExecutionException.class, () -> queued.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, timedOut.getCause());
+            assertInstanceOf(TimeoutException.class,
+                    assertThrows(ExecutionException.class, () -> slow.get(10, TimeUnit.SECONDS)).getCause());
+
+            release.countDown();
+        }
+        Thread.sleep(100);
+        verify(delegate, never()).existsById("ORDER-1");
+    }
+
+    @Test
+    @DisplayName("Should never run a lookup cancelled while queued")
+    void shouldSkipCancelledLookups() throws Exception {
+        holdSlowLookups();
+        try (ExecutorAsyncOrderRepository repository = repository(1, 10, Duration.ofSeconds(30))) {
+            CompletableFuture<?> slow = repository.findByCustomerId("SLOW");
+            CompletableFuture<Boolean> queued = repository.existsById("ORDER-1");
+
+            assertTrue(queued.cancel(true));
+            release.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+        }
+        Thread.sleep(100);
+        verify(delegate, never()).existsById("ORDER-1");
+    }
+
+    @Test
+    @DisplayName("Should reject lookups when the queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        holdSlowLookups();
+        try (ExecutorAsyncOrderRepository repository = repository(1, 1, Duration.ofSeconds(30))) {
+            repository.findByCustomerId("SLOW");
+            repository.findByCustomerId("SLOW");
+            CompletableFuture<Boolean> rejected = repository.existsById("ORDER-1");
+
+            assertTrue(rejected.isCompletedExceptionally());
+            assertInstanceOf(RejectedExecutionException.class,
+                    assertThrows(ExecutionException.class, rejected::get).getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail the future with the lookup's exception")
+    void shouldPassOnFailures() {
+        IllegalStateException failure = new IllegalStateException("database down");
+        when(delegate.existsById("ORDER-1")).thenThrow(failure);
+        try (ExecutorAsyncOrderRepository repository = repository(1, 1, Duration.ofSeconds(30))) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> repository.existsById("ORDER-1").get(10, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+    }
+}
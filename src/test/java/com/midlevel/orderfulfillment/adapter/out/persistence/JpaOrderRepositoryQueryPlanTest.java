@@ -0,0 +1,435 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Query-plan regression tests for JpaOrderRepository.
+ *
+ * Seeds a production-shaped data set (100,000 orders over a year, most of
+ * them SHIPPED; 1-3 items each), then calls every derived and @Query method
+ * of JpaOrderRepository. Each distinct SQL statement the call sends (the
+ * query itself and e.g. the item loads) is captured together with its bind
+ * values and re-run as EXPLAIN (ANALYZE, BUFFERS).
+ *
+ * A query fails the test when its plan:
+ * - uses a sequential scan on a large table (>= 10,000 rows), or
+ * - touches more shared buffers (hit + read, 8 KB pages) than its budget
+ *
+ * Plan snapshots (the SQL and its plan shape, EXPLAIN (COSTS OFF), with
+ * generated IDs and timestamps masked) are committed as baselines under
+ * src/test/resources/query-plans/<query>.plan. A query also fails when its
+ * snapshot differs from the baseline; the new snapshot is written to
+ * target/query-plans/<query>.plan for diffing. When the change is intended,
+ * rerun with -Dquery-plans.update=true and commit the updated baselines.
+ * A query without a baseline yet gets one written on its first run.
+ *
+ * OrderSearchQuery builds its statement per combination of criteria; the
+ * search cases cover the typical combinations (index-backed filters, an
+ * unindexed filter riding on the created_at order, and a keyset page).
+ *
+ * When a new query method is added to JpaOrderRepository, add a case here.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("JpaOrderRepository Query Plan Tests")
+class JpaOrderRepositoryQueryPlanTest {
+
+    private static final int ORDERS = 100_000;
+    private static final int CUSTOMERS = 10_000;
+    private static final long LARGE_TABLE_ROWS = 10_000;
+    private static final Path BASELINE_DIRECTORY = Path.of("src", "test", "resources", "query-plans");
+    private static final Path SNAPSHOT_DIRECTORY = Path.of("target", "query-plans");
+    private static final boolean UPDATE_BASELINES = Boolean.getBoolean("query-plans.update");
+
+    // Values that change with every seed or run: generated order IDs and timestamps
+    private static final Pattern UUID_LITERAL =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final Pattern TIMESTAMP_LITERAL =
+            Pattern.compile("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}(\\.\\d+)?([+-]\\d{2}(:\\d{2})?)?");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    /**
+     * Wraps the DataSource so the SQL (and bind values) Hibernate sends can be captured.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfiguration {
+
+        @Bean
+        static StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        static BeanPostProcessor statementCaptureDataSourceWrapper(StatementCapture statementCapture) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return ProxyDataSourceBuilder.create(dataSource).listener(statementCapture).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Records SELECT statements and their first set of bind values while capturing is on.
+     */
+    static final class StatementCapture implements QueryExecutionListener {
+        private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean capturing;
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (!capturing) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                if (query.getQuery().stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                    List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                            ? List.of()
+                            : query.getParametersList().get(0);
+                    statements.add(new CapturedStatement(query.getQuery(), parameters));
+                }
+            }
+        }
+
+        /**
+         * Runs the call and returns the distinct statements it sent, in order.
+         */
+        List<CapturedStatement> capture(Runnable call) {
+            statements.clear();
+            capturing = true;
+            try {
+                call.run();
+            } finally {
+                capturing = false;
+            }
+            Map<String, CapturedStatement> distinct = new LinkedHashMap<>();
+            statements.forEach(statement -> distinct.putIfAbsent(statement.sql(), statement));
+            return new ArrayList<>(distinct.values());
+        }
+    }
+
+    record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * One repository call and the most shared buffers any of its statements may touch.
+     */
+    record QueryCase(String name, long bufferBudget, Runnable call) {
+    }
+
+    @Autowired
+    private JpaOrderRepository jpaOrderRepository;
+
+    @Autowired
+    private OrderSearchQuery orderSearchQuery;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Parameters taken from the seeded data
+    private UUID activeOrderId;
+    private String customerId;
+    private List<UUID> recentOrderIds;
+
+    /**
+     * Seeds orders in creation order, the way production fills the table:
+     * - created_at spread over the last 365 days
+     * - newest 2% CREATED, next 5% PAID, older orders SHIPPED (every 12th CANCELLED)
+     * - 1-3 items per order, plus a rare product on about 1 order in 1,000
+     * Then VACUUM ANALYZE, so the planner has real statistics.
+     */
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO orders (order_id, customer_id, created_at, paid_at, shipped_at, status,
+                                    street, city, state, zip_code, country)
+                SELECT gen_random_uuid(),
+                       'CUST-' || (g * 7919 % ?),
+                       o.created_at,
+                       CASE WHEN o.status IN ('PAID', 'SHIPPED') THEN o.created_at + interval '1 hour' END,
+                       CASE WHEN o.status = 'SHIPPED' THEN o.created_at + interval '1 day' END,
+                       o.status,
+                       g || ' Main St', 'Springfield', 'IL', '62701', CASE WHEN g % 5 = 0 THEN 'CA' ELSE 'US' END
+                FROM generate_series(1, ?) g
+                CROSS JOIN LATERAL (
+                    SELECT now() - (? - g) * interval '315 seconds' AS created_at,
+                           CASE WHEN g > ? * 0.98 THEN 'CREATED'
+                                WHEN g > ? * 0.93 THEN 'PAID'
+                                WHEN g % 12 = 0 THEN 'CANCELLED'
+                                ELSE 'SHIPPED' END AS status
+                ) o
+                """, CUSTOMERS, ORDERS, ORDERS, ORDERS, ORDERS);
+
+        jdbcTemplate.update("""
+                INSERT INTO order_items (order_id, product_id, product_name, unit_price, currency, quantity)
+                SELECT o.order_id, 'PROD-' || p, 'Product ' || p, 9.99, 'USD', 1
+                FROM orders o
+                CROSS JOIN LATERAL generate_series(1, 1 + abs(hashtext(o.order_id::text)) % 3) p
+                """);
+
+        // A rarely ordered product (about 1 order in 1,000), as in a recall
+        jdbcTemplate.update("""
+                INSERT INTO order_items (order_id, product_id, product_name, unit_price, currency, quantity)
+                SELECT o.order_id, 'PROD-RARE', 'Rare product', 9.99, 'USD', 1
+                FROM orders o
+                WHERE abs(hashtext(o.order_id::text)) % 1000 = 0
+                """);
+
+        jdbcTemplate.execute("VACUUM ANALYZE orders");
+        jdbcTemplate.execute("VACUUM ANALYZE order_items");
+
+        activeOrderId = jdbcTemplate.queryForObject(
+                "SELECT order_id FROM orders WHERE status = 'CREATED' LIMIT 1", UUID.class);
+        customerId = "CUST-42";
+        recentOrderIds = jdbcTemplate.queryForList(
+                "SELECT order_id FROM orders ORDER BY created_at DESC LIMIT 100", UUID.class);
+    }
+
+    private List<QueryCase> queryCases() {
+        EnumSet<OrderStatus> active = EnumSet.of(OrderStatus.CREATED, OrderStatus.PAID);
+        Instant lastWeek = Instant.now().minus(7, ChronoUnit.DAYS);
+        Instant lastQuarter = Instant.now().minus(90, ChronoUnit.DAYS);
+        OrderSearchCriteria canada = OrderSearchCriteria.all().withCountry("CA");
+
+        return List.of(
+                new QueryCase("findById", 20, () -> jpaOrderRepository.findById(activeOrderId)),
+                new QueryCase("findAllById", 1_000, () -> jpaOrderRepository.findAllById(recentOrderIds)),
+                new QueryCase("existsById", 20, () -> jpaOrderRepository.existsById(activeOrderId)),
+                new QueryCase("findByCustomerId", 100, () -> jpaOrderRepository.findByCustomerId(customerId)),
+                new QueryCase("findByStatus", 500, () -> jpaOrderRepository.findByStatus(OrderStatus.CREATED)),
+                new QueryCase("findByStatusIn", 1_000, () -> jpaOrderRepository.findByStatusIn(active)),
+                new QueryCase("findByCustomerIdAndStatus", 100,
+                        () -> jpaOrderRepository.findByCustomerIdAndStatus(customerId, OrderStatus.SHIPPED)),
+                new QueryCase("findRecentOrdersByCustomer", 100,
+                        () -> jpaOrderRepository.findRecentOrdersByCustomer(customerId)),
+                new QueryCase("countByStatus", 200, () -> jpaOrderRepository.countByStatus(OrderStatus.CREATED)),
+                new QueryCase("countByStatusIn", 500, () -> jpaOrderRepository.countByStatusIn(active)),
+                new QueryCase("existsByCustomerId", 20, () -> jpaOrderRepository.existsByCustomerId(customerId)),
+                new QueryCase("findSummariesByProductId", 1_000,
+                        () -> jpaOrderRepository.findSummariesByProductId("PROD-RARE",
+                                Instant.now().minus(90, ChronoUnit.DAYS), Instant.now(), EnumSet.allOf(OrderStatus.class))),
+                new QueryCase("findItemsByOrderIdIn", 1_000,
+                        () -> jpaOrderRepository.findItemsByOrderIdIn(recentOrderIds)),
+                new QueryCase("summarizeLifecycleLatencies", 500,
+                        () -> jpaOrderRepository.summarizeLifecycleLatencies(lastWeek)),
+                new QueryCase("search-customerAndStatuses", 100,
+                        () -> orderSearchQuery.search(OrderSearchCriteria.all()
+                                .withCustomerId(customerId)
+                                .withStatuses(EnumSet.of(OrderStatus.SHIPPED, OrderStatus.CANCELLED)))),
+                new QueryCase("search-countryAndMinimumTotal", 1_000,
+                        () -> orderSearchQuery.search(canada.withMinimumTotal(Money.usd(new BigDecimal("20.00"))))),
+                new QueryCase("search-countryNextPage", 500,
+                        () -> orderSearchQuery.search(orderSearchQuery.search(canada).nextPage().orElseThrow())),
+                new QueryCase("search-productSince", 1_000,
+                        () -> orderSearchQuery.search(OrderSearchCriteria.all()
+                                .withProductId("PROD-RARE")
+                                .withCreatedBetween(lastQuarter, null)))
+        );
+    }
+
+    @TestFactory
+    @DisplayName("Every query should use an index and stay within its buffer budget")
+    Stream<DynamicTest> queryPlans() {
+        return queryCases().stream().map(queryCase -> DynamicTest.dynamicTest(queryCase.name(), () -> {
+            List<CapturedStatement> statements = statementCapture.capture(queryCase.call());
+            assertThat(statements).as("SQL sent by %s", queryCase.name()).isNotEmpty();
+
+            StringBuilder snapshot = new StringBuilder();
+            try (Connection connection = dataSource.getConnection()) {
+                for (CapturedStatement statement : statements) {
+                    JsonNode plan = explainAnalyze(connection, statement);
+                    long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+
+                    assertThat(sequentialScansOfLargeTables(connection, plan))
+                            .as("Sequential scans of large tables in %s:%n%s", queryCase.name(), statement.sql())
+                            .isEmpty();
+                    assertThat(buffers)
+                            .as("Shared buffers of %s (budget %d):%n%s", queryCase.name(),
+                                    queryCase.bufferBudget(), statement.sql())
+                            .isLessThanOrEqualTo(queryCase.bufferBudget());
+
+                    snapshot.append("-- ").append(statement.sql()).append('\n')
+                            .append(mask(explainShape(connection, statement))).append('\n');
+                }
+            }
+            assertMatchesBaseline(queryCase.name(), snapshot.toString());
+        }));
+    }
+
+    // EXPLAIN
+
+    /**
+     * @return the root plan node (its buffer counts include all child nodes)
+     */
+    private JsonNode explainAnalyze(Connection connection, CapturedStatement statement)
+            throws SQLException, IOException {
+        String json = explain(connection, "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ", statement);
+        return objectMapper.readTree(json).get(0).get("Plan");
+    }
+
+    private String explainShape(Connection connection, CapturedStatement statement) throws SQLException {
+        return explain(connection, "EXPLAIN (COSTS OFF) ", statement);
+    }
+
+    /**
+     * Runs EXPLAIN on the captured SQL with the same bind values, replayed
+     * through the same JDBC setter calls Hibernate made.
+     */
+    private static String explain(Connection connection, String explainPrefix, CapturedStatement statement)
+            throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement(explainPrefix + statement.sql())) {
+            for (ParameterSetOperation parameter : statement.parameters()) {
+                try {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Cannot replay " + parameter.getMethod().getName(), e);
+                }
+            }
+            StringBuilder output = new StringBuilder();
+            try (ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    output.append(rs.getString(1)).append('\n');
+                }
+            }
+            return output.toString();
+        }
+    }
+
+    private List<String> sequentialScansOfLargeTables(Connection connection, JsonNode plan) throws SQLException {
+        List<String> relations = new ArrayList<>();
+        collectSequentialScans(plan, relations);
+
+        List<String> large = new ArrayList<>();
+        for (String relation : Set.copyOf(relations)) {
+            if (estimatedRows(connection, relation) >= LARGE_TABLE_ROWS) {
+                large.add(relation);
+            }
+        }
+        return large;
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, relations);
+        }
+    }
+
+    private static long estimatedRows(Connection connection, String relation) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT reltuples::bigint FROM pg_class WHERE relname = ?")) {
+            query.setString(1, relation);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    // Snapshots
+
+    private static String mask(String plan) {
+        String masked = UUID_LITERAL.matcher(plan).replaceAll("<uuid>");
+        return TIMESTAMP_LITERAL.matcher(masked).replaceAll("<timestamp>");
+    }
+
+    /**
+     * Writes the snapshot to target/query-plans and compares it with the
+     * committed baseline (written instead when missing or when updating).
+     */
+    private static void assertMatchesBaseline(String name, String snapshot) throws IOException {
+        Path actual = SNAPSHOT_DIRECTORY.resolve(name + ".plan");
+        Files.createDirectories(SNAPSHOT_DIRECTORY);
+        Files.writeString(actual, snapshot);
+
+        Path baseline = BASELINE_DIRECTORY.resolve(name + ".plan");
+        if (UPDATE_BASELINES || !Files.exists(baseline)) {
+            Files.createDirectories(BASELINE_DIRECTORY);
+            Files.writeString(baseline, snapshot);
+            return;
+        }
+        assertThat(snapshot)
+                .as("Plan of %s differs from its baseline - diff %s %s; if intended, rerun with "
+                        + "-Dquery-plans.update=true and commit the baseline", name, baseline, actual)
+                .isEqualTo(Files.readString(baseline));
+    }
+}
@@ -0,0 +1,162 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.*;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.stress.StressRun;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Stress test for concurrent load-modify-save of the same orders.
+ *
+ * Many threads repeatedly load one of a few shared orders through the
+ * OrderRepository port, apply pay/ship/cancel to their copy, and save it -
+ * the way concurrent requests for the same order behave in production.
+ *
+ * CHECKED (must hold):
+ * - every stored row is internally consistent: PAID/SHIPPED rows have
+ *   paid_at, SHIPPED rows have shipped_at, CANCELLED rows never have shipped_at
+ *
+ * REPORTED (the adapter has no optimistic locking yet, so these can happen):
+ * - lost updates: a successfully saved ship() overwritten by a cancel() made
+ *   on an older copy (or the other way round)
+ * - failed saves: conflicting concurrent writes rejected by Hibernate/PostgreSQL
+ * - orders whose stored item count changed
+ * Together with throughput and contention these are the baseline for
+ * judging locking and caching changes to the persistence adapter.
+ *
+ * Tagged "stress": not part of the normal build, run with
+ *   mvn test -Pstress
+ */
+@Tag("stress")
+@SpringBootTest
+@Testcontainers
+@DisplayName("OrderRepository Concurrency Stress Tests")
+class OrderRepositoryConcurrencyStressTest {
+
+    private static final int THREADS = 16;
+    private static final Duration DURATION = Duration.ofSeconds(20);
+    private static final int ORDERS = 32;
+    private static final int ITEMS_PER_ORDER = 2;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("logging.level.com.midlevel.orderfulfillment", () -> "WARN");
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final List<String> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = Order.create("STRESS-" + i,
+                    List.of(OrderItem.of("PROD001", "Laptop", Money.usd(BigDecimal.valueOf(999.99)), 1),
+                            OrderItem.of("PROD002", "Mouse", Money.usd(BigDecimal.valueOf(29.99)), 2)),
+                    Address.of("123 Main St", "Springfield", "IL", "62701", "US"));
+            // Half start paid, so ship and cancel race from the start
+            if (i % 2 == 0) {
+                order.pay();
+            }
+            orderIds.add(orderRepository.save(order).getOrderId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderIds.forEach(orderRepository::deleteById);
+    }
+
+    @Test
+    @DisplayName("Concurrent load-modify-save should leave consistent rows")
+    void concurrentSavesKeepRowsConsistent() throws InterruptedException {
+        // Orders for which a ship() / cancel() was saved without error
+        Set<String> shippedSaved = ConcurrentHashMap.newKeySet();
+        Set<String> cancelledSaved = ConcurrentHashMap.newKeySet();
+        LongAdder failedSaves = new LongAdder();
+
+        StressRun.Result result = StressRun.run("order-load-modify-save", THREADS, DURATION, (thread, random) -> {
+            String orderId = orderIds.get(random.nextInt(ORDERS));
+            Order order = orderRepository.findById(orderId).orElseThrow();
+
+            int action = random.nextInt(3);
+            switch (action) {
+                case 0 -> order.pay();
+                case 1 -> order.ship();
+                default -> order.cancel();
+            }
+
+            try {
+                orderRepository.save(order);
+            } catch (DataAccessException e) {
+                failedSaves.increment();
+                return;
+            }
+            if (action == 1) {
+                shippedSaved.add(orderId);
+            } else if (action == 2) {
+                cancelledSaved.add(orderId);
+            }
+        });
+
+        int lostUpdates = 0;
+        int changedItemCounts = 0;
+        for (String orderId : orderIds) {
+            Order stored = orderRepository.findById(orderId).orElseThrow();
+            OrderStatus status = stored.getStatus();
+
+            if (status == OrderStatus.PAID || status == OrderStatus.SHIPPED) {
+                assertThat(stored.getPaidAt()).as("paidAt of %s order %s", status, orderId).isNotNull();
+            }
+            if (status == OrderStatus.SHIPPED) {
+                assertThat(stored.getShippedAt()).as("shippedAt of shipped order %s", orderId).isNotNull();
+            }
+            if (status == OrderStatus.CANCELLED) {
+                assertThat(stored.getShippedAt()).as("shippedAt of cancelled order %s", orderId).isNull();
+            }
+
+            if ((shippedSaved.contains(orderId) && status != OrderStatus.SHIPPED)
+                    || (cancelledSaved.contains(orderId) && status != OrderStatus.CANCELLED)) {
+                lostUpdates++;
+            }
+            if (stored.getItems().size() != ITEMS_PER_ORDER) {
+                changedItemCounts++;
+            }
+        }
+
+        System.out.printf("%d orders: %d lost updates, %,d failed saves, %d with a changed item count%n",
+                ORDERS, lostUpdates, failedSaves.sum(), changedItemCounts);
+
+        assertThat(result.operations()).isPositive();
+    }
+}
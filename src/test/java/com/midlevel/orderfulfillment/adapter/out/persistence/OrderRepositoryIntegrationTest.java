@@ -1,10 +1,17 @@
 package com.midlevel.orderfulfillment.adapter.out.persistence;
 
+import com.midlevel.orderfulfillment.adapter.out.observability.OrderLifecycleEndpoint;
 import com.midlevel.orderfulfillment.domain.model.*;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.port.AsyncOrderRepository;
 import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -12,8 +19,18 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -83,6 +100,18 @@ class OrderRepositoryIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private AsyncOrderRepository asyncOrderRepository;
+    
+    @Autowired
+    private OrderLifecycleEndpoint orderLifecycleEndpoint;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     // Test data - reused across tests
     private Order testOrder;
     private String customerId = "CUST001";
@@ -118,7 +147,7 @@ class OrderRepositoryIntegrationTest {
      * Test: Verify Testcontainers is working
      */
     @Test
-    @Order(1)
+    @org.junit.jupiter.api.Order(1)
     @DisplayName("Should have PostgreSQL container running")
     void testContainerIsRunning() {
         assertThat(postgres.isRunning()).isTrue();
@@ -130,7 +159,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: JPA save operation and entity mapping
      */
     @Test
-    @Order(2)
+    @org.junit.jupiter.api.Order(2)
     @DisplayName("Should save a new order to database")
     void testSaveOrder() {
         // When
@@ -150,7 +179,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: JPA query and entity-to-domain conversion
      */
     @Test
-    @Order(3)
+    @org.junit.jupiter.api.Order(3)
     @DisplayName("Should find order by ID")
     void testFindById() {
         // Given - save an order first
@@ -171,7 +200,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: Proper handling of not found case
      */
     @Test
-    @Order(4)
+    @org.junit.jupiter.api.Order(4)
     @DisplayName("Should return empty Optional when order not found")
     void testFindByIdNotFound() {
         // When
@@ -186,7 +215,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: Custom query methods work correctly
      */
     @Test
-    @Order(5)
+    @org.junit.jupiter.api.Order(5)
     @DisplayName("Should find all orders for a customer")
     void testFindByCustomerId() {
         // Given - save multiple orders for same customer
@@ -210,7 +239,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: Enum-based queries work correctly
      */
     @Test
-    @Order(6)
+    @org.junit.jupiter.api.Order(6)
     @DisplayName("Should find orders by status")
     void testFindByStatus() {
         // Given - save orders with different statuses
@@ -241,7 +270,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: JPA update operations and state changes persist
      */
     @Test
-    @Order(7)
+    @org.junit.jupiter.api.Order(7)
     @DisplayName("Should update order status and persist changes")
     void testUpdateOrder() {
         // Given - save an order
@@ -263,7 +292,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: Cascade delete works for order items
      */
     @Test
-    @Order(8)
+    @org.junit.jupiter.api.Order(8)
     @DisplayName("Should delete order and cascade to items")
     void testDeleteOrder() {
         // Given - save an order
@@ -285,7 +314,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: Bulk read operations
      */
     @Test
-    @Order(9)
+    @org.junit.jupiter.api.Order(9)
     @DisplayName("Should find all orders in database")
     void testFindAll() {
         // Given - save multiple orders
@@ -306,7 +335,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: One-to-many relationship and embedded objects
      */
     @Test
-    @Order(10)
+    @org.junit.jupiter.api.Order(10)
     @DisplayName("Should persist order items with correct values")
     void testOrderItemsPersistence() {
         // Given
@@ -330,7 +359,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: @Embeddable mapping works
      */
     @Test
-    @Order(11)
+    @org.junit.jupiter.api.Order(11)
     @DisplayName("Should persist embedded address correctly")
     void testAddressEmbedding() {
         // Given
@@ -344,7 +373,7 @@ class OrderRepositoryIntegrationTest {
         assertThat(address.getStreet()).isEqualTo("123 Main St");
         assertThat(address.getCity()).isEqualTo("Springfield");
         assertThat(address.getState()).isEqualTo("IL");
-        assertThat(address.getZipCode()).isEqualTo("62701");
+        assertThat(address.getPostalCode()).isEqualTo("62701");
         assertThat(address.getCountry()).isEqualTo("US");
     }
     
@@ -353,7 +382,7 @@ class OrderRepositoryIntegrationTest {
      * Verifies: All state transitions persist correctly
      */
     @Test
-    @Order(12)
+    @org.junit.jupiter.api.Order(12)
     @DisplayName("Should persist complete order lifecycle")
     void testCompleteOrderLifecycle() {
         // Create order
@@ -376,4 +405,396 @@ class OrderRepositoryIntegrationTest {
         assertThat(shippedOrder.getStatus()).isEqualTo(OrderStatus.SHIPPED);
         assertThat(shippedOrder.getShippedAt()).isNotNull();
     }
+    
+    /**
+     * Test: Find orders by a set of statuses
+     * Verifies: Multi-status lookup translated into a single IN query
+     */
+    @Test
+    @org.junit.jupiter.api.Order(13)
+    @DisplayName("Should find orders matching any of several statuses")
+    void testFindByStatusIn() {
+        // Given - one order in each of three statuses
+        orderRepository.save(testOrder);
+        
+        Order paidOrder = Order.create("CUST004", items, shippingAddress);
+        paidOrder.pay();
+        orderRepository.save(paidOrder);
+        
+        Order cancelledOrder = Order.create("CUST005", items, shippingAddress);
+        cancelledOrder.cancel();
+        orderRepository.save(cancelledOrder);
+        
+        // When
+        List<Order> openOrders = orderRepository.findByStatusIn(OrderStatus.openStatuses());
+        
+        // Then
+        assertThat(openOrders)
+                .extracting(Order::getOrderId)
+                .contains(testOrder.getOrderId(), paidOrder.getOrderId())
+                .doesNotContain(cancelledOrder.getOrderId());
+        assertThat(openOrders)
+                .extracting(Order::getStatus)
+                .containsOnly(OrderStatus.CREATED, OrderStatus.PAID);
+        
+        assertThat(orderRepository.findByStatusIn(EnumSet.noneOf(OrderStatus.class))).isEmpty();
+    }
+    
+    /**
+     * Test: Count orders by a set of statuses
+     * Verifies: Multi-status count matches the individual lookups
+     */
+    @Test
+    @org.junit.jupiter.api.Order(14)
+    @DisplayName("Should count orders matching any of several statuses")
+    void testCountByStatusIn() {
+        // Given
+        orderRepository.save(testOrder);
+        
+        // When
+        long openCount = orderRepository.countByStatusIn(OrderStatus.openStatuses());
+        
+        // Then
+        long expected = orderRepository.findByStatus(OrderStatus.CREATED).size()
+                + orderRepository.findByStatus(OrderStatus.PAID).size();
+        assertThat(openCount).isEqualTo(expected).isGreaterThanOrEqualTo(1);
+        assertThat(orderRepository.countByStatusIn(EnumSet.noneOf(OrderStatus.class))).isZero();
+    }
+    
+    /**
+     * Test: Lifecycle latency metrics and database backfill
+     * Verifies: Saving a shipped order records time-to-pay/time-to-ship, and the
+     * aggregate backfill query reports the same order from the database
+     */
+    @Test
+    @org.junit.jupiter.api.Order(15)
+    @DisplayName("Should record lifecycle latencies and backfill them from the database")
+    void testLifecycleMetricsAndBackfill() {
+        // Given - a shipped order to a country no other test uses
+        Address frenchAddress = Address.of("1 Rue de Rivoli", "Paris", "PA", "75001", "FR");
+        Order order = Order.create("CUST006", items, frenchAddress);
+        order.pay();
+        order.ship();
+        
+        // When
+        orderRepository.save(order);
+        
+        // Then - live metrics, recorded from the published domain events
+        assertThat(meterRegistry.get("orders.lifecycle.time_to_pay").tag("country", "FR").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("orders.lifecycle.time_to_ship").tag("country", "FR").timer().count())
+                .isEqualTo(1);
+        
+        // And - the backfill computes the same phases from persisted rows
+        List<OrderLifecycleEndpoint.CountryLifecycle> lifecycle = orderLifecycleEndpoint.lifecycle(null);
+        assertThat(lifecycle)
+                .filteredOn(country -> country.country().equals("FR"))
+                .singleElement()
+                .satisfies(country -> {
+                    assertThat(country.shard()).isEqualTo("shard-0");
+                    assertThat(country.timeToPay().count()).isEqualTo(1);
+                    assertThat(country.timeToPay().p50Seconds()).isNotNull().isGreaterThanOrEqualTo(0.0);
+                    assertThat(country.timeToShip().count()).isEqualTo(1);
+                    assertThat(country.timeToShip().maxSeconds()).isNotNull().isGreaterThanOrEqualTo(0.0);
+                });
+    }
+    
+    /**
+     * Test: Lazy item loading
+     * Verifies: A loaded order is paid and saved without reading its items,
+     * and the items are still intact (and load on demand) afterwards
+     */
+    @Test
+    @org.junit.jupiter.api.Order(16)
+    @DisplayName("Should save status transitions without loading items")
+    void testLazyItemLoading() {
+        // Given
+        String orderId = orderRepository.save(testOrder).getOrderId();
+        
+        // When - load, pay and save
+        Order loaded = orderRepository.findById(orderId).orElseThrow();
+        loaded.pay();
+        orderRepository.save(loaded);
+        
+        // Then - the items were never needed
+        assertThat(loaded.hasItemsLoaded()).isFalse();
+        
+        // And - the new state is stored, and the items load on first access
+        Order reloaded = orderRepository.findById(orderId).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(reloaded.getPaidAt()).isNotNull();
+        assertThat(reloaded.hasItemsLoaded()).isFalse();
+        assertThat(reloaded.getItems()).isEqualTo(items);
+        assertThat(reloaded.calculateTotal()).isEqualTo(testOrder.calculateTotal());
+    }
+    
+    /**
+     * Test: Differential item persistence
+     * Verifies: Saving an amended order writes only the changed lines -
+     * untouched lines keep their rows
+     */
+    @Test
+    @org.junit.jupiter.api.Order(17)
+    @DisplayName("Should save only the item lines an amendment changed")
+    void testAmendmentSavesOnlyChangedLines() {
+        // Given - a stored order with two lines
+        String orderId = orderRepository.save(testOrder).getOrderId();
+        Long laptopRowId = itemRowId(orderId, "PROD001");
+        
+        // When - amend and save
+        Order loaded = orderRepository.findById(orderId).orElseThrow();
+        loaded.changeItemQuantity("PROD002", 5);
+        loaded.addItem(OrderItem.of("PROD003", "Keyboard", Money.usd(BigDecimal.valueOf(49.99)), 1));
+        orderRepository.save(loaded);
+        
+        // Then - the changes are stored and nothing is pending
+        assertThat(loaded.getPendingItemChanges()).isEmpty();
+        Order reloaded = orderRepository.findById(orderId).orElseThrow();
+        assertThat(reloaded.getItems())
+                .extracting(OrderItem::getProductId, OrderItem::getQuantity)
+                .containsExactly(tuple("PROD001", 1), tuple("PROD002", 5), tuple("PROD003", 1));
+        assertThat(reloaded.calculateTotal()).isEqualTo(loaded.calculateTotal());
+        
+        // And - the untouched line was not deleted and re-inserted
+        assertThat(itemRowId(orderId, "PROD001")).isEqualTo(laptopRowId);
+        
+        // When - remove a line
+        reloaded.removeItem("PROD003");
+        orderRepository.save(reloaded);
+        
+        // Then
+        assertThat(orderRepository.findById(orderId).orElseThrow().getItems()).hasSize(2);
+        assertThat(itemRowId(orderId, "PROD001")).isEqualTo(laptopRowId);
+    }
+    
+    /**
+     * Test: Lookup by product
+     * Verifies: findByProductId matches on any line, filters by status and
+     * time range, and returns each order once
+     */
+    @Test
+    @org.junit.jupiter.api.Order(18)
+    @DisplayName("Should find orders containing a product")
+    void testFindByProductId() {
+        // Given - a product no other test uses, on two lines of one order (as stored
+        // before orders were limited to one line per product, so the second is inserted directly)
+        OrderItem recalled = OrderItem.of("RECALL-1", "Heater", Money.usd(BigDecimal.valueOf(79.00)), 1);
+        Order twoLines = orderRepository.save(Order.create("CUST007", List.of(recalled), shippingAddress));
+        jdbcTemplate.update("""
+                INSERT INTO order_items (order_id, product_id, product_name, unit_price, currency, quantity)
+                VALUES (?::uuid, 'RECALL-1', 'Heater', 79.00, 'USD', 1)
+                """, twoLines.getOrderId());
+        Order paid = Order.create("CUST008", List.of(items.get(0), recalled), shippingAddress);
+        paid.pay();
+        paid = orderRepository.save(paid);
+        orderRepository.save(Order.create("CUST009", items, shippingAddress));
+        
+        Instant from = Instant.now().minus(1, ChronoUnit.DAYS);
+        Instant to = Instant.now().plus(1, ChronoUnit.DAYS);
+        
+        // When
+        List<OrderSummary> all = orderRepository.findByProductId("RECALL-1", from, to, EnumSet.allOf(OrderStatus.class));
+        List<OrderSummary> paidOnly = orderRepository.findByProductId("RECALL-1", from, to, EnumSet.of(OrderStatus.PAID));
+        
+        // Then - newest first, each order once
+        assertThat(all).extracting(OrderSummary::getOrderId)
+                .containsExactly(paid.getOrderId(), twoLines.getOrderId());
+        assertThat(paidOnly).singleElement().satisfies(summary -> {
+            assertThat(summary.getCustomerId()).isEqualTo("CUST008");
+            assertThat(summary.getShippingCountry()).isEqualTo("US");
+        });
+        assertThat(orderRepository.findByProductId("RECALL-1", to, to.plus(1, ChronoUnit.DAYS),
+                EnumSet.allOf(OrderStatus.class))).isEmpty();
+        assertThat(orderRepository.findByProductId("RECALL-1", from, to, EnumSet.noneOf(OrderStatus.class))).isEmpty();
+    }
+    
+    /**
+     * Test: Multi-criteria search
+     * Verifies: any mix of criteria filters correctly, and keyset pages
+     * cover every match exactly once, newest first
+     */
+    @Test
+    @org.junit.jupiter.api.Order(19)
+    @DisplayName("Should search by any mix of criteria, page by page")
+    void testSearch() {
+        // Given - five orders of one customer no other test uses, shipped to Oregon
+        Address oregon = Address.of("9 Pine St", "Portland", "OR", "97201", "US");
+        OrderItem lamp = OrderItem.of("SEARCH-LAMP", "Lamp", Money.usd(BigDecimal.valueOf(250.00)), 2);
+        List<String> newestFirst = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = Order.create("CUST-SEARCH", i % 2 == 0 ? List.of(lamp) : items, oregon);
+            if (i < 2) {
+                order.pay();
+            }
+            newestFirst.add(0, orderRepository.save(order).getOrderId());
+        }
+        OrderSearchCriteria customer = OrderSearchCriteria.all().withCustomerId("CUST-SEARCH");
+        
+        // When - paging through the customer's orders two at a time
+        List<String> paged = new ArrayList<>();
+        Optional<OrderSearchCriteria> page = Optional.of(customer.withPageSize(2));
+        int pages = 0;
+        while (page.isPresent()) {
+            OrderSearchResult result = orderRepository.search(page.get());
+            result.getOrders().forEach(summary -> paged.add(summary.getOrderId()));
+            page = result.nextPage();
+            pages++;
+        }
+        
+        // Then
+        assertThat(paged).isEqualTo(newestFirst);
+        assertThat(pages).isEqualTo(3);
+        assertThat(orderRepository.search(customer.withStatuses(EnumSet.of(OrderStatus.PAID))).getOrders())
+                .extracting(OrderSummary::getOrderId)
+                .containsExactly(newestFirst.get(3), newestFirst.get(4));
+        assertThat(orderRepository.search(customer.withState("OR").withProductId("SEARCH-LAMP")
+                        .withMinimumTotal(Money.usd(BigDecimal.valueOf(500.00)))).getOrders())
+                .extracting(OrderSummary::getOrderId)
+                .containsExactly(newestFirst.get(0), newestFirst.get(2), newestFirst.get(4));
+        assertThat(orderRepository.search(customer.withProductId("SEARCH-LAMP")
+                        .withMinimumTotal(Money.usd(BigDecimal.valueOf(500.01))))
+                .getOrders()).isEmpty();
+        assertThat(orderRepository.search(customer.withCreatedBetween(null, Instant.now().minus(1, ChronoUnit.DAYS)))
+                .getOrders()).isEmpty();
+        assertThat(orderRepository.search(customer.withStatuses(EnumSet.noneOf(OrderStatus.class))).hasMore())
+                .isFalse();
+    }
+    
+    /**
+     * Test: Loading many orders by ID
+     * Verifies: findAllById keeps the order of the IDs, skips unknown IDs,
+     * returns an ID given twice as two instances, and loads lazily
+     */
+    @Test
+    @org.junit.jupiter.api.Order(20)
+    @DisplayName("Should find many orders by ID in the order given")
+    void testFindAllById() {
+        // Given
+        Order first = orderRepository.save(Order.create("CUST010", items, shippingAddress));
+        Order second = orderRepository.save(Order.create("CUST011", items, shippingAddress));
+        
+        // When
+        List<Order> found = orderRepository.findAllById(List.of(
+                second.getOrderId(), "not-a-uuid", first.getOrderId(),
+                UUID.randomUUID().toString(), second.getOrderId()));
+        
+        // Then
+        assertThat(found).extracting(Order::getOrderId)
+                .containsExactly(second.getOrderId(), first.getOrderId(), second.getOrderId());
+        assertThat(found.get(0)).isNotSameAs(found.get(2));
+        assertThat(found).noneMatch(Order::hasItemsLoaded);
+        assertThat(found).allSatisfy(order -> assertThat(order.getItems()).hasSize(2));
+        assertThat(orderRepository.findAllById(List.of())).isEmpty();
+    }
+    
+    /**
+     * Test: Concurrent lookups of one order
+     * Verifies: every caller gets its own, equal Order (whether or not its
+     * load was shared), and coalesced calls are counted
+     */
+    @Test
+    @org.junit.jupiter.api.Order(21)
+    @DisplayName("Should give concurrent lookups of one order their own instances")
+    void testConcurrentFindById() {
+        // Given
+        Order saved = orderRepository.save(Order.create("CUST012", items, shippingAddress));
+        CountDownLatch start = new CountDownLatch(1);
+        
+        // When - 16 lookups released at once
+        List<CompletableFuture<Order>> lookups = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            lookups.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return orderRepository.findById(saved.getOrderId()).orElseThrow();
+            }));
+        }
+        start.countDown();
+        List<Order> found = lookups.stream().map(CompletableFuture::join).toList();
+        
+        // Then
+        assertThat(found).allSatisfy(order -> {
+            assertThat(order).isEqualTo(saved);
+            assertThat(order.getItems()).hasSize(2);
+        });
+        Set<Order> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        instances.addAll(found);
+        assertThat(instances).hasSize(16);
+        assertThat(meterRegistry.get("orders.repository.coalesced").tag("method", "findById").tag("shard", "shard-0")
+                .functionCounter().count()).isGreaterThanOrEqualTo(0);
+    }
+    
+    /**
+     * Test: Asynchronous lookups
+     * Verifies: independent lookups composed with CompletableFuture see the
+     * same data as the synchronous repository
+     */
+    @Test
+    @org.junit.jupiter.api.Order(22)
+    @DisplayName("Should compose asynchronous lookups")
+    void testAsyncLookups() {
+        // Given
+        Order first = orderRepository.save(Order.create("CUST013", items, shippingAddress));
+        Order second = orderRepository.save(Order.create("CUST013", items, shippingAddress));
+        
+        // When - three lookups at once
+        CompletableFuture<Optional<Order>> order = asyncOrderRepository.findById(first.getOrderId());
+        CompletableFuture<List<Order>> history = asyncOrderRepository.findByCustomerId("CUST013");
+        CompletableFuture<Boolean> exists = asyncOrderRepository.existsById(second.getOrderId());
+        CompletableFuture.allOf(order, history, exists).join();
+        
+        // Then
+        assertThat(order.join()).contains(first);
+        assertThat(history.join()).extracting(Order::getOrderId)
+                .containsExactlyInAnyOrder(first.getOrderId(), second.getOrderId());
+        assertThat(exists.join()).isTrue();
+    }
+    
+    /**
+     * Test: Saving several orders in one transaction
+     * Verifies: new and stored orders are saved together, and a failing
+     * order rolls the others back
+     */
+    @Test
+    @org.junit.jupiter.api.Order(23)
+    @DisplayName("Should save several orders in one transaction")
+    void testSaveAll() {
+        // Given - a stored order to pay and two new ones
+        Order stored = orderRepository.save(Order.create("CUST014", items, shippingAddress));
+        stored.pay();
+        Order placed = Order.create("CUST014", items, shippingAddress);
+        Order another = Order.create("CUST014", items, shippingAddress);
+        
+        // When
+        List<Order> saved = orderRepository.saveAll(List.of(stored, placed, another));
+        
+        // Then
+        assertThat(saved).extracting(Order::getOrderId)
+                .containsExactly(stored.getOrderId(), placed.getOrderId(), another.getOrderId());
+        assertThat(saved).noneMatch(Order::isNew);
+        assertThat(orderRepository.findById(stored.getOrderId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(orderRepository.findByCustomerId("CUST014")).hasSize(3);
+        assertThat(orderRepository.saveAll(List.of())).isEmpty();
+        
+        // When - one order of the group no longer exists
+        Order gone = orderRepository.save(Order.create("CUST015", items, shippingAddress));
+        orderRepository.deleteById(gone.getOrderId());
+        gone.cancel();
+        Order rolledBack = Order.create("CUST015", items, shippingAddress);
+        
+        // Then - nothing of the group is saved
+        assertThatThrownBy(() -> orderRepository.saveAll(List.of(rolledBack, gone)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(orderRepository.existsById(rolledBack.getOrderId())).isFalse();
+        assertThat(rolledBack.isNew()).isTrue();
+    }
+    
+    private Long itemRowId(String orderId, String productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM order_items WHERE order_id = ?::uuid AND product_id = ?",
+                Long.class, orderId, productId);
+    }
 }
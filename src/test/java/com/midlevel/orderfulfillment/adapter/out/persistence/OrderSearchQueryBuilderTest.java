@@ -0,0 +1,94 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the search JPQL (without a database - the statements
+ * themselves are checked in OrderRepositoryIntegrationTest and
+ * JpaOrderRepositoryQueryPlanTest).
+ */
+@DisplayName("Order Search Query Builder Tests")
+class OrderSearchQueryBuilderTest {
+
+    private final OrderSearchQueryBuilder builder = new OrderSearchQueryBuilder();
+
+    @Test
+    @DisplayName("Should only add the predicates that are set")
+    void shouldOnlyAddSetPredicates() {
+        String all = builder.jpql(OrderSearchCriteria.all());
+        String customer = builder.jpql(OrderSearchCriteria.all().withCustomerId("CUST-1"));
+        String productAndTotal = builder.jpql(OrderSearchCriteria.all()
+                .withProductId("PROD-1")
+                .withMinimumTotal(Money.usd(new BigDecimal("100.00"))));
+
+        assertFalse(all.contains("WHERE"));
+        assertTrue(all.endsWith("ORDER BY o.createdAt DESC, o.orderId DESC"));
+        assertTrue(customer.contains("WHERE o.customerId = :customerId ORDER BY"));
+        assertTrue(productAndTotal.contains("EXISTS (SELECT 1 FROM OrderItemEntity p"));
+        assertTrue(productAndTotal.contains(">= :minimumTotal"));
+        assertFalse(productAndTotal.contains(":customerId"));
+        assertFalse(productAndTotal.contains(":statuses"));
+    }
+
+    @Test
+    @DisplayName("Should build one statement per shape, whatever the values")
+    void shouldCacheStatementPerShape() {
+        String first = builder.jpql(OrderSearchCriteria.all()
+                .withStatuses(EnumSet.of(OrderStatus.PAID))
+                .withCountry("US"));
+        String second = builder.jpql(OrderSearchCriteria.all()
+                .withCountry("CA")
+                .withStatuses(EnumSet.of(OrderStatus.CREATED, OrderStatus.SHIPPED)));
+
+        assertSame(first, second);
+        assertEquals(1, builder.cachedShapes());
+
+        builder.jpql(OrderSearchCriteria.all().withCountry("US"));
+        assertEquals(2, builder.cachedShapes());
+    }
+
+    @Test
+    @DisplayName("Should continue after the last order of a page")
+    void shouldContinueAfterLastOrder() {
+        OrderSearchCriteria criteria = OrderSearchCriteria.all().withCustomerId("CUST-1").withPageSize(1);
+        OrderSummary last = new OrderSummary(UUID.randomUUID().toString(), "CUST-1", OrderStatus.CREATED,
+                Instant.parse("2024-01-01T00:00:00Z"), null, "US");
+
+        OrderSearchCriteria next = new OrderSearchResult(criteria, List.of(last), true).nextPage().orElseThrow();
+
+        assertEquals(last.getOrderId(), next.getAfterOrderId());
+        assertEquals(last.getCreatedAt(), next.getAfterCreatedAt());
+        assertEquals(1, next.getPageSize());
+        assertEquals(OrderSearchQueryBuilder.CUSTOMER | OrderSearchQueryBuilder.AFTER,
+                OrderSearchQueryBuilder.shapeOf(next));
+        assertTrue(builder.jpql(next).contains("o.createdAt <= :afterCreatedAt"));
+        assertTrue(new OrderSearchResult(criteria, List.of(last), false).nextPage().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid criteria")
+    void shouldRejectInvalidCriteria() {
+        OrderSearchCriteria all = OrderSearchCriteria.all();
+        Instant now = Instant.now();
+
+        assertThrows(IllegalArgumentException.class, () -> all.withCustomerId(" "));
+        assertThrows(IllegalArgumentException.class, () -> all.withPageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> all.withPageSize(OrderSearchCriteria.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> all.withCreatedBetween(now, now));
+        assertTrue(all.withStatuses(EnumSet.noneOf(OrderStatus.class)).matchesNothing());
+    }
+}
@@ -0,0 +1,81 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.OrderIds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the consistent hashing of customer slots onto shards.
+ */
+@DisplayName("ShardRing Tests")
+class ShardRingTest {
+
+    private static int[] owners(ShardRing ring) {
+        int[] owners = new int[OrderIds.SLOTS];
+        for (int slot = 0; slot < OrderIds.SLOTS; slot++) {
+            owners[slot] = ring.shardOf(slot);
+        }
+        return owners;
+    }
+
+    @Test
+    @DisplayName("Should give every shard a roughly even share of the slots")
+    void shouldSpreadSlotsEvenly() {
+        ShardRing ring = new ShardRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"));
+
+        int[] counts = new int[4];
+        for (int owner : owners(ring)) {
+            counts[owner]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > OrderIds.SLOTS / 4 * 0.75 && count < OrderIds.SLOTS / 4 * 1.25,
+                    "Share should be near a quarter: " + count);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only move slots to a new shard when a shard is added")
+    void shouldMoveFewSlotsWhenAddingShard() {
+        List<String> before = List.of("shard-0", "shard-1", "shard-2");
+        List<String> after = List.of("shard-0", "shard-1", "shard-2", "shard-3");
+        int[] ownersBefore = owners(new ShardRing(before));
+        int[] ownersAfter = owners(new ShardRing(after));
+
+        int moved = 0;
+        for (int slot = 0; slot < OrderIds.SLOTS; slot++) {
+            if (ownersBefore[slot] != ownersAfter[slot]) {
+                moved++;
+                assertEquals(3, ownersAfter[slot], "A slot may only move to the new shard");
+            }
+        }
+        // About a quarter of the slots, not a reshuffle of all of them
+        assertTrue(moved > OrderIds.SLOTS / 4 * 0.75 && moved < OrderIds.SLOTS / 4 * 1.25, "Moved: " + moved);
+    }
+
+    @Test
+    @DisplayName("Should map slots by shard name, whatever the configured order")
+    void shouldNotDependOnShardOrder() {
+        ShardRing ring = new ShardRing(List.of("shard-a", "shard-b", "shard-c"));
+        ShardRing reordered = new ShardRing(List.of("shard-c", "shard-a", "shard-b"));
+
+        for (int slot = 0; slot < OrderIds.SLOTS; slot++) {
+            assertEquals(ring.shards().get(ring.shardOf(slot)), reordered.shards().get(reordered.shardOf(slot)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid shards and slots")
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardRing(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ShardRing(List.of("shard-0", "shard-0")));
+
+        ShardRing ring = new ShardRing(List.of("shard-0"));
+        assertEquals(0, ring.shardOf(OrderIds.SLOTS - 1));
+        assertThrows(IllegalArgumentException.class, () -> ring.shardOf(OrderIds.SLOTS));
+        assertThrows(IllegalArgumentException.class, () -> ring.shardOf(-1));
+    }
+}
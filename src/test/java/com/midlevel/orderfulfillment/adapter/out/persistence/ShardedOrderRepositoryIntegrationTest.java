@@ -0,0 +1,232 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.adapter.out.observability.OrderLifecycleEndpoint;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for customer-hash sharding over two PostgreSQL
+ * databases (two Testcontainers): the primary spring.datasource is shard-0,
+ * the second container is shard-1.
+ *
+ * Verifies the full stack: each shard gets its own schema and adapter,
+ * orders land in their customer's database, and lookups by ID and
+ * scatter-gather queries find them wherever they are.
+ */
+@SpringBootTest(properties = "orders.sharding.enabled=true")
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ShardedOrderRepositoryIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> shard0 = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("shard0")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> shard1 = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("shard1")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", shard0::getJdbcUrl);
+        registry.add("spring.datasource.username", shard0::getUsername);
+        registry.add("spring.datasource.password", shard0::getPassword);
+        registry.add("orders.sharding.shards[0].name", () -> "shard-1");
+        registry.add("orders.sharding.shards[0].url", shard1::getJdbcUrl);
+        registry.add("orders.sharding.shards[0].username", shard1::getUsername);
+        registry.add("orders.sharding.shards[0].password", shard1::getPassword);
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShardedOrderRepository shardedOrderRepository;
+
+    @Autowired
+    private OrderLifecycleEndpoint orderLifecycleEndpoint;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<OrderItem> items;
+    private Address shippingAddress;
+
+    @BeforeEach
+    void setUp() {
+        items = List.of(
+                OrderItem.of("PROD001", "Laptop", Money.usd(BigDecimal.valueOf(999.99)), 1),
+                OrderItem.of("PROD002", "Mouse", Money.usd(BigDecimal.valueOf(29.99)), 2)
+        );
+        shippingAddress = Address.usAddress("123 Main St", "Springfield", "IL", "62701");
+    }
+
+    /**
+     * Saves one order for each of the given number of customers (spread over both shards).
+     */
+    private List<Order> saveOrdersOfCustomers(int customers) {
+        List<Order> saved = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            saved.add(orderRepository.save(Order.create(String.format("SHARD%03d", i), items, shippingAddress)));
+        }
+        return saved;
+    }
+
+    private static long rowsIn(PostgreSQLContainer<?> database, String orderId) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                database.getJdbcUrl(), database.getUsername(), database.getPassword()));
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM orders WHERE order_id = ?::uuid", Long.class, orderId);
+    }
+
+    /**
+     * Test: Routing by customer
+     * Verifies: every order is stored in its customer's database only, with
+     * its items, and is found by ID through the repository
+     */
+    @Test
+    @org.junit.jupiter.api.Order(1)
+    @DisplayName("Should store each order in its customer's database")
+    void testRoutingByCustomer() {
+        // When
+        List<Order> saved = saveOrdersOfCustomers(20);
+
+        // Then
+        assertThat(shardedOrderRepository.shardNames()).containsExactly("shard-0", "shard-1");
+        assertThat(saved).extracting(order -> shardedOrderRepository.shardOf(order.getCustomerId()))
+                .contains("shard-0", "shard-1");
+        for (Order order : saved) {
+            boolean onShard1 = shardedOrderRepository.shardOf(order.getCustomerId()).equals("shard-1");
+            assertThat(rowsIn(shard0, order.getOrderId())).isEqualTo(onShard1 ? 0 : 1);
+            assertThat(rowsIn(shard1, order.getOrderId())).isEqualTo(onShard1 ? 1 : 0);
+
+            Optional<Order> found = orderRepository.findById(order.getOrderId());
+            assertThat(found).contains(order);
+            assertThat(found.orElseThrow().getItems()).hasSize(2);
+        }
+        assertThat(orderRepository.findByCustomerId("SHARD000")).hasSize(1);
+    }
+
+    /**
+     * Test: Scatter-gather queries
+     * Verifies: status queries, counts and findAllById see the orders of both databases
+     */
+    @Test
+    @org.junit.jupiter.api.Order(2)
+    @DisplayName("Should gather queries from both databases")
+    void testScatterGather() {
+        // Given
+        List<Order> saved = saveOrdersOfCustomers(10);
+        Order paid = saved.get(0);
+        paid.pay();
+        orderRepository.save(paid);
+
+        // Then
+        assertThat(orderRepository.findByStatusIn(EnumSet.of(OrderStatus.PAID))).extracting(Order::getOrderId)
+                .contains(paid.getOrderId());
+        assertThat(orderRepository.countByStatusIn(EnumSet.allOf(OrderStatus.class)))
+                .isGreaterThanOrEqualTo(10);
+        List<String> ids = new ArrayList<>(saved.stream().map(Order::getOrderId).toList());
+        Collections.reverse(ids);
+        assertThat(orderRepository.findAllById(ids)).extracting(Order::getOrderId).containsExactlyElementsOf(ids);
+    }
+
+    /**
+     * Test: Search across shards
+     * Verifies: pages are newest first across both databases, and paging
+     * returns every matching order exactly once
+     */
+    @Test
+    @org.junit.jupiter.api.Order(3)
+    @DisplayName("Should page through a search across both databases")
+    void testSearchAcrossShards() {
+        // Given
+        List<Order> saved = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            saved.add(orderRepository.save(Order.create(String.format("SEARCH%03d", i),
+                    List.of(OrderItem.of("SHARD-LAMP", "Lamp", Money.usd(BigDecimal.valueOf(49.99)), 1)),
+                    shippingAddress)));
+        }
+
+        // When - pages of 5
+        List<OrderSummary> paged = new ArrayList<>();
+        Optional<OrderSearchCriteria> page = Optional.of(
+                OrderSearchCriteria.all().withProductId("SHARD-LAMP").withPageSize(5));
+        while (page.isPresent()) {
+            OrderSearchResult result = orderRepository.search(page.get());
+            paged.addAll(result.getOrders());
+            page = result.nextPage();
+        }
+
+        // Then
+        assertThat(paged).extracting(OrderSummary::getOrderId)
+                .containsExactlyInAnyOrderElementsOf(saved.stream().map(Order::getOrderId).toList());
+        assertThat(paged).extracting(OrderSummary::getCreatedAt)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    /**
+     * Test: Shard-aware observability
+     * Verifies: the lifecycle endpoint reports the orders of both databases,
+     * one entry per shard, and each shard counts its coalesced lookups
+     */
+    @Test
+    @org.junit.jupiter.api.Order(4)
+    @DisplayName("Should report lifecycle and coalescing per shard")
+    void testObservabilityPerShard() {
+        // Given - a shipped order per customer, to a country no other test uses
+        Address dutchAddress = Address.of("Dam 1", "Amsterdam", "NH", "1012", "NL");
+        for (int i = 0; i < 20; i++) {
+            Order order = Order.create(String.format("LIFECYCLE%03d", i), items, dutchAddress);
+            order.pay();
+            order.ship();
+            orderRepository.save(order);
+        }
+
+        // Then
+        assertThat(orderLifecycleEndpoint.lifecycle(null))
+                .filteredOn(country -> country.country().equals("NL"))
+                .extracting(OrderLifecycleEndpoint.CountryLifecycle::shard)
+                .containsExactlyInAnyOrder("shard-0", "shard-1");
+        assertThat(meterRegistry.get("orders.repository.coalesced").tag("method", "findById")
+                .functionCounters())
+                .extracting(counter -> counter.getId().getTag("shard"))
+                .containsExactlyInAnyOrder("shard-0", "shard-1");
+    }
+}
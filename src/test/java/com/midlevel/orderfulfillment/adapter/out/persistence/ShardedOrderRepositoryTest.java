@@ -0,0 +1,272 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.midlevel.orderfulfillment.domain.model.OrderFixtures.sampleOrder;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for routing and scatter-gather over in-memory shards.
+ */
+@DisplayName("ShardedOrderRepository Tests")
+class ShardedOrderRepositoryTest {
+
+    private final Map<String, InMemoryShard> shards = new LinkedHashMap<>();
+    private ShardedOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("shard-0", "shard-1", "shard-2")) {
+            shards.put(name, new InMemoryShard());
+        }
+        repository = new ShardedOrderRepository(shards, ShardedOrderRepository.scatterExecutor(4));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    /**
+     * Saves one order for each of the given number of customers (spread over all shards).
+     */
+    private List<Order> saveOrdersOfCustomers(int customers) {
+        List<Order> saved = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            saved.add(repository.save(sampleOrder(String.format("CUST%03d", i))));
+        }
+        return saved;
+    }
+
+    @Test
+    @DisplayName("Should keep a customer's orders on the customer's shard, and find them by ID")
+    void shouldRouteByCustomer() {
+        List<Order> saved = saveOrdersOfCustomers(30);
+        repository.save(sampleOrder("CUST000"));
+
+        for (Order order : saved) {
+            InMemoryShard home = shards.get(repository.shardOf(order.getCustomerId()));
+            assertTrue(home.orders.containsKey(order.getOrderId()));
+            assertEquals(Optional.of(order), repository.findById(order.getOrderId()));
+            assertTrue(repository.existsById(order.getOrderId()));
+        }
+        assertTrue(shards.values().stream().allMatch(shard -> !shard.orders.isEmpty()), "All shards used");
+
+        // One customer - one shard asked
+        shards.values().forEach(shard -> shard.calls.set(0));
+        assertEquals(2, repository.findByCustomerId("CUST000").size());
+        assertEquals(1, shards.values().stream().mapToInt(shard -> shard.calls.get()).sum());
+
+        assertTrue(repository.findById("not-a-uuid").isEmpty());
+        assertFalse(repository.existsById(null));
+    }
+
+    @Test
+    @DisplayName("Should find orders of several shards in the order of their IDs")
+    void shouldFindAllByIdAcrossShards() {
+        List<Order> saved = saveOrdersOfCustomers(10);
+        String first = saved.get(0).getOrderId();
+        String last = saved.get(9).getOrderId();
+
+        List<Order> found = repository.findAllById(List.of(last, "not-a-uuid", first, last.toUpperCase(),
+                sampleOrder("CUST999").getOrderId()));
+
+        assertEquals(List.of(last, first, last), found.stream().map(Order::getOrderId).toList());
+        assertTrue(repository.findAllById(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should gather status queries and counts from every shard")
+    void shouldScatterStatusQueries() {
+        List<Order> saved = saveOrdersOfCustomers(20);
+        for (Order order : saved.subList(0, 5)) {
+            order.pay();
+            repository.save(order);
+        }
+
+        assertEquals(5, repository.findByStatusIn(EnumSet.of(OrderStatus.PAID)).size());
+        assertEquals(15, repository.findByStatus(OrderStatus.CREATED).size());
+        assertEquals(20, repository.countByStatusIn(EnumSet.allOf(OrderStatus.class)));
+        assertEquals(20, repository.findAll().size());
+        assertEquals(0, repository.countByStatusIn(EnumSet.noneOf(OrderStatus.class)));
+    }
+
+    @Test
+    @DisplayName("Should page through a search across shards, newest first, each order once")
+    void shouldMergeSearchPages() {
+        List<Order> saved = saveOrdersOfCustomers(25);
+        List<String> newestFirst = saved.stream()
+                .sorted(Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getOrderId).reversed())
+                .map(Order::getOrderId)
+                .toList();
+
+        List<String> paged = new ArrayList<>();
+        Optional<OrderSearchCriteria> page = Optional.of(OrderSearchCriteria.all().withPageSize(10));
+        int pages = 0;
+        while (page.isPresent()) {
+            OrderSearchResult result = repository.search(page.get());
+            result.getOrders().forEach(summary -> paged.add(summary.getOrderId()));
+            page = result.nextPage();
+            pages++;
+        }
+
+        assertEquals(newestFirst, paged);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("Should save orders of several shards, returning them in the order given")
+    void shouldSaveAllAcrossShards() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            orders.add(sampleOrder("CUST" + i));
+        }
+
+        List<Order> saved = repository.saveAll(orders);
+
+        assertEquals(orders, saved);
+        assertEquals(12, shards.values().stream().mapToInt(shard -> shard.orders.size()).sum());
+        assertTrue(shards.values().stream().allMatch(shard -> shard.saveAllCalls.get() <= 1));
+    }
+
+    @Test
+    @DisplayName("Should fail a scatter query when a shard fails")
+    void shouldFailWhenShardFails() {
+        saveOrdersOfCustomers(5);
+        shards.get("shard-1").failure = new IllegalStateException("shard-1 down");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> repository.findAll());
+        assertEquals("shard-1 down", e.getMessage());
+    }
+
+    /**
+     * Map-backed shard, with the queries the sharded repository forwards.
+     * Counts calls, and can be made to fail.
+     */
+    private static class InMemoryShard implements OrderRepository {
+
+        private static final Comparator<Order> NEWEST_FIRST = Comparator.comparing(Order::getCreatedAt)
+                .thenComparing(Order::getOrderId).reversed();
+
+        private final Map<String, Order> orders = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger saveAllCalls = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        private void call() {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public Order save(Order order) {
+            call();
+            order.pullDomainEvents();
+            orders.put(order.getOrderId(), order);
+            return order;
+        }
+
+        @Override
+        public List<Order> saveAll(List<Order> orders) {
+            saveAllCalls.incrementAndGet();
+            return orders.stream().map(this::save).toList();
+        }
+
+        @Override
+        public Optional<Order> findById(String orderId) {
+            call();
+            return Optional.ofNullable(orders.get(orderId.toLowerCase()));
+        }
+
+        @Override
+        public List<Order> findAllById(Collection<String> orderIds) {
+            call();
+            return orderIds.stream().map(id -> orders.get(id.toLowerCase())).filter(Objects::nonNull).toList();
+        }
+
+        @Override
+        public List<Order> findByCustomerId(String customerId) {
+            call();
+            return orders.values().stream().filter(o -> o.getCustomerId().equals(customerId)).toList();
+        }
+
+        @Override
+        public List<Order> findByStatus(OrderStatus status) {
+            return findByStatusIn(EnumSet.of(status));
+        }
+
+        @Override
+        public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+            call();
+            return orders.values().stream().filter(o -> statuses.contains(o.getStatus())).toList();
+        }
+
+        @Override
+        public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+            return findByStatusIn(statuses).size();
+        }
+
+        @Override
+        public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                                  EnumSet<OrderStatus> statuses) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OrderSearchResult search(OrderSearchCriteria c) {
+            call();
+            List<OrderSummary> matches = orders.values().stream()
+                    .filter(o -> c.getAfterOrderId() == null
+                            || o.getCreatedAt().isBefore(c.getAfterCreatedAt())
+                            || (o.getCreatedAt().equals(c.getAfterCreatedAt())
+                                && o.getOrderId().compareTo(c.getAfterOrderId()) < 0))
+                    .sorted(NEWEST_FIRST)
+                    .map(OrderSummary::of)
+                    .toList();
+            boolean hasMore = matches.size() > c.getPageSize();
+            return new OrderSearchResult(c, hasMore ? matches.subList(0, c.getPageSize()) : matches, hasMore);
+        }
+
+        @Override
+        public List<Order> findAll() {
+            call();
+            return List.copyOf(orders.values());
+        }
+
+        @Override
+        public void deleteById(String orderId) {
+            call();
+            orders.remove(orderId);
+        }
+
+        @Override
+        public boolean existsById(String orderId) {
+            call();
+            return orders.containsKey(orderId);
+        }
+    }
+}
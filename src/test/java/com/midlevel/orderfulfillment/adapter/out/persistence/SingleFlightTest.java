@@ -0,0 +1,121 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for request de-duplication. The loader blocks on a latch, so
+ * the tests decide exactly which calls overlap.
+ */
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private final SingleFlight<String, Object> flights = new SingleFlight<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private Object blockingLoad() {
+        loads.incrementAndGet();
+        try {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new Object();
+    }
+
+    private void awaitCoalesced(long calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flights.coalesced() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(calls, flights.coalesced());
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent calls for the same key")
+    void shouldShareOneLoad() throws Exception {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(callers.submit(() -> flights.load("ORDER-1", this::blockingLoad)));
+        }
+        awaitCoalesced(4);
+        release.countDown();
+
+        Object value = results.get(0).get();
+        for (Future<Object> result : results) {
+            assertSame(value, result.get());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flights.loads());
+    }
+
+    @Test
+    @DisplayName("Should load different keys separately, and load again once a flight is over")
+    void shouldNotCacheResults() throws Exception {
+        release.countDown();
+
+        Object first = flights.load("ORDER-1", this::blockingLoad);
+        Object second = flights.load("ORDER-1", this::blockingLoad);
+        flights.load("ORDER-2", this::blockingLoad);
+
+        assertNotSame(first, second);
+        assertEquals(3, flights.loads());
+        assertEquals(0, flights.coalesced());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed load to every waiting call")
+    void shouldShareFailures() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        Future<Object> leader = callers.submit(() -> flights.load("ORDER-1", () -> {
+            blockingLoad();
+            throw failure;
+        }));
+        // The follower must join the leader's flight, not start its own
+        while (loads.get() == 0) {
+            Thread.sleep(1);
+        }
+        Future<Object> follower = callers.submit(() -> flights.load("ORDER-1", Object::new));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertSame(failure, assertThrows(Exception.class, leader::get).getCause());
+        assertSame(failure, assertThrows(Exception.class, follower::get).getCause());
+        assertNotNull(flights.load("ORDER-1", Object::new));
+    }
+
+    @Test
+    @DisplayName("Should start a new load after forget")
+    void shouldStartNewLoadAfterForget() throws Exception {
+        Future<Object> before = callers.submit(() -> flights.load("ORDER-1", this::blockingLoad));
+        while (loads.get() == 0) {
+            Thread.sleep(1);
+        }
+        flights.forget("ORDER-1");
+        Object after = flights.load("ORDER-1", Object::new);
+        release.countDown();
+
+        assertNotSame(before.get(), after);
+        assertEquals(2, flights.loads());
+        assertEquals(0, flights.coalesced());
+    }
+}
@@ -0,0 +1,203 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.midlevel.orderfulfillment.domain.model.OrderFixtures.sampleOrder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the group commit decorator, with a mocked delegate that
+ * records every saveAll() group (and can hold it on a latch, like a slow commit).
+ */
+@DisplayName("WriteBehindOrderRepository Tests")
+class WriteBehindOrderRepositoryTest {
+
+    private final List<List<Order>> groups = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<WriteBehindOrderRepository> repositories = new ArrayList<>();
+    private OrderRepository delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(OrderRepository.class);
+        when(delegate.saveAll(any())).thenAnswer(call -> {
+            List<Order> group = call.getArgument(0);
+            groups.add(group);
+            return group;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        repositories.forEach(WriteBehindOrderRepository::close);
+    }
+
+    private WriteBehindOrderRepository repository(int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        WriteBehindOrderRepository repository =
+                new WriteBehindOrderRepository(delegate, maxBatchSize, maxDelay, queueCapacity);
+        repositories.add(repository);
+        return repository;
+    }
+
+    /**
+     * Makes saveAll() block until the test releases it; the returned latch
+     * opens once the writer is inside saveAll().
+     */
+    private CountDownLatch holdCommits() {
+        CountDownLatch committing = new CountDownLatch(1);
+        doAnswer(call -> {
+            committing.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            List<Order> group = call.getArgument(0);
+            groups.add(group);
+            return group;
+        }).when(delegate).saveAll(any());
+        return committing;
+    }
+
+    @Test
+    @DisplayName("Should save a full group at once")
+    void shouldSaveFullGroupAtOnce() throws Exception {
+        WriteBehindOrderRepository repository = repository(4, Duration.ofSeconds(30), 100);
+        List<CompletableFuture<Order>> saves = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            saves.add(repository.submit(sampleOrder()));
+        }
+
+        // Well before the 30 s delay: the fourth order filled the group
+        CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        assertEquals(1, groups.size());
+        assertEquals(4, groups.get(0).size());
+        assertEquals(1, repository.commits());
+        assertEquals(4, repository.ordersWritten());
+    }
+
+    @Test
+    @DisplayName("Should save a partial group once its oldest order has waited the max delay")
+    void shouldSaveAfterMaxDelay() {
+        WriteBehindOrderRepository repository = repository(100, Duration.ofMillis(50), 100);
+        Order order = sampleOrder();
+
+        long start = System.nanoTime();
+        Order saved = repository.save(order);
+
+        assertSame(order, saved);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(List.of(List.of(order)), groups);
+    }
+
+    @Test
+    @DisplayName("Should complete the future only after the group has committed")
+    void shouldCompleteAfterCommit() throws Exception {
+        CountDownLatch committing = holdCommits();
+        WriteBehindOrderRepository repository = repository(1, Duration.ZERO, 100);
+
+        CompletableFuture<Order> saved = repository.submit(sampleOrder());
+        assertTrue(committing.await(10, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertFalse(saved.isDone());
+
+        release.countDown();
+        assertNotNull(saved.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should save a failed group's orders one by one")
+    void shouldIsolateFailingOrders() throws Exception {
+        Order bad = sampleOrder();
+        IllegalStateException failure = new IllegalStateException("duplicate key");
+        // doAnswer: when(delegate.saveAll(..)) would call the answer stubbed in setUp()
+        doAnswer(call -> {
+            List<Order> group = call.getArgument(0);
+            groups.add(group);
+            if (group.contains(bad)) {
+                throw failure;
+            }
+            return group;
+        }).when(delegate).saveAll(any());
+        WriteBehindOrderRepository repository = repository(3, Duration.ofSeconds(30), 100);
+
+        CompletableFuture<Order> first = repository.submit(sampleOrder());
+        CompletableFuture<Order> failed = repository.submit(bad);
+        CompletableFuture<Order> third = repository.submit(sampleOrder());
+
+        assertNotNull(first.get(10, TimeUnit.SECONDS));
+        assertNotNull(third.get(10, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        assertSame(failure, e.getCause());
+        // The group, then each order on its own
+        assertEquals(4, groups.size());
+        assertEquals(2, repository.commits());
+    }
+
+    @Test
+    @DisplayName("Should reject orders when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch committing = holdCommits();
+        WriteBehindOrderRepository repository = repository(1, Duration.ZERO, 1);
+
+        repository.submit(sampleOrder());
+        assertTrue(committing.await(10, TimeUnit.SECONDS));
+        repository.submit(sampleOrder());
+        CompletableFuture<Order> rejected = repository.submit(sampleOrder());
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(ExecutionException.class, rejected::get).getCause());
+        assertThrows(RejectedExecutionException.class, () -> repository.save(sampleOrder()));
+    }
+
+    @Test
+    @DisplayName("Should save queued orders on close, and reject new ones afterwards")
+    void shouldDrainOnClose() throws Exception {
+        WriteBehindOrderRepository repository = repository(100, Duration.ofSeconds(30), 100);
+        CompletableFuture<Order> queued = repository.submit(sampleOrder());
+        Thread.sleep(50);
+
+        // The writer is waiting 30 s for more orders - close() must not
+        long start = System.nanoTime();
+        repository.close();
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "close() waited for max delay");
+        assertTrue(queued.isDone());
+        assertNotNull(queued.get());
+        assertInstanceOf(RejectedExecutionException.class,
+                assertThrows(ExecutionException.class, () -> repository.submit(sampleOrder()).get()).getCause());
+    }
+
+    @Test
+    @DisplayName("Should save stored orders directly")
+    void shouldPassStoredOrdersThrough() {
+        Order order = sampleOrder();
+        Order stored = Order.reconstitute(order.getOrderId(), order.getCustomerId(), order.getItems(),
+                order.getShippingAddress(), order.getStatus(), order.getCreatedAt(), null, null);
+        when(delegate.save(stored)).thenReturn(stored);
+        WriteBehindOrderRepository repository = repository(100, Duration.ofSeconds(30), 100);
+
+        assertSame(stored, repository.save(stored));
+        verify(delegate).save(stored);
+        verify(delegate, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,115 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.entity;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the lossy, weakly referenced interning pool and for the
+ * read-path conversions that use it.
+ */
+@DisplayName("InternPool Tests")
+class InternPoolTest {
+
+    // Forces a new String instance, like a value read from a JDBC ResultSet
+    private static String fresh(String value) {
+        return new String(value);
+    }
+
+    @Test
+    @DisplayName("Should return the pooled instance for an equal value")
+    void shouldReturnCanonicalInstance() {
+        InternPool<String> pool = new InternPool<>(16);
+        String first = fresh("PROD-1");
+        String copy = fresh("PROD-1");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(copy));
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two and reject tiny pools")
+    void shouldSizeSlots() {
+        assertEquals(16, new InternPool<>(10).capacity());
+        assertEquals(16, new InternPool<>(16).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new InternPool<>(1));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the given value once its slot was overwritten")
+    void shouldFallBackAfterEviction() {
+        // Two slots: every value has both as candidates, so a third value evicts one
+        InternPool<Key> pool = new InternPool<>(2);
+        Key zero = new Key("zero", 0);
+        Key one = new Key("one", 1);
+        pool.intern(zero);
+        pool.intern(one);
+
+        Key two = new Key("two", 2);
+        assertSame(two, pool.intern(two));
+
+        // "two" (first candidate slot 0) replaced "zero"; "one" is still pooled
+        Key zeroAgain = new Key("zero", 0);
+        assertSame(zeroAgain, pool.intern(zeroAgain));
+        assertEquals(zero, zeroAgain);
+        assertSame(one, pool.intern(new Key("one", 1)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the given value once the pooled one was collected")
+    void shouldFallBackAfterCollection() throws InterruptedException {
+        InternPool<String> pool = new InternPool<>(16);
+        WeakReference<String> pooled = new WeakReference<>(pool.intern(fresh("Product number 7")));
+
+        for (int i = 0; i < 50 && pooled.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assumeTrue(pooled.get() == null, "The JVM did not collect the pooled value");
+
+        String copy = fresh("Product number 7");
+        assertSame(copy, pool.intern(copy));
+    }
+
+    @Test
+    @DisplayName("Should keep read-path conversions equal to the uninterned values")
+    void shouldConvertToEqualValues() {
+        AddressEmbeddable row = new AddressEmbeddable(fresh("1 Main St"), fresh("Springfield"), fresh("IL"),
+                fresh("62701"), fresh("US"));
+        AddressEmbeddable sameRow = new AddressEmbeddable(fresh("1 Main St"), fresh("Springfield"), fresh("IL"),
+                fresh("62701"), fresh("US"));
+        Address address = row.toDomain();
+
+        assertEquals(Address.of("1 Main St", "Springfield", "IL", "62701", "US"), address);
+        assertSame(address, sameRow.toDomain());
+
+        OrderItemEntity itemRow = new OrderItemEntity(fresh("PROD-1"), fresh("Widget"),
+                new BigDecimal("9.99"), fresh("USD"), 2);
+        OrderItem item = itemRow.toDomain();
+        OrderItem sameItem = new OrderItemEntity(fresh("PROD-1"), fresh("Widget"),
+                new BigDecimal("9.99"), fresh("USD"), 2).toDomain();
+
+        assertEquals(OrderItem.of("PROD-1", "Widget", Money.usd(new BigDecimal("9.99")), 2), item);
+        assertSame(item.getProductId(), sameItem.getProductId());
+        assertSame(item.getProductName(), sameItem.getProductName());
+    }
+
+    /**
+     * A value with a chosen hash code, to place it in known slots.
+     */
+    private record Key(String name, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
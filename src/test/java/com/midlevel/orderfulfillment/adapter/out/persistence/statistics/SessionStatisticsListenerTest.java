@@ -0,0 +1,146 @@
+package com.midlevel.orderfulfillment.adapter.out.persistence.statistics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for per-session statistics, driving the listener the way
+ * Hibernate does (without a database).
+ */
+@DisplayName("Session Statistics Tests")
+class SessionStatisticsListenerTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SessionStatisticsListener.useRecorder(null);
+    }
+
+    @Test
+    @DisplayName("Should publish session totals when the session ends")
+    void shouldPublishSessionTotals() {
+        SessionStatisticsListener.useRecorder(new SessionStatisticsRecorder(registry, Duration.ofSeconds(10), 1.0));
+
+        SessionStatisticsListener session = new SessionStatisticsListener();
+        new SessionStatementInspector().inspect("select * from orders where order_id=?");
+        session.jdbcPrepareStatementStart();
+        session.jdbcExecuteStatementStart();
+        session.jdbcExecuteStatementEnd();
+        session.entityLoaded();
+        session.entityLoaded();
+        session.collectionFetched();
+        session.flushEnd(1, 1);
+        session.end();
+
+        assertEquals(1.0, registry.get("hibernate.session.statements").summary().totalAmount());
+        assertEquals(2.0, registry.get("hibernate.session.entity.loads").summary().totalAmount());
+        assertEquals(1.0, registry.get("hibernate.session.collection.fetches").summary().totalAmount());
+        assertEquals(1.0, registry.get("hibernate.session.flushes").summary().totalAmount());
+        assertEquals(1, registry.get("hibernate.session.jdbc").timer().count());
+        assertEquals(0, registry.get("hibernate.slow.queries").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should count statements slower than the threshold")
+    void shouldCountSlowQueries() {
+        SessionStatisticsListener.useRecorder(new SessionStatisticsRecorder(registry, Duration.ZERO, 0.0));
+
+        SessionStatisticsListener session = new SessionStatisticsListener();
+        session.statementPrepared("select * from orders");
+        session.jdbcExecuteStatementStart();
+        session.jdbcExecuteStatementEnd();
+        session.end();
+
+        assertEquals(1, registry.get("hibernate.slow.queries").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should restore the outer session when a nested session ends")
+    void shouldRestoreOuterSession() {
+        SessionStatisticsListener outer = new SessionStatisticsListener();
+        SessionStatisticsListener inner = new SessionStatisticsListener();
+        assertSame(inner, SessionStatisticsListener.current());
+
+        inner.end();
+        assertSame(outer, SessionStatisticsListener.current());
+
+        outer.end();
+        assertNull(SessionStatisticsListener.current());
+    }
+
+    @Test
+    @DisplayName("Should attribute work to the session doing it when sessions interleave")
+    void shouldAttributeInterleavedSessions() {
+        SessionStatementInspector inspector = new SessionStatementInspector();
+        SessionStatisticsListener first = new SessionStatisticsListener();
+        SessionStatisticsListener second = new SessionStatisticsListener();
+
+        // The first session runs a query while the second one is open
+        inspector.inspect("select * from orders");
+        first.jdbcPrepareStatementStart();
+        first.jdbcExecuteStatementStart();
+        first.jdbcExecuteStatementEnd();
+        SessionStatisticsListener.current().entityLoaded();
+
+        // The first session ends before the second - out of nesting order
+        first.end();
+        assertSame(second, SessionStatisticsListener.current());
+        inspector.inspect("select * from order_items");
+        second.jdbcPrepareStatementStart();
+        second.jdbcExecuteStatementStart();
+        second.jdbcExecuteStatementEnd();
+        SessionStatisticsListener.current().collectionFetched();
+        second.end();
+
+        assertEquals(1, first.getStatements());
+        assertEquals(1, first.getEntityLoads());
+        assertEquals(0, first.getCollectionFetches());
+        assertEquals(1, second.getStatements());
+        assertEquals(0, second.getEntityLoads());
+        assertEquals(1, second.getCollectionFetches());
+        assertNull(SessionStatisticsListener.current());
+    }
+
+    @Test
+    @DisplayName("Should not keep leaked or elsewhere ended sessions current")
+    void shouldDropStaleSessions() throws Exception {
+        // Ended on another thread: no longer current here
+        SessionStatisticsListener movedAway = new SessionStatisticsListener();
+        Thread other = new Thread(movedAway::end);
+        other.start();
+        other.join();
+        assertNull(SessionStatisticsListener.current());
+
+        // Never ended (leaked): pushed out once enough newer sessions opened
+        SessionStatisticsListener leaked = new SessionStatisticsListener();
+        List<SessionStatisticsListener> newer = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            newer.add(new SessionStatisticsListener());
+        }
+        newer.forEach(SessionStatisticsListener::end);
+        assertNotSame(leaked, SessionStatisticsListener.current());
+        assertNull(SessionStatisticsListener.current());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sample rates")
+    void shouldRejectInvalidSampleRate() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SessionStatisticsRecorder(registry, Duration.ofMillis(100), 1.5));
+    }
+}
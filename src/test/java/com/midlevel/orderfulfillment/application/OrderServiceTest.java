@@ -0,0 +1,302 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.adapter.out.observability.TracingOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.tracing.InMemorySpanCollector;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderFixtures;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.model.OrderSummary;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchCriteria;
+import com.midlevel.orderfulfillment.domain.port.OrderSearchResult;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OrderService and its tracing.
+ *
+ * Uses a real OpenTelemetry tracer that exports to an InMemorySpanCollector,
+ * and a simple map-backed OrderRepository (no database).
+ */
+@DisplayName("OrderService Tests")
+class OrderServiceTest {
+
+    private SdkTracerProvider tracerProvider;
+    private InMemorySpanCollector spans;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        spans = new InMemorySpanCollector(1_000);
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(Sampler.alwaysOn())
+                .addSpanProcessor(SimpleSpanProcessor.create(spans))
+                .build();
+        Tracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> { });
+
+        OrderRepository repository = new TracingOrderRepository(new InMemoryOrderRepository(), tracer);
+        orderService = new OrderService(repository, tracer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    private Order placeOrder() {
+        return orderService.placeOrder("CUST-1", OrderFixtures.sampleItems(), OrderFixtures.sampleAddress());
+    }
+
+    private Map<String, SpanData> spansByName() {
+        return spans.getFinishedSpans().stream()
+                .collect(Collectors.toMap(SpanData::getName, span -> span, (first, second) -> second));
+    }
+
+    @Test
+    @DisplayName("Should run the order lifecycle through the repository")
+    void shouldRunLifecycle() {
+        Order order = placeOrder();
+
+        assertEquals(OrderStatus.PAID, orderService.pay(order.getOrderId()).getStatus());
+        assertEquals(OrderStatus.SHIPPED, orderService.ship(order.getOrderId()).getStatus());
+        assertEquals(OrderStatus.SHIPPED, orderService.findOrder(order.getOrderId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject transitions of unknown orders")
+    void shouldRejectUnknownOrder() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.pay("no-such-order"));
+
+        SpanData paySpan = spansByName().get("OrderService.pay");
+        assertNotNull(paySpan);
+        assertEquals(StatusCode.ERROR, paySpan.getStatus().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should trace creation, validation and saving as one trace")
+    void shouldTracePlaceOrder() {
+        Order order = placeOrder();
+
+        Map<String, SpanData> byName = spansByName();
+        SpanData root = byName.get("OrderService.placeOrder");
+        SpanData create = byName.get("Order.create");
+        SpanData save = byName.get("OrderRepository.save");
+
+        assertNotNull(root);
+        assertEquals(root.getSpanId(), create.getParentSpanId());
+        assertEquals(root.getSpanId(), save.getParentSpanId());
+        assertEquals(order.getOrderId(), root.getAttributes().get(AttributeKey.stringKey("order.id")));
+        assertEquals(order.getOrderId(), save.getAttributes().get(AttributeKey.stringKey("order.id")));
+    }
+
+    @Test
+    @DisplayName("Should trace transitions with their status change")
+    void shouldTraceTransition() {
+        Order order = placeOrder();
+        spans.reset();
+
+        orderService.pay(order.getOrderId());
+
+        Map<String, SpanData> byName = spansByName();
+        SpanData root = byName.get("OrderService.pay");
+        SpanData transition = byName.get("Order.pay");
+        SpanData find = byName.get("OrderRepository.findById");
+
+        assertEquals(root.getSpanId(), transition.getParentSpanId());
+        assertEquals(root.getSpanId(), find.getParentSpanId());
+        assertEquals("CREATED", transition.getAttributes().get(AttributeKey.stringKey("order.status.from")));
+        assertEquals("PAID", transition.getAttributes().get(AttributeKey.stringKey("order.status.to")));
+        assertEquals(1L, find.getAttributes().get(AttributeKey.longKey("db.rows")));
+    }
+
+    @Test
+    @DisplayName("Should amend the items of an unpaid order")
+    void shouldAmendItems() {
+        Order order = placeOrder();
+
+        orderService.addItem(order.getOrderId(), OrderItem.of("PROD-2", "Gadget", Money.usd(new BigDecimal("5.00")), 1));
+        orderService.changeItemQuantity(order.getOrderId(), "PROD-1", 1);
+        Order amended = orderService.removeItem(order.getOrderId(), "PROD-2");
+
+        assertEquals(Money.usd(new BigDecimal("9.99")), amended.calculateTotal());
+        assertNotNull(spansByName().get("Order.changeItemQuantity"));
+
+        orderService.pay(order.getOrderId());
+        assertThrows(IllegalStateException.class, () -> orderService.changeItemQuantity(order.getOrderId(), "PROD-1", 3));
+    }
+
+    @Test
+    @DisplayName("Should find recent orders containing a product")
+    void shouldFindOrdersWithProduct() {
+        Order order = placeOrder();
+        orderService.pay(order.getOrderId());
+
+        List<OrderSummary> paid = orderService.findOrdersWithProduct("PROD-1", Duration.ofDays(30),
+                EnumSet.of(OrderStatus.PAID));
+
+        assertEquals(List.of(order.getOrderId()), paid.stream().map(OrderSummary::getOrderId).toList());
+        assertEquals("US", paid.get(0).getShippingCountry());
+        assertTrue(orderService.findOrdersWithProduct("PROD-2", Duration.ofDays(30),
+                EnumSet.allOf(OrderStatus.class)).isEmpty());
+        assertTrue(orderService.findOrdersWithProduct("PROD-1", Duration.ofDays(30),
+                EnumSet.of(OrderStatus.SHIPPED)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should search orders page by page")
+    void shouldSearchOrders() {
+        Order first = placeOrder();
+        Order second = placeOrder();
+        Order third = placeOrder();
+        orderService.pay(second.getOrderId());
+
+        OrderSearchCriteria criteria = OrderSearchCriteria.all().withCustomerId("CUST-1").withPageSize(2);
+        OrderSearchResult page1 = orderService.searchOrders(criteria);
+        OrderSearchResult page2 = orderService.searchOrders(page1.nextPage().orElseThrow());
+
+        List<String> found = new ArrayList<>();
+        page1.getOrders().forEach(summary -> found.add(summary.getOrderId()));
+        page2.getOrders().forEach(summary -> found.add(summary.getOrderId()));
+        assertEquals(2, page1.getOrders().size());
+        assertTrue(page1.hasMore());
+        assertFalse(page2.hasMore());
+        assertTrue(page2.nextPage().isEmpty());
+        assertEquals(Set.of(first.getOrderId(), second.getOrderId(), third.getOrderId()),
+                Set.copyOf(found));
+        assertEquals(3, found.size());
+
+        OrderSearchResult paid = orderService.searchOrders(
+                OrderSearchCriteria.all().withStatuses(EnumSet.of(OrderStatus.PAID)).withCountry("US"));
+        assertEquals(List.of(second.getOrderId()), paid.getOrders().stream().map(OrderSummary::getOrderId).toList());
+        assertTrue(orderService.searchOrders(OrderSearchCriteria.all()
+                .withMinimumTotal(Money.usd(new BigDecimal("20.00")))).getOrders().isEmpty());
+    }
+
+    /**
+     * Minimal map-backed repository (stores the same instances it is given).
+     */
+    private static final class InMemoryOrderRepository implements OrderRepository {
+        private final Map<String, Order> orders = new HashMap<>();
+
+        @Override
+        public Order save(Order order) {
+            order.pullDomainEvents();
+            orders.put(order.getOrderId(), order);
+            return order;
+        }
+
+        @Override
+        public List<Order> saveAll(List<Order> orders) {
+            return orders.stream().map(this::save).toList();
+        }
+
+        @Override
+        public Optional<Order> findById(String orderId) {
+            return Optional.ofNullable(orders.get(orderId));
+        }
+
+        @Override
+        public List<Order> findAllById(Collection<String> orderIds) {
+            return orderIds.stream().map(orders::get).filter(Objects::nonNull).toList();
+        }
+
+        @Override
+        public List<Order> findByCustomerId(String customerId) {
+            return orders.values().stream().filter(o -> o.getCustomerId().equals(customerId)).toList();
+        }
+
+        @Override
+        public List<Order> findByStatus(OrderStatus status) {
+            return orders.values().stream().filter(o -> o.getStatus() == status).toList();
+        }
+
+        @Override
+        public List<Order> findByStatusIn(EnumSet<OrderStatus> statuses) {
+            return orders.values().stream().filter(o -> statuses.contains(o.getStatus())).toList();
+        }
+
+        @Override
+        public long countByStatusIn(EnumSet<OrderStatus> statuses) {
+            return findByStatusIn(statuses).size();
+        }
+
+        @Override
+        public List<OrderSummary> findByProductId(String productId, Instant from, Instant to,
+                                                  EnumSet<OrderStatus> statuses) {
+            return orders.values().stream()
+                    .filter(o -> !o.getCreatedAt().isBefore(from) && o.getCreatedAt().isBefore(to))
+                    .filter(o -> statuses.contains(o.getStatus()))
+                    .filter(o -> o.getItems().stream().anyMatch(item -> item.getProductId().equals(productId)))
+                    .map(OrderSummary::of)
+                    .toList();
+        }
+
+        @Override
+        public OrderSearchResult search(OrderSearchCriteria c) {
+            Comparator<Order> newestFirst = Comparator.comparing(Order::getCreatedAt)
+                    .thenComparing(Order::getOrderId).reversed();
+            List<OrderSummary> matches = orders.values().stream()
+                    .filter(o -> c.getCustomerId() == null || o.getCustomerId().equals(c.getCustomerId()))
+                    .filter(o -> c.getStatuses() == null || c.getStatuses().contains(o.getStatus()))
+                    .filter(o -> c.getCreatedFrom() == null || !o.getCreatedAt().isBefore(c.getCreatedFrom()))
+                    .filter(o -> c.getCreatedBefore() == null || o.getCreatedAt().isBefore(c.getCreatedBefore()))
+                    .filter(o -> c.getCountry() == null || o.getShippingAddress().getCountry().equals(c.getCountry()))
+                    .filter(o -> c.getState() == null || o.getShippingAddress().getState().equals(c.getState()))
+                    .filter(o -> c.getMinimumTotal() == null
+                            || !c.getMinimumTotal().isGreaterThan(o.calculateTotal()))
+                    .filter(o -> c.getProductId() == null
+                            || o.getItems().stream().anyMatch(item -> item.getProductId().equals(c.getProductId())))
+                    .filter(o -> c.getAfterOrderId() == null || newestFirst.compare(o, orders.get(c.getAfterOrderId())) > 0)
+                    .sorted(newestFirst)
+                    .map(OrderSummary::of)
+                    .toList();
+            boolean hasMore = matches.size() > c.getPageSize();
+            return new OrderSearchResult(c, hasMore ? matches.subList(0, c.getPageSize()) : matches, hasMore);
+        }
+
+        @Override
+        public List<Order> findAll() {
+            return List.copyOf(orders.values());
+        }
+
+        @Override
+        public void deleteById(String orderId) {
+            orders.remove(orderId);
+        }
+
+        @Override
+        public boolean existsById(String orderId) {
+            return orders.containsKey(orderId);
+        }
+    }
+}
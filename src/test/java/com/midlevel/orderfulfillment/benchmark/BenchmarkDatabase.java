@@ -0,0 +1,75 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL database for the standalone benchmark programs.
+ * 
+ * By default this starts the same Testcontainers PostgreSQL image that
+ * OrderRepositoryIntegrationTest uses. To benchmark against an existing
+ * local database instead (e.g. the docker-compose one), pass:
+ *   -Dbenchmark.jdbcUrl=jdbc:postgresql://localhost:5432/orderfulfillment
+ *   -Dbenchmark.username=postgres -Dbenchmark.password=postgres
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+    
+    private final PostgreSQLContainer<?> container;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    
+    private BenchmarkDatabase(PostgreSQLContainer<?> container, String jdbcUrl,
+                              String username, String password) {
+        this.container = container;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+    
+    /**
+     * Starts a container, or connects to the database given by system properties.
+     */
+    public static BenchmarkDatabase start() {
+        String url = System.getProperty("benchmark.jdbcUrl");
+        if (url != null) {
+            return new BenchmarkDatabase(null, url,
+                    System.getProperty("benchmark.username", "postgres"),
+                    System.getProperty("benchmark.password", "postgres"));
+        }
+        
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("benchdb")
+                .withUsername("bench")
+                .withPassword("bench");
+        postgres.start();
+        return new BenchmarkDatabase(postgres, postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+    }
+    
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+    
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public void close() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
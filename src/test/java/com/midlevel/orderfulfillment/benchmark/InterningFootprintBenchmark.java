@@ -0,0 +1,138 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.adapter.out.persistence.entity.AddressEmbeddable;
+import com.midlevel.orderfulfillment.adapter.out.persistence.entity.OrderItemEntity;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Footprint benchmark for the read-path interning pools.
+ * 
+ * Builds a working set of N orders (default 1,000,000) twice:
+ * 1. "plain": domain objects built straight from column values, as the
+ *    read path did before interning
+ * 2. "interned": the same rows converted through AddressEmbeddable.toDomain
+ *    and OrderItemEntity.toDomain, which use the interning pools
+ * 
+ * Every column value is a fresh String copy, the way the JDBC driver
+ * materializes them. The retained heap of each working set is measured
+ * after forcing GC.
+ * 
+ * This is a standalone program, not a unit test. Run it with a large heap:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.midlevel.orderfulfillment.benchmark.InterningFootprintBenchmark \
+ *       -Dexec.args="1000000"
+ * (MAVEN_OPTS="-Xmx6g" or similar)
+ */
+public class InterningFootprintBenchmark {
+    
+    // Shape of the synthetic data set
+    private static final int CUSTOMERS = 100_000;
+    private static final int PRODUCTS = 5_000;
+    private static final int MAX_ITEMS_PER_ORDER = 5;
+    
+    public static void main(String[] args) {
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        
+        System.out.printf("Building %,d orders (%,d customers, %,d products)%n",
+                orderCount, CUSTOMERS, PRODUCTS);
+        
+        long baseline = usedHeapAfterGc();
+        
+        List<Order> plain = buildOrders(orderCount, false);
+        long plainBytes = usedHeapAfterGc() - baseline;
+        System.out.printf("plain:    %,d orders retained %,d bytes (%,d bytes/order)%n",
+                plain.size(), plainBytes, plainBytes / orderCount);
+        plain = null;
+        
+        baseline = usedHeapAfterGc();
+        
+        List<Order> interned = buildOrders(orderCount, true);
+        long internedBytes = usedHeapAfterGc() - baseline;
+        System.out.printf("interned: %,d orders retained %,d bytes (%,d bytes/order)%n",
+                interned.size(), internedBytes, internedBytes / orderCount);
+        
+        System.out.printf("heap reduction: %,d bytes (%.1f%%)%n",
+                plainBytes - internedBytes,
+                100.0 * (plainBytes - internedBytes) / plainBytes);
+    }
+    
+    /**
+     * Builds the working set, either through the interning read path or without it.
+     * The same seed is used for both runs, so they hold identical data.
+     */
+    private static List<Order> buildOrders(int orderCount, boolean useInterning) {
+        Random random = new Random(42);
+        List<Order> orders = new ArrayList<>(orderCount);
+        
+        for (int i = 0; i < orderCount; i++) {
+            int customer = random.nextInt(CUSTOMERS);
+            
+            Address address = useInterning
+                    ? addressRow(customer).toDomain()
+                    : Address.of(fresh("" + customer + " Main St"), fresh("City " + (customer % 500)),
+                            fresh("CA"), fresh(String.valueOf(10000 + customer % 90000)), fresh("US"));
+            
+            int itemCount = 1 + random.nextInt(MAX_ITEMS_PER_ORDER);
+            List<OrderItem> items = new ArrayList<>(itemCount);
+            Set<Integer> products = new HashSet<>();
+            for (int j = 0; j < itemCount; j++) {
+                // Distinct products: an order has one line per product
+                int product;
+                do {
+                    product = random.nextInt(PRODUCTS);
+                } while (!products.add(product));
+                int quantity = 1 + random.nextInt(3);
+                items.add(useInterning
+                        ? itemRow(product, quantity).toDomain()
+                        : OrderItem.of(fresh("PROD-" + product), fresh("Product number " + product),
+                                Money.usd(price(product)), quantity));
+            }
+            
+            orders.add(Order.create(fresh("CUST-" + customer), items, address));
+        }
+        return orders;
+    }
+    
+    private static AddressEmbeddable addressRow(int customer) {
+        return new AddressEmbeddable(fresh("" + customer + " Main St"), fresh("City " + (customer % 500)),
+                fresh("CA"), fresh(String.valueOf(10000 + customer % 90000)), fresh("US"));
+    }
+    
+    private static OrderItemEntity itemRow(int product, int quantity) {
+        return new OrderItemEntity(fresh("PROD-" + product), fresh("Product number " + product),
+                price(product), fresh("USD"), quantity);
+    }
+    
+    private static BigDecimal price(int product) {
+        return BigDecimal.valueOf(100 + product % 10_000, 2);
+    }
+    
+    // Forces a new String instance, like a value read from a JDBC ResultSet
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+    
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
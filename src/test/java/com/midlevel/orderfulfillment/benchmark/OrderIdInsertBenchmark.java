@@ -0,0 +1,113 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.OrderIds;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert-throughput and index-size benchmark for order ID formats.
+ * 
+ * Compares three primary key layouts on an orders-like table:
+ * 1. varchar-v4: VARCHAR(50) holding random UUIDs (the old schema)
+ * 2. uuid-v4:    native uuid holding random UUIDs
+ * 3. uuid-v7:    native uuid holding time-ordered IDs from OrderIds
+ * 
+ * For each layout it inserts N rows in JDBC batches and reports overall
+ * rows/sec, rows/sec over the last 10% of the inserts (when the index is
+ * largest, which is where random keys hurt most), and the final primary
+ * key index size.
+ * 
+ * This is a standalone program, not a unit test:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.midlevel.orderfulfillment.benchmark.OrderIdInsertBenchmark \
+ *       -Dexec.args="2000000"
+ * Uses a Testcontainers PostgreSQL unless -Dbenchmark.jdbcUrl is set (see BenchmarkDatabase).
+ */
+public class OrderIdInsertBenchmark {
+    
+    private static final int BATCH_SIZE = 1_000;
+    
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        
+        try (BenchmarkDatabase database = BenchmarkDatabase.start();
+             Connection connection = database.connect()) {
+            
+            connection.setAutoCommit(false);
+            
+            System.out.printf("Inserting %,d rows per layout (batch size %,d)%n", rows, BATCH_SIZE);
+            System.out.printf("%-12s %14s %16s %16s%n", "layout", "rows/sec", "last10% rows/s", "pk index size");
+            
+            run(connection, "varchar-v4", "VARCHAR(50)", rows, () -> UUID.randomUUID().toString());
+            run(connection, "uuid-v4", "uuid", rows, UUID::randomUUID);
+            run(connection, "uuid-v7", "uuid", rows, OrderIds::next);
+        }
+    }
+    
+    private static void run(Connection connection, String layout, String keyType,
+                            int rows, Supplier<Object> ids) throws SQLException {
+        String table = "bench_" + layout.replace('-', '_');
+        
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+            ddl.execute("CREATE TABLE " + table + " ("
+                    + "order_id " + keyType + " PRIMARY KEY, "
+                    + "customer_id VARCHAR(50) NOT NULL, "
+                    + "created_at TIMESTAMP WITH TIME ZONE NOT NULL, "
+                    + "status VARCHAR(20) NOT NULL)");
+            connection.commit();
+        }
+        
+        int tailStart = rows - rows / 10;
+        long start = System.nanoTime();
+        long tailStartNanos = start;
+        
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (order_id, customer_id, created_at, status) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                if (i == tailStart) {
+                    tailStartNanos = System.nanoTime();
+                }
+                insert.setObject(1, ids.get());
+                insert.setString(2, "CUST-" + (i % 100_000));
+                insert.setTimestamp(3, Timestamp.from(Instant.now()));
+                insert.setString(4, "CREATED");
+                insert.addBatch();
+                
+                // One commit per batch, like a busy system with many small transactions
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        
+        long end = System.nanoTime();
+        double rowsPerSec = rows / ((end - start) / 1e9);
+        double tailRowsPerSec = (rows - tailStart) / ((end - tailStartNanos) / 1e9);
+        
+        System.out.printf("%-12s %,14.0f %,16.0f %16s%n",
+                layout, rowsPerSec, tailRowsPerSec, indexSize(connection, table + "_pkey"));
+    }
+    
+    private static String indexSize(Connection connection, String index) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT pg_size_pretty(pg_relation_size(?::regclass))")) {
+            query.setString(1, index);
+            try (ResultSet rs = query.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+}
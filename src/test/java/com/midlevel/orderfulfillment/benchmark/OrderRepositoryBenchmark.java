@@ -0,0 +1,286 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.OrderFulfillmentApplication;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Benchmark suite for the OrderRepository port against a real PostgreSQL.
+ *
+ * Boots the application context against a Testcontainers PostgreSQL (same
+ * image as OrderRepositoryIntegrationTest, see BenchmarkDatabase), seeds N
+ * orders through the port, then measures each port method:
+ *   save (new), save (existing), findById, findByCustomerId,
+ *   findByStatus, deleteById
+ *
+ * For each method it reports ops/sec, latency percentiles (p50/p90/p99/p99.9/max)
+ * and the average number of rows returned. Results are printed as a table and
+ * written as JSON to target/benchmarks/ so runs (and adapter implementations)
+ * can be compared.
+ *
+ * Options (system properties):
+ *   -Dbenchmark.orders=10000       number of seeded orders
+ *   -Dbenchmark.iterations=2000    measured calls per method (findByStatus uses 1/10)
+ *   -Dbenchmark.warmup=500         warm-up calls per method
+ *   -Dbenchmark.repository=<bean>  OrderRepository bean to measure (default: the primary one)
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.midlevel.orderfulfillment.benchmark.OrderRepositoryBenchmark
+ */
+public class OrderRepositoryBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    private final OrderRepository repository;
+    private final Random random = new Random(42);
+    private final List<String> seededIds = new ArrayList<>();
+
+    private OrderRepositoryBenchmark(OrderRepository repository) {
+        this.repository = repository;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int orderCount = Integer.getInteger("benchmark.orders", 10_000);
+        int iterations = Integer.getInteger("benchmark.iterations", 2_000);
+        int warmup = Integer.getInteger("benchmark.warmup", 500);
+        String repositoryBean = System.getProperty("benchmark.repository");
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.start();
+             ConfigurableApplicationContext context = startApplication(database)) {
+
+            OrderRepository repository = repositoryBean == null
+                    ? context.getBean(OrderRepository.class)
+                    : context.getBean(repositoryBean, OrderRepository.class);
+            String implementation = repositoryBean != null ? repositoryBean : repository.getClass().getSimpleName();
+
+            OrderRepositoryBenchmark benchmark = new OrderRepositoryBenchmark(repository);
+
+            System.out.printf("Seeding %,d orders...%n", orderCount);
+            benchmark.seed(orderCount);
+
+            List<Result> results = benchmark.runAll(iterations, warmup);
+
+            System.out.printf("%nOrderRepository benchmark (%s, %,d seeded orders)%n", implementation, orderCount);
+            System.out.println(Result.header());
+            results.forEach(result -> System.out.println(result.row()));
+
+            Path output = writeJson(implementation, orderCount, results);
+            System.out.println("\nResults written to " + output);
+        }
+    }
+
+    /**
+     * Starts the application without a web server, pointed at the benchmark database.
+     * Command-line arguments win over application.yml, so SQL logging is switched off here.
+     * Extra arguments (e.g. --spring.profiles.active=prod) are appended and win over the defaults.
+     */
+    static ConfigurableApplicationContext startApplication(BenchmarkDatabase database, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + database.getJdbcUrl(),
+                "--spring.datasource.username=" + database.getUsername(),
+                "--spring.datasource.password=" + database.getPassword(),
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.midlevel.orderfulfillment=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.springframework.transaction=WARN"
+        ));
+        args.addAll(Arrays.asList(extraArgs));
+        return new SpringApplicationBuilder(OrderFulfillmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    // Seeding
+
+    private void seed(int orderCount) {
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int i = 0; i < orderCount; i++) {
+            Order order = newOrder();
+            // Spread orders over all statuses
+            switch (statuses[i % statuses.length]) {
+                case PAID -> order.pay();
+                case SHIPPED -> {
+                    order.pay();
+                    order.ship();
+                }
+                case CANCELLED -> order.cancel();
+                default -> { }
+            }
+            seededIds.add(repository.save(order).getOrderId());
+        }
+    }
+
+    private Order newOrder() {
+        int itemCount = 1 + random.nextInt(5);
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        Set<Integer> products = new HashSet<>();
+        for (int i = 0; i < itemCount; i++) {
+            // One line per product, as Order.create requires
+            int product;
+            do {
+                product = random.nextInt(1_000);
+            } while (!products.add(product));
+            items.add(OrderItem.of("PROD-" + product, "Product " + product,
+                    Money.usd(BigDecimal.valueOf(199 + product, 2)), 1 + random.nextInt(3)));
+        }
+        Address address = Address.of(random.nextInt(10_000) + " Main St", "Springfield", "IL", "62701", "US");
+        return Order.create("CUST-" + random.nextInt(CUSTOMERS), items, address);
+    }
+
+    // Measurement
+
+    private List<Result> runAll(int iterations, int warmup) {
+        List<Result> results = new ArrayList<>();
+
+        results.add(measure("save(new)", iterations, warmup, i -> {
+            repository.save(newOrder());
+            return 1;
+        }));
+
+        Order existing = repository.findById(seededIds.get(0)).orElseThrow();
+        results.add(measure("save(existing)", iterations, warmup, i -> {
+            repository.save(existing);
+            return 1;
+        }));
+
+        results.add(measure("findById", iterations, warmup, i ->
+                repository.findById(randomSeededId()).map(order -> 1L).orElse(0L)));
+
+        results.add(measure("findByCustomerId", iterations, warmup, i ->
+                repository.findByCustomerId("CUST-" + random.nextInt(CUSTOMERS)).size()));
+
+        OrderStatus[] statuses = OrderStatus.values();
+        results.add(measure("findByStatus", Math.max(1, iterations / 10), Math.max(1, warmup / 10), i ->
+                repository.findByStatus(statuses[i % statuses.length]).size()));
+
+        // Delete freshly created orders so the seeded data set stays intact
+        List<String> toDelete = new ArrayList<>();
+        for (int i = 0; i < iterations + warmup; i++) {
+            toDelete.add(repository.save(newOrder()).getOrderId());
+        }
+        results.add(measure("deleteById", iterations, warmup, i -> {
+            repository.deleteById(toDelete.get(i));
+            return 1;
+        }));
+
+        return results;
+    }
+
+    private String randomSeededId() {
+        return seededIds.get(random.nextInt(seededIds.size()));
+    }
+
+    /**
+     * Calls the operation warmup + iterations times and records the latency of the measured calls.
+     * The operation receives the call index and returns the number of rows it produced.
+     */
+    private static Result measure(String name, int iterations, int warmup, IntToLongFunction operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.applyAsLong(i);
+        }
+
+        long[] latencies = new long[iterations];
+        long rows = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long callStart = System.nanoTime();
+            rows += operation.applyAsLong(warmup + i);
+            latencies[i] = System.nanoTime() - callStart;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(name, iterations, elapsed, latencies, rows);
+    }
+
+    private static Path writeJson(String implementation, int orderCount, List<Result> results) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n")
+                .append("  \"benchmark\": \"OrderRepository\",\n")
+                .append("  \"implementation\": \"").append(implementation).append("\",\n")
+                .append("  \"timestamp\": \"").append(Instant.now()).append("\",\n")
+                .append("  \"seededOrders\": ").append(orderCount).append(",\n")
+                .append("  \"results\": [\n");
+        for (int i = 0; i < results.size(); i++) {
+            json.append("    ").append(results.get(i).json());
+            json.append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+
+        Path directory = Path.of("target", "benchmarks");
+        Files.createDirectories(directory);
+        Path file = directory.resolve("order-repository-" + implementation + "-" + System.currentTimeMillis() + ".json");
+        Files.writeString(file, json);
+        return file;
+    }
+
+    /**
+     * Measured numbers for one port method.
+     */
+    private static final class Result {
+        private final String operation;
+        private final int calls;
+        private final double opsPerSecond;
+        private final double rowsPerCall;
+        private final long[] sortedLatencies;
+
+        private Result(String operation, int calls, long elapsedNanos, long[] latencies, long rows) {
+            this.operation = operation;
+            this.calls = calls;
+            this.opsPerSecond = calls / (elapsedNanos / 1e9);
+            this.rowsPerCall = (double) rows / calls;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+        }
+
+        // Latency at a percentile, in microseconds
+        private double percentile(double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1_000.0;
+        }
+
+        static String header() {
+            return String.format("%-18s %8s %10s %10s %10s %10s %10s %10s %8s",
+                    "operation", "calls", "ops/s", "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "max(us)", "rows");
+        }
+
+        String row() {
+            return String.format("%-18s %8d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f %8.1f",
+                    operation, calls, opsPerSecond, percentile(50), percentile(90),
+                    percentile(99), percentile(99.9), percentile(100), rowsPerCall);
+        }
+
+        String json() {
+            return String.format(Locale.ROOT,
+                    "{\"operation\": \"%s\", \"calls\": %d, \"opsPerSecond\": %.2f, "
+                            + "\"latencyMicros\": {\"p50\": %.1f, \"p90\": %.1f, \"p99\": %.1f, \"p999\": %.1f, \"max\": %.1f}, "
+                            + "\"rowsPerCall\": %.2f}",
+                    operation, calls, opsPerSecond, percentile(50), percentile(90),
+                    percentile(99), percentile(99.9), percentile(100), rowsPerCall);
+        }
+    }
+}
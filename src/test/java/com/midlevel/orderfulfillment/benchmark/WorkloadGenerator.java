@@ -0,0 +1,474 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.application.OrderService;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Synthetic end-to-end workload against the application's service and port layer.
+ *
+ * Boots the application (see OrderRepositoryBenchmark.startApplication), seeds
+ * orders with the domain factories, then runs a mix of operations at a fixed
+ * target rate:
+ *   create          OrderService.placeOrder for a Zipf-skewed customer
+ *   pay / cancel    OrderService.pay / cancel on an order still in CREATED
+ *   ship            OrderService.ship on a PAID order
+ *   findById        OrderService.findOrder, Zipf-skewed over the known orders
+ *   findByCustomer  OrderService.findOrdersByCustomer, Zipf-skewed customers
+ *
+ * OPEN LOOP: a scheduler thread issues operation i at start + i / rate, no
+ * matter how long earlier operations took, and hands it to a worker pool.
+ * Latency is measured from that intended start time, not from when a worker
+ * picked it up - so when the system stalls, the operations queued up behind
+ * the stall are charged for the wait (no coordinated omission). Service time
+ * (from actual start) is recorded separately; a large gap between the two
+ * means the system could not keep up with the rate.
+ *
+ * Output: a percentile table per operation, and one HdrHistogram percentile
+ * distribution file (.hgrm, values in milliseconds) per operation under
+ * target/workload/, which can be plotted with the HdrHistogram plotter.
+ *
+ * Options (system properties):
+ *   -Dworkload.rate=200            operations per second
+ *   -Dworkload.duration=60         measured seconds
+ *   -Dworkload.warmup=15           warm-up seconds (run at the same rate, not recorded)
+ *   -Dworkload.threads=32          worker threads
+ *   -Dworkload.customers=10000     number of distinct customers
+ *   -Dworkload.orders=20000        seeded orders
+ *   -Dworkload.skew=1.0            Zipf exponent for customer and order popularity (0 = uniform)
+ *   -Dworkload.mix=create=30,pay=20,ship=15,cancel=5,findById=20,findByCustomer=10
+ * Program arguments are passed to the application, e.g. --spring.profiles.active=prod
+ *
+ * Run:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.midlevel.orderfulfillment.benchmark.WorkloadGenerator
+ * Uses a Testcontainers PostgreSQL unless -Dbenchmark.jdbcUrl is set (see BenchmarkDatabase).
+ */
+public class WorkloadGenerator {
+
+    // Histogram range: 1 microsecond to 1 hour, 3 significant digits
+    private static final long MAX_LATENCY_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int PRODUCTS = 1_000;
+
+    /**
+     * Operation types of the mix.
+     */
+    enum Operation {
+        CREATE("create"),
+        PAY("pay"),
+        SHIP("ship"),
+        CANCEL("cancel"),
+        FIND_BY_ID("findById"),
+        FIND_BY_CUSTOMER("findByCustomer");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        static Operation fromLabel(String label) {
+            for (Operation operation : values()) {
+                if (operation.label.equals(label)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in workload mix: " + label);
+        }
+    }
+
+    private final OrderService orderService;
+    private final ZipfSampler customers;
+    private final double skew;
+
+    // Orders by what can still happen to them. Each ID is taken by one operation only,
+    // so concurrent operations never race on the same order.
+    private final ConcurrentLinkedQueue<String> createdOrders = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> paidOrders = new ConcurrentLinkedQueue<>();
+    // All orders, in creation order; findById picks from it by popularity rank
+    private final List<String> knownOrders = Collections.synchronizedList(new ArrayList<>());
+    private volatile ZipfSampler orderPopularity;
+
+    private final Map<Operation, Recorder> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> skipped = new EnumMap<>(Operation.class);
+
+    private WorkloadGenerator(OrderService orderService, int customerCount, double skew) {
+        this.orderService = orderService;
+        this.customers = new ZipfSampler(customerCount, skew);
+        this.skew = skew;
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, new Recorder(MAX_LATENCY_MICROS, 3));
+            serviceTimes.put(operation, new Recorder(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+            skipped.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("workload.rate", 200);
+        int durationSeconds = Integer.getInteger("workload.duration", 60);
+        int warmupSeconds = Integer.getInteger("workload.warmup", 15);
+        int threads = Integer.getInteger("workload.threads", 32);
+        int customerCount = Integer.getInteger("workload.customers", 10_000);
+        int orderCount = Integer.getInteger("workload.orders", 20_000);
+        double skew = Double.parseDouble(System.getProperty("workload.skew", "1.0"));
+        OperationMix mix = OperationMix.parse(System.getProperty("workload.mix",
+                "create=30,pay=20,ship=15,cancel=5,findById=20,findByCustomer=10"));
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.start();
+             ConfigurableApplicationContext context = OrderRepositoryBenchmark.startApplication(database, args)) {
+
+            WorkloadGenerator generator = new WorkloadGenerator(
+                    context.getBean(OrderService.class), customerCount, skew);
+
+            System.out.printf("Seeding %,d orders for %,d customers...%n", orderCount, customerCount);
+            generator.seed(context.getBean(OrderRepository.class), orderCount);
+
+            System.out.printf("Running %,d ops/s for %ds (+%ds warm-up) on %d threads, mix %s, skew %.2f%n",
+                    rate, durationSeconds, warmupSeconds, threads, mix, skew);
+            RunStats stats = generator.run(mix, rate, warmupSeconds, durationSeconds, threads);
+
+            generator.report(stats, rate, durationSeconds);
+        }
+    }
+
+    // Seeding
+
+    /**
+     * Saves the initial orders straight through the port. Orders are spread over
+     * CREATED and PAID, so pay, cancel and ship have work from the first second.
+     */
+    private void seed(OrderRepository repository, int orderCount) {
+        Random random = new Random(42);
+        for (int i = 0; i < orderCount; i++) {
+            Order order = Order.create(customerId(customers.sample(random)), randomItems(random), randomAddress(random));
+            boolean paid = i % 2 == 1;
+            if (paid) {
+                order.pay();
+            }
+            String orderId = repository.save(order).getOrderId();
+            knownOrders.add(orderId);
+            (paid ? paidOrders : createdOrders).add(orderId);
+        }
+        orderPopularity = new ZipfSampler(knownOrders.size(), skew);
+    }
+
+    private static String customerId(int rank) {
+        return "CUST-" + rank;
+    }
+
+    // Distinct products: an order has one line per product
+    private static List<OrderItem> randomItems(Random random) {
+        int itemCount = 1 + random.nextInt(5);
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        Set<Integer> products = new HashSet<>();
+        for (int i = 0; i < itemCount; i++) {
+            int product;
+            do {
+                product = random.nextInt(PRODUCTS);
+            } while (!products.add(product));
+            items.add(OrderItem.of("PROD-" + product, "Product " + product,
+                    Money.usd(BigDecimal.valueOf(199 + product, 2)), 1 + random.nextInt(3)));
+        }
+        return items;
+    }
+
+    private static Address randomAddress(Random random) {
+        return Address.of(random.nextInt(10_000) + " Main St", "Springfield", "IL", "62701", "US");
+    }
+
+    // Load generation
+
+    /**
+     * Issues operations open-loop at the target rate for warm-up + duration seconds.
+     * Only operations scheduled after the warm-up are recorded.
+     */
+    private RunStats run(OperationMix mix, int rate, int warmupSeconds, int durationSeconds, int threads)
+            throws InterruptedException {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        Random random = new Random(7);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long issued = 0;
+        int maxBacklog = 0;
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intendedStart) {
+                LockSupport.parkNanos(intendedStart - now);
+            }
+
+            Operation operation = mix.next(random);
+            boolean measured = intendedStart >= measureFrom;
+            workers.execute(() -> execute(operation, intendedStart, measured));
+
+            if (measured) {
+                issued++;
+                maxBacklog = Math.max(maxBacklog, workers.getQueue().size());
+            }
+        }
+        long scheduled = System.nanoTime();
+
+        shutdown(workers);
+        long drained = System.nanoTime();
+        return new RunStats(issued, maxBacklog, drained - scheduled);
+    }
+
+    private void execute(Operation operation, long intendedStart, boolean measured) {
+        long actualStart = System.nanoTime();
+        try {
+            if (!perform(operation)) {
+                skipped.get(operation).incrementAndGet();
+                return;
+            }
+        } catch (RuntimeException e) {
+            errors.get(operation).incrementAndGet();
+        }
+        if (measured) {
+            long finished = System.nanoTime();
+            record(responseTimes.get(operation), finished - intendedStart);
+            record(serviceTimes.get(operation), finished - actualStart);
+        }
+    }
+
+    /**
+     * Runs one operation through OrderService.
+     *
+     * @return false if there was nothing to do (e.g. no PAID order left to ship)
+     */
+    private boolean perform(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case CREATE -> {
+                Order order = orderService.placeOrder(customerId(customers.sample(random)),
+                        randomItems(random), randomAddress(random));
+                knownOrders.add(order.getOrderId());
+                createdOrders.add(order.getOrderId());
+            }
+            case PAY -> {
+                String orderId = createdOrders.poll();
+                if (orderId == null) {
+                    return false;
+                }
+                orderService.pay(orderId);
+                paidOrders.add(orderId);
+            }
+            case CANCEL -> {
+                String orderId = createdOrders.poll();
+                if (orderId == null) {
+                    return false;
+                }
+                orderService.cancel(orderId);
+            }
+            case SHIP -> {
+                String orderId = paidOrders.poll();
+                if (orderId == null) {
+                    return false;
+                }
+                orderService.ship(orderId);
+            }
+            case FIND_BY_ID -> orderService.findOrder(knownOrders.get(orderPopularity.sample(random)));
+            case FIND_BY_CUSTOMER -> orderService.findOrdersByCustomer(customerId(customers.sample(random)));
+        }
+        return true;
+    }
+
+    private static void record(Recorder recorder, long nanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+        recorder.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+    }
+
+    private static void shutdown(ExecutorService workers) throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+    }
+
+    // Reporting
+
+    private void report(RunStats stats, int rate, int durationSeconds) throws IOException {
+        Path directory = Path.of("target", "workload", String.valueOf(System.currentTimeMillis()));
+        Files.createDirectories(directory);
+
+        System.out.printf("%nIssued %,d operations in %ds (target %,d ops/s, achieved %,.1f ops/s)%n",
+                stats.issued, durationSeconds, rate, (double) stats.issued / durationSeconds);
+        System.out.printf("Max worker backlog: %,d operations; drained %.1f ms after the last one was scheduled%n",
+                stats.maxBacklog, stats.drainNanos / 1e6);
+
+        System.out.println("\nResponse time (from intended start), ms:");
+        System.out.println(header());
+        for (Operation operation : Operation.values()) {
+            Histogram response = responseTimes.get(operation).getIntervalHistogram();
+            Histogram service = serviceTimes.get(operation).getIntervalHistogram();
+            System.out.println(row(operation, response));
+
+            writeHistogram(directory.resolve(operation.label + ".hgrm"), response);
+            writeHistogram(directory.resolve(operation.label + ".service.hgrm"), service);
+        }
+
+        System.out.println("\nService time (from actual start), ms: see *.service.hgrm");
+        System.out.println("Histograms written to " + directory);
+    }
+
+    private static String header() {
+        return String.format("%-16s %9s %7s %8s %9s %9s %9s %9s %9s %9s",
+                "operation", "count", "errors", "skipped", "mean", "p50", "p90", "p99", "p99.9", "max");
+    }
+
+    private String row(Operation operation, Histogram histogram) {
+        return String.format("%-16s %9d %7d %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                operation.label, histogram.getTotalCount(), errors.get(operation).get(), skipped.get(operation).get(),
+                histogram.getMean() / 1_000.0,
+                histogram.getValueAtPercentile(50) / 1_000.0,
+                histogram.getValueAtPercentile(90) / 1_000.0,
+                histogram.getValueAtPercentile(99) / 1_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000.0,
+                histogram.getMaxValue() / 1_000.0);
+    }
+
+    // Microseconds in, milliseconds out
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1_000.0);
+        }
+    }
+
+    private record RunStats(long issued, int maxBacklog, long drainNanos) {
+    }
+
+    /**
+     * Weighted choice of the next operation.
+     */
+    static final class OperationMix {
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+        private final String description;
+
+        private OperationMix(Operation[] operations, int[] cumulativeWeights, String description) {
+            this.operations = operations;
+            this.cumulativeWeights = cumulativeWeights;
+            this.description = description;
+        }
+
+        /**
+         * Parses "create=30,pay=20,...". Weights are relative; they don't need to add up to 100.
+         */
+        static OperationMix parse(String spec) {
+            String[] entries = spec.split(",");
+            Operation[] operations = new Operation[entries.length];
+            int[] cumulative = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                String[] parts = entries[i].trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid workload mix entry: " + entries[i]);
+                }
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Workload mix weight cannot be negative: " + entries[i]);
+                }
+                operations[i] = Operation.fromLabel(parts[0].trim());
+                total += weight;
+                cumulative[i] = total;
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("Workload mix has no weight: " + spec);
+            }
+            return new OperationMix(operations, cumulative, spec);
+        }
+
+        Operation next(Random random) {
+            int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * Zipf-distributed ranks 0..n-1: rank 0 is the most popular, rank k is picked
+     * with probability proportional to 1 / (k + 1)^exponent. Exponent 0 is uniform.
+     *
+     * Samples by binary search over the precomputed cumulative distribution.
+     */
+    static final class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            if (n <= 0) {
+                throw new IllegalArgumentException("Zipf population must be positive: " + n);
+            }
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            double u = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
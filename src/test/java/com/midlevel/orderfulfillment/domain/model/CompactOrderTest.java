@@ -0,0 +1,127 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactOrder and its StringTable.
+ */
+@DisplayName("CompactOrder Tests")
+class CompactOrderTest {
+
+    private StringTable strings;
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        strings = new StringTable();
+        address = Address.of("1 Main St", "Springfield", "IL", "62701", "US");
+    }
+
+    private Order order(String customerId, OrderItem... items) {
+        return Order.create(customerId, List.of(items), address);
+    }
+
+    @Test
+    @DisplayName("Should expose the same state as the order")
+    void shouldMirrorOrder() {
+        Order order = order("CUST-1",
+                OrderItem.of("PROD-1", "Widget", Money.usd(new BigDecimal("10.50")), 2),
+                OrderItem.of("PROD-2", "Gadget", Money.usd(new BigDecimal("3.99")), 1));
+        order.pay();
+
+        CompactOrder compact = CompactOrder.of(order, strings);
+
+        assertEquals(order.getOrderId(), compact.getOrderId());
+        assertEquals(order.getCustomerId(), compact.getCustomerId());
+        assertEquals(order.getStatus(), compact.getStatus());
+        assertEquals(order.getCreatedAt(), compact.getCreatedAt());
+        assertEquals(order.getPaidAt(), compact.getPaidAt());
+        assertNull(compact.getShippedAt());
+        assertEquals(order.getShippingAddress(), compact.getShippingAddress());
+        assertEquals(order.getItems(), compact.getItems());
+        assertEquals(order.calculateTotal(), compact.calculateTotal());
+        assertTrue(compact.isPaid());
+        assertTrue(compact.isModifiable());
+    }
+
+    @Test
+    @DisplayName("Should give per-item access without item objects")
+    void shouldAccessItemsBySlot() {
+        CompactOrder compact = CompactOrder.of(order("CUST-1",
+                OrderItem.of("PROD-1", "Widget", Money.usd(new BigDecimal("10.50")), 2)), strings);
+
+        assertEquals(1, compact.getItemCount());
+        assertEquals("PROD-1", compact.getProductId(0));
+        assertEquals("Widget", compact.getProductName(0));
+        assertEquals(2, compact.getQuantity(0));
+        assertEquals(Money.usd(new BigDecimal("10.50")), compact.getUnitPrice(0));
+    }
+
+    @Test
+    @DisplayName("Should share strings between orders")
+    void shouldShareStrings() {
+        OrderItem widget = OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.ONE), 1);
+
+        CompactOrder first = CompactOrder.of(order("CUST-1", widget), strings);
+        CompactOrder second = CompactOrder.of(order("CUST-1", widget), strings);
+
+        // CUST-1, PROD-1, Widget - stored once for both orders
+        assertEquals(3, strings.size());
+        assertSame(first.getProductName(0), second.getProductName(0));
+    }
+
+    @Test
+    @DisplayName("Should keep prices that don't fit in minor units")
+    void shouldKeepOverflowPrices() {
+        Money huge = Money.usd(new BigDecimal("100000000000000000000.00"));
+        Order order = order("CUST-1",
+                OrderItem.of("PROD-1", "Yacht", huge, 1),
+                OrderItem.of("PROD-2", "Widget", Money.usd(new BigDecimal("1.00")), 3));
+
+        CompactOrder compact = CompactOrder.of(order, strings);
+
+        assertEquals(huge, compact.getUnitPrice(0));
+        assertEquals(order.calculateTotal(), compact.calculateTotal());
+    }
+
+    @Test
+    @DisplayName("Should rebuild a full order that can change state")
+    void shouldRebuildOrder() {
+        Order order = order("CUST-1", OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1));
+        order.pay();
+
+        Order rebuilt = CompactOrder.of(order, strings).toOrder();
+        rebuilt.ship();
+
+        assertEquals(order, rebuilt);
+        assertEquals(order.getPaidAt(), rebuilt.getPaidAt());
+        assertEquals(OrderStatus.SHIPPED, rebuilt.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should use order identity for equality")
+    void shouldUseOrderIdentity() {
+        Order order = order("CUST-1", OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1));
+        Order other = order("CUST-1", OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1));
+
+        assertEquals(CompactOrder.of(order, strings), CompactOrder.of(order, strings));
+        assertEquals(CompactOrder.of(order, strings).hashCode(), CompactOrder.of(order, strings).hashCode());
+        assertNotEquals(CompactOrder.of(order, strings), CompactOrder.of(other, strings));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown string IDs")
+    void shouldRejectUnknownStringId() {
+        assertThrows(IndexOutOfBoundsException.class, () -> strings.get(0));
+        assertEquals(0, strings.idOf("a"));
+        assertEquals(0, strings.idOf("a"));
+        assertEquals(1, strings.idOf("b"));
+    }
+}
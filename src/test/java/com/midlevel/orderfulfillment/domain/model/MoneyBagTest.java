@@ -0,0 +1,96 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import com.midlevel.orderfulfillment.domain.port.ExchangeRateProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MoneyBag multi-currency accumulator.
+ */
+@DisplayName("MoneyBag Tests")
+class MoneyBagTest {
+
+    @Test
+    @DisplayName("Should keep a separate total per currency")
+    void shouldKeepSeparateTotalsPerCurrency() {
+        MoneyBag bag = new MoneyBag()
+                .add(Money.usd(new BigDecimal("10.50")))
+                .add(Money.of(new BigDecimal("20.00"), "EUR"))
+                .add(Money.usd(new BigDecimal("4.50")))
+                .add(Money.of(BigDecimal.valueOf(300), "JPY"));
+
+        assertEquals(3, bag.currencyCount());
+        assertEquals(Money.usd(new BigDecimal("15.00")), bag.totalFor("USD"));
+        assertEquals(Money.of(new BigDecimal("20.00"), "EUR"), bag.totalFor("EUR"));
+        assertEquals(Money.of(BigDecimal.valueOf(300), "JPY"), bag.totalFor("JPY"));
+        assertTrue(bag.totalFor("GBP").isZero());
+    }
+
+    @Test
+    @DisplayName("Parallel collection should match sequential addition")
+    void parallelCollectionShouldMatchSequential() {
+        Random random = new Random(42);
+        List<String> codes = List.of("USD", "EUR", "JPY", "GBP", "BHD", "CHF");
+        List<Money> amounts = IntStream.range(0, 100_000)
+                .mapToObj(i -> Money.ofMinorUnits(random.nextInt(1_000_000), codes.get(random.nextInt(codes.size()))))
+                .collect(Collectors.toList());
+
+        MoneyBag sequential = new MoneyBag();
+        amounts.forEach(sequential::add);
+
+        MoneyBag parallel = amounts.parallelStream().collect(MoneyBag.collector());
+
+        assertEquals(sequential.totals(), parallel.totals());
+    }
+
+    @Test
+    @DisplayName("Should spill into BigDecimal instead of overflowing")
+    void shouldSpillOnOverflow() {
+        Money large = Money.ofMinorUnits(Long.MAX_VALUE, "USD");
+
+        MoneyBag bag = new MoneyBag().add(large).add(large).add(Money.ofMinorUnits(2, "USD"));
+
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 2)
+                .multiply(BigDecimal.valueOf(2))
+                .add(new BigDecimal("0.02"));
+        assertEquals(expected, bag.totalFor("USD").getAmount());
+    }
+
+    @Test
+    @DisplayName("Should convert all totals to a reporting currency")
+    void shouldConvertToReportingCurrency() {
+        ExchangeRateProvider rates = (from, to) -> switch (from) {
+            case "EUR" -> new BigDecimal("1.10");
+            case "JPY" -> new BigDecimal("0.0067");
+            default -> throw new IllegalArgumentException("No rate for " + from);
+        };
+
+        MoneyBag bag = new MoneyBag()
+                .add(Money.usd(new BigDecimal("100.00")))
+                .add(Money.of(new BigDecimal("50.00"), "EUR"))
+                .add(Money.of(BigDecimal.valueOf(1000), "JPY"));
+
+        // 100.00 + 50.00 * 1.10 + 1000 * 0.0067 = 161.70
+        assertEquals(Money.usd(new BigDecimal("161.70")), bag.convertTo("USD", rates));
+    }
+
+    @Test
+    @DisplayName("Should fail conversion when a rate is missing")
+    void shouldFailWhenRateMissing() {
+        ExchangeRateProvider noRates = (from, to) -> {
+            throw new IllegalArgumentException("No rate for " + from);
+        };
+
+        MoneyBag bag = new MoneyBag().add(Money.of(BigDecimal.TEN, "EUR"));
+
+        assertThrows(IllegalArgumentException.class, () -> bag.convertTo("USD", noRates));
+    }
+}
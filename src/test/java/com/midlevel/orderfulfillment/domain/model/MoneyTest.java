@@ -0,0 +1,241 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Money value object.
+ *
+ * Testing Strategy:
+ * - Differential tests: every operation is compared against a reference
+ *   implementation of the original, purely BigDecimal-based Money
+ * - Overflow tests: results that leave the long range must fall back to
+ *   BigDecimal and still agree with the reference
+ * - Random inputs use fixed seeds so failures are reproducible
+ */
+@DisplayName("Money Value Object Tests")
+class MoneyTest {
+
+    // Number of random cases per currency in the differential tests
+    private static final int CASES = 5_000;
+
+    /**
+     * Reference implementation: the original BigDecimal algorithm for Money.of.
+     */
+    private static BigDecimal referenceOf(BigDecimal amount, String currencyCode) {
+        Currency currency = Currency.getInstance(currencyCode);
+        return amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Reference implementation: the original BigDecimal algorithm for Money.multiply.
+     */
+    private static BigDecimal referenceMultiply(BigDecimal amount, int multiplier, String currencyCode) {
+        Currency currency = Currency.getInstance(currencyCode);
+        return amount.multiply(BigDecimal.valueOf(multiplier))
+                .setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Random non-negative amount with a random number of decimals (0 to 5),
+     * so rounding to the currency scale is exercised.
+     */
+    private static BigDecimal randomAmount(Random random) {
+        long unscaled = random.nextInt(4) == 0
+                ? Math.abs(random.nextLong() / 10)   // occasionally very large values
+                : random.nextInt(10_000_000);
+        return BigDecimal.valueOf(unscaled, random.nextInt(6));
+    }
+
+    @Nested
+    @DisplayName("Differential Tests Against BigDecimal Reference")
+    class DifferentialTests {
+
+        @ParameterizedTest(name = "of() matches reference for {0}")
+        @ValueSource(strings = {"USD", "EUR", "JPY", "BHD", "CLF"})
+        void ofMatchesReference(String currencyCode) {
+            Random random = new Random(currencyCode.hashCode());
+
+            for (int i = 0; i < CASES; i++) {
+                BigDecimal input = randomAmount(random);
+
+                Money money = Money.of(input, currencyCode);
+                BigDecimal expected = referenceOf(input, currencyCode);
+
+                // equals (not compareTo): value AND scale must be identical to the original
+                assertEquals(expected, money.getAmount(), "of(" + input + ")");
+                assertEquals(expected.compareTo(BigDecimal.ZERO) == 0, money.isZero());
+                assertEquals(expected.toPlainString() + " " + currencyCode, money.toString());
+            }
+        }
+
+        @ParameterizedTest(name = "add() matches reference for {0}")
+        @ValueSource(strings = {"USD", "EUR", "JPY", "BHD", "CLF"})
+        void addMatchesReference(String currencyCode) {
+            Random random = new Random(31L * currencyCode.hashCode());
+
+            for (int i = 0; i < CASES; i++) {
+                BigDecimal a = randomAmount(random);
+                BigDecimal b = randomAmount(random);
+
+                Money sum = Money.of(a, currencyCode).add(Money.of(b, currencyCode));
+                BigDecimal expected = referenceOf(a, currencyCode).add(referenceOf(b, currencyCode));
+
+                assertEquals(expected, sum.getAmount(), a + " + " + b);
+            }
+        }
+
+        @ParameterizedTest(name = "multiply() matches reference for {0}")
+        @ValueSource(strings = {"USD", "EUR", "JPY", "BHD", "CLF"})
+        void multiplyMatchesReference(String currencyCode) {
+            Random random = new Random(17L * currencyCode.hashCode());
+
+            for (int i = 0; i < CASES; i++) {
+                BigDecimal a = randomAmount(random);
+                int multiplier = random.nextBoolean() ? random.nextInt(1_000) : random.nextInt();
+
+                Money product = Money.of(a, currencyCode).multiply(multiplier);
+                BigDecimal expected = referenceMultiply(referenceOf(a, currencyCode), multiplier, currencyCode);
+
+                assertEquals(expected, product.getAmount(), a + " * " + multiplier);
+            }
+        }
+
+        @ParameterizedTest(name = "equals/hashCode/isGreaterThan match reference for {0}")
+        @ValueSource(strings = {"USD", "JPY", "BHD"})
+        void comparisonsMatchReference(String currencyCode) {
+            Random random = new Random(7L * currencyCode.hashCode());
+
+            for (int i = 0; i < CASES; i++) {
+                // Small range so equal values come up often
+                BigDecimal a = BigDecimal.valueOf(random.nextInt(200), random.nextInt(3));
+                BigDecimal b = BigDecimal.valueOf(random.nextInt(200), random.nextInt(3));
+
+                Money ma = Money.of(a, currencyCode);
+                Money mb = Money.of(b, currencyCode);
+                int expected = referenceOf(a, currencyCode).compareTo(referenceOf(b, currencyCode));
+
+                assertEquals(expected == 0, ma.equals(mb));
+                assertEquals(expected > 0, ma.isGreaterThan(mb));
+                if (expected == 0) {
+                    assertEquals(ma.hashCode(), mb.hashCode());
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Overflow Fallback Tests")
+    class OverflowTests {
+
+        @Test
+        @DisplayName("Should fall back to BigDecimal when add overflows a long")
+        void shouldFallBackWhenAddOverflows() {
+            Money max = Money.ofMinorUnits(Long.MAX_VALUE, "USD");
+            Money cent = Money.ofMinorUnits(1, "USD");
+
+            Money sum = max.add(cent);
+
+            BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 2).add(new BigDecimal("0.01"));
+            assertEquals(expected, sum.getAmount());
+            assertThrows(ArithmeticException.class, sum::getMinorUnits);
+        }
+
+        @Test
+        @DisplayName("Should fall back to BigDecimal when multiply overflows a long")
+        void shouldFallBackWhenMultiplyOverflows() {
+            Money large = Money.ofMinorUnits(Long.MAX_VALUE / 2, "USD");
+
+            Money product = large.multiply(3);
+
+            BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE / 2, 2).multiply(BigDecimal.valueOf(3));
+            assertEquals(expected, product.getAmount());
+        }
+
+        @Test
+        @DisplayName("Should treat overflowed and compact amounts with the same value as equal")
+        void shouldKeepEqualityAcrossRepresentations() {
+            // Goes through the overflow path and back into long range
+            Money viaOverflow = Money.ofMinorUnits(Long.MAX_VALUE, "USD")
+                    .add(Money.ofMinorUnits(1, "USD"))
+                    .multiply(0);
+            Money zero = Money.usd(BigDecimal.ZERO);
+
+            assertEquals(zero, viaOverflow);
+            assertEquals(zero.hashCode(), viaOverflow.hashCode());
+            assertTrue(viaOverflow.isZero());
+        }
+
+        @Test
+        @DisplayName("Should keep amounts larger than a long exact")
+        void shouldKeepHugeAmountsExact() {
+            BigDecimal huge = new BigDecimal("123456789012345678901234567890.125");
+
+            Money money = Money.of(huge, "USD");
+
+            assertEquals(new BigDecimal("123456789012345678901234567890.13"), money.getAmount());
+            assertEquals(money, Money.of(money.getAmount(), "USD"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Minor Unit Tests")
+    class MinorUnitTests {
+
+        @Test
+        @DisplayName("Should expose amounts as minor units")
+        void shouldExposeMinorUnits() {
+            assertEquals(1999, Money.usd(new BigDecimal("19.99")).getMinorUnits());
+            assertEquals(500, Money.of(BigDecimal.valueOf(500), "JPY").getMinorUnits());
+            assertEquals(1500, Money.of(new BigDecimal("1.5"), "BHD").getMinorUnits());
+        }
+
+        @Test
+        @DisplayName("Should create Money from minor units")
+        void shouldCreateFromMinorUnits() {
+            assertEquals(Money.usd(new BigDecimal("19.99")), Money.ofMinorUnits(1999, "USD"));
+            assertEquals(new BigDecimal("19.99"), Money.ofMinorUnits(1999, "USD").getAmount());
+        }
+
+        @Test
+        @DisplayName("Should reject negative minor units")
+        void shouldRejectNegativeMinorUnits() {
+            assertThrows(IllegalArgumentException.class, () -> Money.ofMinorUnits(-1, "USD"));
+        }
+
+        @Test
+        @DisplayName("Should reject minor units for currencies without a minor unit")
+        void shouldRejectCurrenciesWithoutMinorUnit() {
+            // XAU (gold) has no default fraction digits
+            assertThrows(IllegalArgumentException.class, () -> Money.ofMinorUnits(1, "XAU"));
+            assertNotNull(Money.of(BigDecimal.TEN, "XAU").getAmount());
+        }
+
+        @Test
+        @DisplayName("Should reject mixed currencies")
+        void shouldRejectMixedCurrencies() {
+            Money usd = Money.ofMinorUnits(100, "USD");
+            Money eur = Money.ofMinorUnits(100, "EUR");
+
+            assertThrows(IllegalArgumentException.class, () -> usd.add(eur));
+            assertThrows(IllegalArgumentException.class, () -> usd.isGreaterThan(eur));
+            assertNotEquals(usd, eur);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid currency codes")
+        void shouldRejectInvalidCurrencyCodes() {
+            assertThrows(IllegalArgumentException.class, () -> Money.of(BigDecimal.ONE, "NOPE"));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import com.midlevel.orderfulfillment.domain.event.OrderEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.stress.StressRun;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for Order instances shared by many threads.
+ *
+ * A small pool of orders is hammered with concurrent pay/ship/cancel calls,
+ * readers, and event pulls (what a save does); orders that reach a terminal
+ * state are replaced with fresh ones. Afterwards every order ever used is
+ * checked against the aggregate's invariants.
+ *
+ * Tagged "stress": not part of the normal build, run with
+ *   mvn test -Pstress
+ */
+@Tag("stress")
+@DisplayName("Order Concurrency Stress Tests")
+class OrderConcurrencyStressTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final Duration DURATION = Duration.ofSeconds(5);
+    // Few orders, many threads: most calls race with another call on the same order
+    private static final int POOL_SIZE = 16;
+
+    private static Order newOrder() {
+        return Order.create("CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(new BigDecimal("9.99")), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+    }
+
+    private static void countEvents(Order order, List<OrderEvent> events,
+                                    Map<Order, Integer> paidEvents, Map<Order, Integer> shippedEvents) {
+        for (OrderEvent event : events) {
+            (event instanceof OrderPaidEvent ? paidEvents : shippedEvents).merge(order, 1, Integer::sum);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent transitions should keep every order consistent")
+    void concurrentTransitionsKeepInvariants() throws InterruptedException {
+        AtomicReferenceArray<Order> pool = new AtomicReferenceArray<>(POOL_SIZE);
+        Set<Order> allOrders = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool.set(i, newOrder());
+            allOrders.add(pool.get(i));
+        }
+
+        // Orders on which ship() / cancel() returned normally
+        Set<Order> shipped = ConcurrentHashMap.newKeySet();
+        Set<Order> cancelled = ConcurrentHashMap.newKeySet();
+        Map<Order, Integer> paidEvents = new ConcurrentHashMap<>();
+        Map<Order, Integer> shippedEvents = new ConcurrentHashMap<>();
+        Set<String> readerViolations = ConcurrentHashMap.newKeySet();
+
+        StressRun.Result result = StressRun.run("order-transitions", THREADS, DURATION, (thread, random) -> {
+            int slot = random.nextInt(POOL_SIZE);
+            Order order = pool.get(slot);
+            switch (random.nextInt(6)) {
+                case 0 -> order.pay();
+                case 1 -> {
+                    order.ship();
+                    shipped.add(order);
+                }
+                case 2 -> {
+                    order.cancel();
+                    cancelled.add(order);
+                }
+                case 3 -> {
+                    // A save: collect the events raised so far
+                    countEvents(order, order.pullDomainEvents(), paidEvents, shippedEvents);
+                }
+                case 4 -> {
+                    // A reader: what it sees must be consistent
+                    OrderStatus status = order.getStatus();
+                    if (status == OrderStatus.PAID && order.getPaidAt() == null) {
+                        readerViolations.add(order.getOrderId() + " PAID without paidAt");
+                    }
+                    if (status == OrderStatus.SHIPPED && order.getShippedAt() == null) {
+                        readerViolations.add(order.getOrderId() + " SHIPPED without shippedAt");
+                    }
+                }
+                default -> {
+                    // Replace finished orders so the pool keeps racing on live ones
+                    if (!order.isModifiable()) {
+                        Order fresh = newOrder();
+                        if (pool.compareAndSet(slot, order, fresh)) {
+                            allOrders.add(fresh);
+                        }
+                    }
+                }
+            }
+        });
+
+        // Events still pending on the orders count too
+        for (Order order : allOrders) {
+            countEvents(order, order.pullDomainEvents(), paidEvents, shippedEvents);
+        }
+
+        System.out.printf("%,d orders used, %,d shipped, %,d cancelled%n",
+                allOrders.size(), shipped.size(), cancelled.size());
+
+        assertTrue(result.operations() > 0, "No operations completed");
+        assertTrue(readerViolations.isEmpty(), "Inconsistent reads: " + readerViolations);
+
+        for (Order order : allOrders) {
+            String id = order.getOrderId();
+            OrderStatus status = order.getStatus();
+
+            assertFalse(shipped.contains(order) && cancelled.contains(order),
+                    "Order both shipped and cancelled: " + id);
+            if (status == OrderStatus.PAID || status == OrderStatus.SHIPPED) {
+                assertNotNull(order.getPaidAt(), "Paid order without paidAt: " + id);
+            }
+            if (status == OrderStatus.SHIPPED) {
+                assertNotNull(order.getShippedAt(), "Shipped order without shippedAt: " + id);
+            }
+            if (status == OrderStatus.CANCELLED) {
+                assertNull(order.getShippedAt(), "Cancelled order with shippedAt: " + id);
+            }
+
+            // Each transition happened at most once, and raised exactly one event
+            assertEquals(order.getPaidAt() != null ? 1 : 0, paidEvents.getOrDefault(order, 0),
+                    "Paid events for " + id);
+            assertEquals(order.getShippedAt() != null ? 1 : 0, shippedEvents.getOrDefault(order, 0),
+                    "Shipped events for " + id);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A small, valid order for tests that need one but don't care what is in it
+ * (repository decorators, instrumentation, the application service).
+ */
+public final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    /**
+     * @return one line: PROD-1 "Widget", 9.99 USD, quantity 2
+     */
+    public static List<OrderItem> sampleItems() {
+        return List.of(OrderItem.of("PROD-1", "Widget", Money.usd(new BigDecimal("9.99")), 2));
+    }
+
+    /**
+     * @return 1 Main St, Springfield, IL 62701, US
+     */
+    public static Address sampleAddress() {
+        return Address.of("1 Main St", "Springfield", "IL", "62701", "US");
+    }
+
+    /**
+     * @return a new order of customer CUST-1 with the sample items and address
+     */
+    public static Order sampleOrder() {
+        return sampleOrder("CUST-1");
+    }
+
+    /**
+     * @return a new order of the customer with the sample items and address
+     */
+    public static Order sampleOrder(String customerId) {
+        return Order.create(customerId, sampleItems(), sampleAddress());
+    }
+}
@@ -0,0 +1,130 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the time-ordered order ID generator.
+ */
+@DisplayName("OrderIds Tests")
+class OrderIdsTest {
+    
+    @Test
+    @DisplayName("Should generate version 7 UUIDs with the IETF variant")
+    void shouldGenerateVersion7() {
+        UUID id = OrderIds.next();
+        
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+    
+    @Test
+    @DisplayName("Should embed the creation timestamp")
+    void shouldEmbedTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = OrderIds.next();
+        long after = System.currentTimeMillis();
+        
+        // Small tolerance: bursts in other tests may have carried the counter a few ms ahead
+        long embedded = OrderIds.timestampOf(id).toEpochMilli();
+        assertTrue(embedded >= before && embedded <= after + 50, "Timestamp should be the generation time");
+    }
+    
+    @Test
+    @DisplayName("Should stay strictly increasing within one millisecond, past the counter range")
+    void shouldBeMonotonicWithinMillisecond() {
+        long frozenClock = System.currentTimeMillis();
+        
+        UUID previous = OrderIds.next(frozenClock);
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = OrderIds.next(frozenClock);
+            // Compare as unsigned text, which is how PostgreSQL orders uuid values
+            assertTrue(next.toString().compareTo(previous.toString()) > 0, "IDs must increase");
+            previous = next;
+        }
+    }
+    
+    @Test
+    @DisplayName("Should generate unique IDs under contention")
+    void shouldBeUniqueUnderContention() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20_000;
+        ConcurrentLinkedQueue<UUID> ids = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(OrderIds.next());
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        Set<UUID> unique = new HashSet<>(ids);
+        assertEquals(threads * perThread, unique.size());
+    }
+    
+    @Test
+    @DisplayName("Orders should get time-ordered IDs")
+    void ordersShouldUseTimeOrderedIds() {
+        Order order = Order.create(
+            "CUST-1",
+            List.of(OrderItem.of("PROD-1", "Widget", Money.ofMinorUnits(1000, "USD"), 1)),
+            Address.usAddress("1 Main St", "Springfield", "IL", "62701")
+        );
+        
+        assertEquals(7, UUID.fromString(order.getOrderId()).version());
+        assertEquals(OrderIds.customerSlot("CUST-1"), OrderIds.slotOf(UUID.fromString(order.getOrderId())));
+    }
+    
+    @Test
+    @DisplayName("Should embed the customer's slot, keeping version, variant and timestamp")
+    void shouldEmbedCustomerSlot() {
+        for (String customerId : List.of("CUST-1", "CUST-2", "customer@example.com", "")) {
+            UUID id = OrderIds.nextFor(customerId);
+            
+            assertEquals(OrderIds.customerSlot(customerId), OrderIds.slotOf(id));
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+        assertThrows(IllegalArgumentException.class, () -> OrderIds.customerSlot(null));
+    }
+    
+    @Test
+    @DisplayName("Should spread similar customer IDs over the slots")
+    void shouldSpreadCustomerSlots() {
+        Set<Integer> slots = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            int slot = OrderIds.customerSlot(String.format("CUST%04d", i));
+            assertTrue(slot >= 0 && slot < OrderIds.SLOTS);
+            slots.add(slot);
+        }
+        // 1000 keys in 65,536 slots: only a handful of collisions expected
+        assertTrue(slots.size() > 980, "Slots should be spread: " + slots.size());
+        
+        // Pinned: the slot must never change, or orders would be looked up on the wrong shard
+        assertEquals(8674, OrderIds.customerSlot("CUST0001"));
+    }
+}
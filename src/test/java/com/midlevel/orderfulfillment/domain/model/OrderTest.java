@@ -1,14 +1,22 @@
 package com.midlevel.orderfulfillment.domain.model;
 
+import com.midlevel.orderfulfillment.domain.event.OrderEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Nested;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -137,6 +145,24 @@ class OrderTest {
             );
         }
         
+        @Test
+        @DisplayName("Should throw exception when a product is on several lines")
+        void shouldThrowExceptionForDuplicateProductLines() {
+            // Arrange - PROD-001 twice (Business Rule #8)
+            List<OrderItem> items = List.of(
+                validItems.get(0),
+                validItems.get(1),
+                OrderItem.of("PROD-001", "Widget", Money.usd(BigDecimal.valueOf(10.00)), 1)
+            );
+            
+            // Act & Assert
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> Order.create(customerId, items, shippingAddress)
+            );
+            assertTrue(exception.getMessage().contains("PROD-001"));
+        }
+        
         @Test
         @DisplayName("Should throw exception when items list is null")
         void shouldThrowExceptionWhenItemsIsNull() {
@@ -468,6 +494,30 @@ class OrderTest {
             assertTrue(order.getStatus().isTerminal(), "CANCELLED should be terminal");
             assertFalse(order.isModifiable(), "Cancelled orders should not be modifiable");
         }
+        
+        @Test
+        @DisplayName("Transition matrix should allow exactly the documented transitions")
+        void transitionMatrixShouldMatchDocumentedRules() {
+            for (OrderStatus from : OrderStatus.values()) {
+                for (OrderStatus to : OrderStatus.values()) {
+                    boolean expected =
+                        (from == OrderStatus.CREATED && (to == OrderStatus.PAID || to == OrderStatus.CANCELLED)) ||
+                        (from == OrderStatus.PAID && (to == OrderStatus.SHIPPED || to == OrderStatus.CANCELLED));
+                    assertEquals(expected, from.canTransitionTo(to), from + " -> " + to);
+                }
+                assertFalse(from.canTransitionTo(null), "Null target is never valid");
+            }
+        }
+        
+        @Test
+        @DisplayName("Status codes should round-trip and open statuses should be non-terminal")
+        void statusCodesShouldRoundTrip() {
+            for (OrderStatus status : OrderStatus.values()) {
+                assertEquals(status, OrderStatus.fromCode(status.getCode()));
+            }
+            assertThrows(IllegalArgumentException.class, () -> OrderStatus.fromCode((short) 99));
+            assertEquals(EnumSet.of(OrderStatus.CREATED, OrderStatus.PAID), OrderStatus.openStatuses());
+        }
     }
     
     /**
@@ -567,4 +617,317 @@ class OrderTest {
             assertTrue(orderString.contains("CREATED"), "Should contain status");
         }
     }
+    
+    /**
+     * Nested class for testing domain events raised by transitions.
+     */
+    @Nested
+    @DisplayName("Domain Event Tests")
+    class DomainEventTests {
+        
+        @Test
+        @DisplayName("Should raise paid and shipped events with lifecycle timestamps")
+        void shouldRaiseLifecycleEvents() {
+            // Arrange
+            Order order = Order.create(customerId, validItems, shippingAddress);
+            
+            // Act
+            order.pay();
+            order.ship();
+            List<OrderEvent> events = order.pullDomainEvents();
+            
+            // Assert - one event per transition, in order
+            assertEquals(2, events.size());
+            OrderPaidEvent paid = assertInstanceOf(OrderPaidEvent.class, events.get(0));
+            OrderShippedEvent shipped = assertInstanceOf(OrderShippedEvent.class, events.get(1));
+            
+            assertEquals(order.getOrderId(), paid.getOrderId());
+            assertEquals(shippingAddress.getCountry(), paid.getShippingCountry());
+            assertEquals(order.getCreatedAt(), paid.getCreatedAt());
+            assertEquals(order.getPaidAt(), paid.getPaidAt());
+            assertFalse(paid.getTimeToPay().isNegative());
+            
+            assertEquals(order.getPaidAt(), shipped.getPaidAt());
+            assertEquals(order.getShippedAt(), shipped.getShippedAt());
+            assertFalse(shipped.getTimeToShip().isNegative());
+        }
+        
+        @Test
+        @DisplayName("Should hand out each event only once")
+        void shouldPullEventsOnlyOnce() {
+            Order order = Order.create(customerId, validItems, shippingAddress);
+            order.pay();
+            
+            assertEquals(1, order.pullDomainEvents().size());
+            assertTrue(order.pullDomainEvents().isEmpty(), "Events should be cleared after pulling");
+        }
+        
+        @Test
+        @DisplayName("Should not raise events for no-op transitions")
+        void shouldNotRaiseEventsForIdempotentPayment() {
+            Order order = Order.create(customerId, validItems, shippingAddress);
+            order.pay();
+            order.pullDomainEvents();
+            
+            // Paying again is a no-op
+            order.pay();
+            
+            assertTrue(order.pullDomainEvents().isEmpty());
+        }
+    }
+    
+    @Nested
+    @DisplayName("Reconstitution Tests")
+    class ReconstitutionTests {
+        
+        @Test
+        @DisplayName("Should restore stored state without raising events")
+        void shouldRestoreStoredState() {
+            // Arrange
+            Order original = Order.create(customerId, validItems, shippingAddress);
+            original.pay();
+            
+            // Act
+            Order restored = Order.reconstitute(original.getOrderId(), customerId, validItems, shippingAddress,
+                    OrderStatus.PAID, original.getCreatedAt(), original.getPaidAt(), null);
+            
+            // Assert
+            assertEquals(original, restored);
+            assertEquals(OrderStatus.PAID, restored.getStatus());
+            assertEquals(original.getCreatedAt(), restored.getCreatedAt());
+            assertEquals(original.getPaidAt(), restored.getPaidAt());
+            assertNull(restored.getShippedAt());
+            assertTrue(restored.pullDomainEvents().isEmpty());
+            
+            // The restored order continues the state machine
+            restored.ship();
+            assertEquals(OrderStatus.SHIPPED, restored.getStatus());
+        }
+        
+        @Test
+        @DisplayName("Should reject stored state without items")
+        void shouldRejectMissingItems() {
+            assertThrows(IllegalArgumentException.class, () -> Order.reconstitute("ORDER-1", customerId,
+                    List.of(), shippingAddress, OrderStatus.CREATED, Instant.now(), null, null));
+        }
+    }
+    
+    @Nested
+    @DisplayName("Lazy Item Tests")
+    class LazyItemTests {
+        
+        private int loads;
+        
+        private Order lazyOrder(List<OrderItem> storedItems) {
+            return Order.reconstitute("ORDER-1", customerId, () -> {
+                loads++;
+                return storedItems;
+            }, shippingAddress, OrderStatus.CREATED, Instant.now(), null, null);
+        }
+        
+        @Test
+        @DisplayName("Should run transitions and status reads without loading items")
+        void shouldTransitionWithoutItems() {
+            // Arrange
+            Order order = lazyOrder(validItems);
+            
+            // Act
+            order.pay();
+            order.ship();
+            
+            // Assert
+            assertEquals(OrderStatus.SHIPPED, order.getStatus());
+            assertTrue(order.isPaid());
+            assertFalse(order.isModifiable());
+            assertEquals(2, order.pullDomainEvents().size());
+            assertTrue(order.toString().contains("itemCount=not loaded"));
+            assertFalse(order.hasItemsLoaded());
+            assertEquals(0, loads);
+        }
+        
+        @Test
+        @DisplayName("Should load items once, on first access")
+        void shouldLoadItemsOnce() {
+            // Arrange
+            Order order = lazyOrder(validItems);
+            
+            // Act
+            Money total = order.calculateTotal();
+            List<OrderItem> items = order.getItems();
+            
+            // Assert
+            assertEquals(Money.usd(BigDecimal.valueOf(45.00)), total);
+            assertEquals(validItems, items);
+            assertTrue(order.hasItemsLoaded());
+            assertEquals(1, loads);
+        }
+        
+        @Test
+        @DisplayName("Should retry a failed load on the next access")
+        void shouldRetryFailedLoad() {
+            // Arrange
+            Order order = Order.reconstitute("ORDER-1", customerId, () -> {
+                if (loads++ == 0) {
+                    throw new IllegalStateException("Database unavailable");
+                }
+                return validItems;
+            }, shippingAddress, OrderStatus.CREATED, Instant.now(), null, null);
+            
+            // Act & Assert
+            assertThrows(IllegalStateException.class, order::getItems);
+            assertFalse(order.hasItemsLoaded());
+            assertEquals(validItems, order.getItems());
+        }
+        
+        @Test
+        @DisplayName("Should reject stored order whose loader finds no items")
+        void shouldRejectEmptyLoad() {
+            Order order = lazyOrder(List.of());
+            
+            assertThrows(IllegalStateException.class, order::getItems);
+        }
+        
+        @Test
+        @DisplayName("Should not hold the order's lock while loading items")
+        void shouldLoadItemsOutsideLock() throws Exception {
+            // Arrange - a loader that blocks like a slow item query
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Order order = Order.reconstitute("ORDER-1", customerId, () -> {
+                loading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return validItems;
+            }, shippingAddress, OrderStatus.CREATED, Instant.now(), null, null);
+            CompletableFuture<Money> total = CompletableFuture.supplyAsync(order::calculateTotal);
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            
+            // Act - a transition while the items are being loaded
+            CompletableFuture<Void> paid = CompletableFuture.runAsync(order::pay);
+            
+            // Assert
+            paid.get(5, TimeUnit.SECONDS);
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            release.countDown();
+            assertEquals(Money.usd(BigDecimal.valueOf(45.00)), total.get(10, TimeUnit.SECONDS));
+        }
+    }
+    
+    @Nested
+    @DisplayName("Amendment Tests")
+    class AmendmentTests {
+        
+        private final OrderItem doohickey = OrderItem.of("PROD-003", "Doohickey", Money.usd(BigDecimal.valueOf(5.00)), 3);
+        
+        private Order storedOrder() {
+            return Order.reconstitute("ORDER-1", customerId, validItems, shippingAddress,
+                    OrderStatus.CREATED, Instant.now(), null, null);
+        }
+        
+        @Test
+        @DisplayName("Should add, re-quantify and remove lines and keep the total in sync")
+        void shouldAmendLines() {
+            // Arrange
+            Order order = Order.create(customerId, validItems, shippingAddress);
+            
+            // Act
+            order.addItem(doohickey);
+            order.changeItemQuantity("PROD-001", 5);
+            order.removeItem("PROD-002");
+            
+            // Assert - 5 * $10.00 + 3 * $5.00
+            assertEquals(Money.usd(BigDecimal.valueOf(65.00)), order.calculateTotal());
+            assertEquals(List.of("PROD-001", "PROD-003"),
+                    order.getItems().stream().map(OrderItem::getProductId).toList());
+            assertTrue(order.isNew());
+            assertTrue(order.getPendingItemChanges().isEmpty(), "New orders are saved with all their items");
+        }
+        
+        @Test
+        @DisplayName("Should track net item changes of a stored order")
+        void shouldTrackNetChanges() {
+            // Arrange
+            Order order = storedOrder();
+            
+            // Act
+            order.changeItemQuantity("PROD-001", 4);
+            order.changeItemQuantity("PROD-001", 6);
+            order.addItem(doohickey);
+            order.changeItemQuantity("PROD-003", 1);
+            order.removeItem("PROD-002");
+            
+            // Assert - one change per product, relative to the stored lines
+            assertFalse(order.isNew());
+            assertEquals(List.of(
+                    ItemChange.changed(validItems.get(0).withQuantity(6)),
+                    ItemChange.added(doohickey.withQuantity(1)),
+                    ItemChange.removed("PROD-002")),
+                    order.getPendingItemChanges());
+        }
+        
+        @Test
+        @DisplayName("Should cancel out changes that undo each other")
+        void shouldCancelOutChanges() {
+            // Arrange
+            Order order = storedOrder();
+            
+            // Act - added then removed: never stored, nothing to write
+            order.addItem(doohickey);
+            order.removeItem("PROD-003");
+            // Removed then added back: the stored line is updated, not deleted and re-inserted
+            order.removeItem("PROD-002");
+            order.addItem(validItems.get(1).withQuantity(2));
+            
+            // Assert
+            assertEquals(List.of(ItemChange.changed(validItems.get(1).withQuantity(2))),
+                    order.getPendingItemChanges());
+        }
+        
+        @Test
+        @DisplayName("Should forget saved changes but keep later ones")
+        void shouldForgetSavedChanges() {
+            // Arrange
+            Order order = storedOrder();
+            order.changeItemQuantity("PROD-001", 4);
+            List<ItemChange> saving = order.getPendingItemChanges();
+            order.addItem(doohickey);
+            
+            // Act
+            order.markItemChangesSaved(saving);
+            
+            // Assert
+            assertEquals(List.of(ItemChange.added(doohickey)), order.getPendingItemChanges());
+        }
+        
+        @Test
+        @DisplayName("Should reject amendments that break the order rules")
+        void shouldRejectInvalidAmendments() {
+            // Arrange
+            Order order = Order.create(customerId, List.of(validItems.get(0)), shippingAddress);
+            
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> order.addItem(validItems.get(0)));
+            assertThrows(IllegalArgumentException.class, () -> order.changeItemQuantity("PROD-999", 1));
+            assertThrows(IllegalArgumentException.class, () -> order.changeItemQuantity("PROD-001", 0));
+            assertThrows(IllegalStateException.class, () -> order.removeItem("PROD-001"));
+            assertEquals(List.of(validItems.get(0)), order.getItems());
+        }
+        
+        @Test
+        @DisplayName("Should reject amendments once the order is paid")
+        void shouldRejectAmendingPaidOrder() {
+            // Arrange
+            Order order = Order.create(customerId, validItems, shippingAddress);
+            order.pay();
+            
+            // Act & Assert
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> order.addItem(doohickey));
+            assertTrue(exception.getMessage().contains("PAID"));
+            assertEquals(validItems, order.getItems());
+        }
+    }
 }
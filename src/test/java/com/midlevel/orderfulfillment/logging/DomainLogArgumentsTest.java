@@ -0,0 +1,77 @@
+package com.midlevel.orderfulfillment.logging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import net.logstash.logback.argument.StructuredArgument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the structured log arguments of domain objects.
+ */
+@DisplayName("DomainLogArguments Tests")
+class DomainLogArgumentsTest {
+
+    private final Address address = Address.of("123 Main St", "Springfield", "IL", "62701", "US");
+    private final OrderItem item = OrderItem.of("PROD-1", "Widget", Money.usd(new BigDecimal("9.99")), 3);
+
+    /**
+     * Renders an argument the way the JSON encoder does: as fields of the enclosing log object.
+     */
+    private static String render(StructuredArgument argument) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(json)) {
+            generator.writeStartObject();
+            argument.writeTo(generator);
+            generator.writeEndObject();
+        }
+        return json.toString();
+    }
+
+    @Test
+    @DisplayName("Should render an order as nested JSON fields")
+    void shouldRenderOrder() throws IOException {
+        Order order = Order.create("CUST-1", List.of(item), address);
+
+        String json = render(DomainLogArguments.order(order));
+
+        assertEquals("{\"order\":{\"id\":\"" + order.getOrderId() + "\",\"customerId\":\"CUST-1\","
+                + "\"status\":\"CREATED\",\"itemCount\":1,\"country\":\"US\"}}", json);
+    }
+
+    @Test
+    @DisplayName("Should capture order state when the argument is created")
+    void shouldSnapshotOrderState() throws IOException {
+        Order order = Order.create("CUST-1", List.of(item), address);
+        StructuredArgument argument = DomainLogArguments.order(order);
+
+        // The async appender may render the argument after the order has changed
+        order.pay();
+
+        assertTrue(render(argument).contains("\"status\":\"CREATED\""));
+        assertTrue(argument.toString().contains("CREATED"));
+    }
+
+    @Test
+    @DisplayName("Should render items and addresses")
+    void shouldRenderItemAndAddress() throws IOException {
+        assertEquals("{\"item\":{\"productId\":\"PROD-1\",\"productName\":\"Widget\",\"quantity\":3,"
+                + "\"unitPrice\":9.99,\"currency\":\"USD\"}}", render(DomainLogArguments.item(item)));
+
+        String json = render(DomainLogArguments.address(address));
+        assertEquals("{\"address\":{\"city\":\"Springfield\",\"state\":\"IL\",\"postalCode\":\"62701\","
+                + "\"country\":\"US\"}}", json);
+        assertFalse(json.contains("Main St"), "Street should not be logged");
+    }
+}
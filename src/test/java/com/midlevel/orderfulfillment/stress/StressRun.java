@@ -0,0 +1,140 @@
+package com.midlevel.orderfulfillment.stress;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs an operation from many threads at once for a fixed time and measures
+ * throughput and contention.
+ *
+ * All threads are released together (so they race from the first call) and
+ * call the operation in a loop until the duration is up. Per thread, the JVM's
+ * thread contention monitoring reports how often and how long the thread was
+ * blocked on a monitor and how often it waited; those are summed into the result.
+ *
+ * Operations signal an expected rejection (e.g. paying a cancelled order that
+ * another thread just cancelled) by throwing IllegalStateException; those are
+ * counted, not failures. Any other exception fails the run.
+ *
+ * Used by the tests tagged "stress" (run with mvn test -Pstress).
+ */
+public final class StressRun {
+
+    /**
+     * One call of the stressed operation.
+     */
+    @FunctionalInterface
+    public interface StressOperation {
+        void run(int thread, ThreadLocalRandom random);
+    }
+
+    /**
+     * Throughput and contention of one run.
+     */
+    public record Result(String name, int threads, long operations, long rejected, Duration elapsed,
+                         long blockedCount, long blockedMillis, long waitedCount) {
+
+        public double operationsPerSecond() {
+            return operations / (elapsed.toNanos() / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d threads, %,d ops in %d ms (%,.0f ops/s), %,d rejected, "
+                            + "blocked %,d times / %,d ms, waited %,d times",
+                    name, threads, operations, elapsed.toMillis(), operationsPerSecond(), rejected,
+                    blockedCount, blockedMillis, waitedCount);
+        }
+    }
+
+    private StressRun() {
+    }
+
+    /**
+     * Runs the operation from the given number of threads for the given time,
+     * and prints the result.
+     *
+     * @throws AssertionError if an operation failed with anything but IllegalStateException
+     */
+    public static Result run(String name, int threads, Duration duration, StressOperation operation)
+            throws InterruptedException {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean.isThreadContentionMonitoringSupported()) {
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+
+        LongAdder operations = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline[0] && failures.isEmpty()) {
+                    try {
+                        operation.run(thread, random);
+                        operations.increment();
+                    } catch (IllegalStateException e) {
+                        rejected.increment();
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            }, name + "-" + t));
+        }
+        workers.forEach(Thread::start);
+
+        long started = System.nanoTime();
+        // Written before countDown(), so every worker sees it after await()
+        deadline[0] = started + duration.toNanos();
+        start.countDown();
+
+        // Contention numbers must be read while the threads are still alive,
+        // so sample them shortly before the deadline
+        Thread.sleep(Math.max(0, duration.toMillis() - 50));
+        long blockedCount = 0;
+        long blockedMillis = 0;
+        long waitedCount = 0;
+        for (Thread worker : workers) {
+            ThreadInfo info = threadBean.getThreadInfo(worker.getId());
+            if (info != null) {
+                blockedCount += info.getBlockedCount();
+                blockedMillis += Math.max(0, info.getBlockedTime());  // -1 when not supported
+                waitedCount += info.getWaitedCount();
+            }
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(name + ": " + failures.size() + " operations failed");
+            failures.forEach(error::addSuppressed);
+            throw error;
+        }
+
+        Result result = new Result(name, threads, operations.sum(), rejected.sum(), elapsed,
+                blockedCount, blockedMillis, waitedCount);
+        System.out.println(result);
+        return result;
+    }
+}